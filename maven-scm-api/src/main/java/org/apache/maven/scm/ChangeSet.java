@@ -18,7 +18,11 @@
  */
 package org.apache.maven.scm;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -474,61 +478,92 @@ public String toString() {
      * TODO make sure comment doesn't contain CDATA tags - MAVEN114
      */
     public String toXML() {
-        StringBuilder buffer = new StringBuilder("\t<changelog-entry>\n");
+        StringWriter writer = new StringWriter();
+        try {
+            writeXML(writer);
+        } catch (IOException e) {
+            // not thrown by a StringWriter
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the changelog entry as an XML snippet, the same as {@link #toXML()} returns, without building it in
+     * memory first.
+     *
+     * @param writer the writer to write to, preferably buffered
+     * @throws IOException if writing fails
+     * @since 2.2.2
+     */
+    public void writeXML(Writer writer) throws IOException {
+        writer.write("\t<changelog-entry>\n");
 
         if (getDate() != null) {
-            buffer.append("\t\t<date pattern=\"" + DATE_PATTERN + "\">")
-                    .append(getDateFormatted())
-                    .append("</date>\n")
-                    .append("\t\t<time pattern=\"" + TIME_PATTERN + "\">")
-                    .append(getTimeFormatted())
-                    .append("</time>\n");
+            writer.write("\t\t<date pattern=\"" + DATE_PATTERN + "\">");
+            writer.write(getDateFormatted());
+            writer.write("</date>\n");
+            writer.write("\t\t<time pattern=\"" + TIME_PATTERN + "\">");
+            writer.write(getTimeFormatted());
+            writer.write("</time>\n");
         }
 
-        buffer.append("\t\t<author><![CDATA[").append(author).append("]]></author>\n");
+        writer.write("\t\t<author><![CDATA[");
+        writer.write(String.valueOf(author));
+        writer.write("]]></author>\n");
 
         if (parentRevision != null) {
-            buffer.append("\t\t<parent>").append(getParentRevision()).append("</parent>\n");
+            writer.write("\t\t<parent>");
+            writer.write(getParentRevision());
+            writer.write("</parent>\n");
         }
         for (String mergedRevision : getMergedRevisions()) {
-            buffer.append("\t\t<merge>").append(mergedRevision).append("</merge>\n");
+            writer.write("\t\t<merge>");
+            writer.write(String.valueOf(mergedRevision));
+            writer.write("</merge>\n");
         }
 
         if (files != null) {
             for (ChangeFile file : files) {
-                buffer.append("\t\t<file>\n");
+                writer.write("\t\t<file>\n");
                 if (file.getAction() != null) {
-                    buffer.append("\t\t\t<action>").append(file.getAction()).append("</action>\n");
+                    writer.write("\t\t\t<action>");
+                    writer.write(file.getAction().toString());
+                    writer.write("</action>\n");
                 }
-                buffer.append("\t\t\t<name>")
-                        .append(escapeValue(file.getName()))
-                        .append("</name>\n");
-                buffer.append("\t\t\t<revision>").append(file.getRevision()).append("</revision>\n");
+                writer.write("\t\t\t<name>");
+                escape(writer, file.getName());
+                writer.write("</name>\n");
+                writer.write("\t\t\t<revision>");
+                writer.write(String.valueOf(file.getRevision()));
+                writer.write("</revision>\n");
                 if (file.getOriginalName() != null) {
-                    buffer.append("\t\t\t<orig-name>");
-                    buffer.append(escapeValue(file.getOriginalName()));
-                    buffer.append("</orig-name>\n");
+                    writer.write("\t\t\t<orig-name>");
+                    escape(writer, file.getOriginalName());
+                    writer.write("</orig-name>\n");
                 }
                 if (file.getOriginalRevision() != null) {
-                    buffer.append("\t\t\t<orig-revision>");
-                    buffer.append(file.getOriginalRevision());
-                    buffer.append("</orig-revision>\n");
+                    writer.write("\t\t\t<orig-revision>");
+                    writer.write(file.getOriginalRevision());
+                    writer.write("</orig-revision>\n");
                 }
-                buffer.append("\t\t</file>\n");
+                writer.write("\t\t</file>\n");
             }
         }
-        buffer.append("\t\t<msg><![CDATA[").append(removeCDataEnd(comment)).append("]]></msg>\n");
+        writer.write("\t\t<msg><![CDATA[");
+        writeCData(writer, comment);
+        writer.write("]]></msg>\n");
         List<String> tags = getTags();
         if (!tags.isEmpty()) {
-            buffer.append("\t\t<tags>\n");
+            writer.write("\t\t<tags>\n");
             for (String tag : tags) {
-                buffer.append("\t\t\t<tag>").append(escapeValue(tag)).append("</tag>\n");
+                writer.write("\t\t\t<tag>");
+                escape(writer, tag);
+                writer.write("</tag>\n");
             }
-            buffer.append("\t\t</tags>\n");
+            writer.write("\t\t</tags>\n");
         }
-        buffer.append("\t</changelog-entry>\n");
-
-        return buffer.toString();
+        writer.write("\t</changelog-entry>\n");
     }
 
     /**
@@ -562,18 +597,25 @@ public int hashCode() {
     }
 
     /**
-     * Remove a <code>]]></code> from comments (replace it with <code>] ] ></code>).
+     * Writes the message to be enclosed in a CDATA section, replacing a <code>]]></code> with
+     * <code>] ] ></code>.
      *
-     * @param message the message to modify
-     * @return a clean string
+     * @param writer the writer
+     * @param message the message to write
      */
-    private String removeCDataEnd(String message) {
-        // check for invalid sequence ]]>
+    private static void writeCData(Writer writer, String message) throws IOException {
+        if (message == null) {
+            writer.write("null");
+            return;
+        }
+        int start = 0;
         int endCdata;
-        while (message != null && (endCdata = message.indexOf("]]>")) > -1) {
-            message = message.substring(0, endCdata) + "] ] >" + message.substring(endCdata + 3, message.length());
+        while ((endCdata = message.indexOf("]]>", start)) > -1) {
+            writer.write(message, start, endCdata - start);
+            writer.write("] ] >");
+            start = endCdata + 3;
         }
-        return message;
+        writer.write(message, start, message.length() - start);
     }
 
     /**
@@ -586,37 +628,52 @@ private String removeCDataEnd(String message) {
      * @return text with characters restricted (for use in attributes) escaped
      */
     public static String escapeValue(Object value) {
-        StringBuilder buffer = new StringBuilder(value.toString());
-        for (int i = 0, size = buffer.length(); i < size; i++) {
-            switch (buffer.charAt(i)) {
+        String text = value.toString();
+        StringBuilder buffer = new StringBuilder(text.length() + 16);
+        try {
+            escape(buffer, text);
+        } catch (IOException e) {
+            // not thrown by a StringBuilder
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Appends the text with the characters restricted in attributes replaced by entities, in as few chunks as
+     * possible.
+     *
+     * @param out the target
+     * @param value the text to escape
+     * @throws IOException if appending fails
+     */
+    private static void escape(Appendable out, Object value) throws IOException {
+        String text = value.toString();
+        int start = 0;
+        for (int i = 0, size = text.length(); i < size; i++) {
+            String entity;
+            switch (text.charAt(i)) {
                 case '<':
-                    buffer.replace(i, i + 1, LESS_THAN_ENTITY);
-                    size += 3;
-                    i += 3;
+                    entity = LESS_THAN_ENTITY;
                     break;
                 case '>':
-                    buffer.replace(i, i + 1, GREATER_THAN_ENTITY);
-                    size += 3;
-                    i += 3;
+                    entity = GREATER_THAN_ENTITY;
                     break;
                 case '&':
-                    buffer.replace(i, i + 1, AMPERSAND_ENTITY);
-                    size += 4;
-                    i += 4;
+                    entity = AMPERSAND_ENTITY;
                     break;
                 case '\'':
-                    buffer.replace(i, i + 1, APOSTROPHE_ENTITY);
-                    size += 5;
-                    i += 5;
+                    entity = APOSTROPHE_ENTITY;
                     break;
                 case '\"':
-                    buffer.replace(i, i + 1, QUOTE_ENTITY);
-                    size += 5;
-                    i += 5;
+                    entity = QUOTE_ENTITY;
                     break;
                 default:
+                    continue;
             }
+            out.append(text, start, i).append(entity);
+            start = i + 1;
         }
-        return buffer.toString();
+        out.append(text, start, text.length());
     }
 }
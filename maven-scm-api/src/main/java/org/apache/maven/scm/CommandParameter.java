@@ -102,6 +102,22 @@ public class CommandParameter implements Serializable {
      */
     public static final CommandParameter SIGN_OPTION = new CommandParameter("sign");
 
+    /**
+     * Maximum number of characters of patch text a diff command keeps in memory, {@code -1} for no limit.
+     * This is only applicable to JGit for now.
+     *
+     * @since 2.2.2
+     */
+    public static final CommandParameter MAX_PATCH_LENGTH = new CommandParameter("maxPatchLength");
+
+    /**
+     * The {@link org.apache.maven.scm.command.changelog.ChangeSetConsumer} a changelog command passes each change set
+     * to instead of collecting them in its result.
+     *
+     * @since 2.2.2
+     */
+    public static final CommandParameter CHANGE_SET_CONSUMER = new CommandParameter("changeSetConsumer");
+
     /**
      * Parameter name.
      */
@@ -24,6 +24,8 @@
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
+
 /**
  * @author <a href="mailto:trygvis@inamo.no">Trygve Laugst&oslash;l</a>
  * @author Olivier Lamy
@@ -310,6 +312,34 @@ public SignOption getSignOption(CommandParameter parameter) throws ScmException
         return getObject(SignOption.class, parameter, null);
     }
 
+    // ----------------------------------------------------------------------
+    // ChangeSetConsumer
+    // ----------------------------------------------------------------------
+
+    /**
+     * Return the change set consumer.
+     *
+     * @param parameter the parameter
+     * @return the change set consumer or null if not set
+     * @throws ScmException if the parameter has the wrong type
+     * @since 2.2.2
+     */
+    public ChangeSetConsumer getChangeSetConsumer(CommandParameter parameter) throws ScmException {
+        return getObject(ChangeSetConsumer.class, parameter, null);
+    }
+
+    /**
+     * Set a change set consumer.
+     *
+     * @param parameter the parameter
+     * @param consumer  the change set consumer
+     * @throws ScmException if the parameter already exist
+     * @since 2.2.2
+     */
+    public void setChangeSetConsumer(CommandParameter parameter, ChangeSetConsumer consumer) throws ScmException {
+        setObject(parameter, consumer);
+    }
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
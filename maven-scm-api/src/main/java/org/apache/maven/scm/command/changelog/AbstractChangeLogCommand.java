@@ -35,6 +35,8 @@
  * @author Olivier Lamy
  */
 public abstract class AbstractChangeLogCommand extends AbstractCommand implements ChangeLogCommand {
+    private ChangeSetConsumer changeSetConsumer;
+
     /**
      * @deprecated This method is part of the legacy changelog command execution
      * mechanism and is retained for backward compatibility with existing SCM
@@ -108,6 +110,8 @@ public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fil
 
         String datePattern = parameters.getString(CommandParameter.CHANGELOG_DATE_PATTERN, null);
 
+        setChangeSetConsumer(parameters.getChangeSetConsumer(CommandParameter.CHANGE_SET_CONSUMER));
+
         boolean versionOnly = startVersion == null && endVersion == null && version != null;
 
         if (versionOnly) {
@@ -140,4 +144,21 @@ public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fil
     protected ChangeLogScmResult executeChangeLogCommand(ChangeLogScmRequest request) throws ScmException {
         throw new ScmException("Unsupported method for this provider.");
     }
+
+    /**
+     * @return the consumer each change set should be passed to as soon as it has been parsed, instead of collecting
+     *         it in the result, or {@code null}
+     * @since 2.2.2
+     */
+    protected ChangeSetConsumer getChangeSetConsumer() {
+        return changeSetConsumer;
+    }
+
+    /**
+     * @param changeSetConsumer the consumer each change set should be passed to, or {@code null} to collect them
+     * @since 2.2.2
+     */
+    protected void setChangeSetConsumer(ChangeSetConsumer changeSetConsumer) {
+        this.changeSetConsumer = changeSetConsumer;
+    }
 }
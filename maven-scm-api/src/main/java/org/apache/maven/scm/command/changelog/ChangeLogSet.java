@@ -18,12 +18,19 @@
  */
 package org.apache.maven.scm.command.changelog;
 
-import java.text.SimpleDateFormat;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Date;
 import java.util.List;
 
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmVersion;
+import org.apache.maven.scm.util.ThreadSafeDateFormat;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
@@ -31,6 +38,10 @@
 public class ChangeLogSet {
     public static final String DEFAULT_ENCODING = "ISO-8859-1";
 
+    private static final String DATE_PATTERN = "yyyyMMdd HH:mm:ss z";
+
+    private static final ThreadSafeDateFormat DATE_FORMAT = new ThreadSafeDateFormat(DATE_PATTERN);
+
     private List<ChangeSet> entries;
 
     private Date startDate;
@@ -137,42 +148,84 @@ public String toXML() {
      * @return TODO
      */
     public String toXML(String encoding) {
+        StringWriter writer = new StringWriter();
+        try {
+            writeXML(writer, encoding);
+        } catch (IOException e) {
+            // not thrown by a StringWriter
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes an XML representation of this change log set, one change set at a time.
+     *
+     * @param out the stream to write to, which is flushed but not closed
+     * @param encoding encoding of output, {@link #DEFAULT_ENCODING} if {@code null}
+     * @throws IOException if the encoding is not supported or writing fails
+     * @since 2.2.2
+     */
+    public void writeXML(OutputStream out, String encoding) throws IOException {
         String encodingString = encoding;
 
         if (encodingString == null) {
             encodingString = DEFAULT_ENCODING;
         }
 
-        StringBuilder buffer = new StringBuilder();
-        String pattern = "yyyyMMdd HH:mm:ss z";
-        SimpleDateFormat formatter = new SimpleDateFormat(pattern);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, encodingString));
+        writeXML(writer, encodingString);
+        writer.flush();
+    }
 
-        buffer.append("<?xml version=\"1.0\" encoding=\"" + encodingString + "\"?>\n");
-        buffer.append("<changeset datePattern=\"").append(pattern).append("\"");
+    /**
+     * Writes an XML representation of this change log set, one change set at a time, the same as
+     * {@link #toXML(String)} returns.
+     *
+     * @param writer the writer to write to, preferably buffered
+     * @param encoding encoding declared in the XML header, {@link #DEFAULT_ENCODING} if {@code null}
+     * @throws IOException if writing fails
+     * @since 2.2.2
+     */
+    public void writeXML(Writer writer, String encoding) throws IOException {
+        String encodingString = encoding;
+
+        if (encodingString == null) {
+            encodingString = DEFAULT_ENCODING;
+        }
+
+        writer.write("<?xml version=\"1.0\" encoding=\"" + encodingString + "\"?>\n");
+        writer.write("<changeset datePattern=\"" + DATE_PATTERN + "\"");
 
         if (startDate != null) {
-            buffer.append(" start=\"").append(formatter.format(getStartDate())).append("\"");
+            writer.write(" start=\"");
+            writer.write(DATE_FORMAT.format(getStartDate()));
+            writer.write("\"");
         }
         if (endDate != null) {
-            buffer.append(" end=\"").append(formatter.format(getEndDate())).append("\"");
+            writer.write(" end=\"");
+            writer.write(DATE_FORMAT.format(getEndDate()));
+            writer.write("\"");
         }
 
         if (startVersion != null) {
-            buffer.append(" startVersion=\"").append(getStartVersion()).append("\"");
+            writer.write(" startVersion=\"");
+            writer.write(String.valueOf(getStartVersion()));
+            writer.write("\"");
         }
         if (endVersion != null) {
-            buffer.append(" endVersion=\"").append(getEndVersion()).append("\"");
+            writer.write(" endVersion=\"");
+            writer.write(String.valueOf(getEndVersion()));
+            writer.write("\"");
         }
 
-        buffer.append(">\n");
+        writer.write(">\n");
 
         //  Write out the entries
         for (ChangeSet changeSet : getChangeSets()) {
-            buffer.append(changeSet.toXML());
+            changeSet.writeXML(writer);
         }
 
-        buffer.append("</changeset>\n");
-
-        return buffer.toString();
+        writer.write("</changeset>\n");
     }
 }
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.changelog;
+
+import org.apache.maven.scm.ChangeSet;
+
+/**
+ * Receives the change sets of a changelog command one at a time, as soon as they have been parsed, so that the history
+ * does not need to be kept in memory as a whole.
+ *
+ * @see org.apache.maven.scm.provider.ScmProvider#changeLog(ChangeLogScmRequest, ChangeSetConsumer)
+ * @since 2.2.2
+ */
+@FunctionalInterface
+public interface ChangeSetConsumer {
+    /**
+     * Called for each change set, in the order the SCM reports them.
+     *
+     * @param changeSet the change set
+     */
+    void consume(ChangeSet changeSet);
+}
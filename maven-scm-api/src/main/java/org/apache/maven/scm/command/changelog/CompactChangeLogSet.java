@@ -0,0 +1,515 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.changelog;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileStatus;
+
+/**
+ * A change log set which keeps its change sets in columns instead of as {@link ChangeSet} and {@link ChangeFile}
+ * objects, for holding long histories in memory.
+ * <p>
+ * Authors and file names are stored once in dictionaries and referenced by index, git object ids are stored as 20
+ * bytes and numeric revisions as {@code long}, dates as milliseconds. File revisions equal to the revision of their
+ * change set take no space at all.
+ * <p>
+ * {@link #getChangeSets()} is a view which creates a new {@link ChangeSet} each time an element is accessed, so
+ * modifying it does not modify this set. Subclasses of {@link ChangeSet} are not retained. Change sets can be added
+ * through the view, by {@link #add(ChangeSet)} or by using this set as the {@link ChangeSetConsumer} of a streaming
+ * changelog command. This class is not thread safe.
+ *
+ * @since 2.2.2
+ */
+public class CompactChangeLogSet extends ChangeLogSet implements ChangeSetConsumer {
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Dictionary authors = new Dictionary();
+
+    private final Dictionary paths = new Dictionary();
+
+    private final List<ScmFileStatus> actions = new ArrayList<>();
+
+    private final View view = new View();
+
+    private int size;
+
+    private long[] dates = new long[INITIAL_CAPACITY];
+
+    private int[] authorIndexes = new int[INITIAL_CAPACITY];
+
+    private String[] comments = new String[INITIAL_CAPACITY];
+
+    private final Revisions revisions = new Revisions();
+
+    private final Revisions parentRevisions = new Revisions();
+
+    /**
+     * Index of the first file of each change set, the files of change set {@code i} end at {@code fileStarts[i + 1]}.
+     */
+    private int[] fileStarts = new int[INITIAL_CAPACITY + 1];
+
+    private int fileCount;
+
+    private int[] filePaths = new int[INITIAL_CAPACITY];
+
+    /**
+     * Index in {@link #actions} plus one, {@code 0} if there is no action.
+     */
+    private byte[] fileActions = new byte[INITIAL_CAPACITY];
+
+    // rarely set values, keyed by change set or file index
+
+    private final Map<Integer, List<String>> tags = new HashMap<>();
+
+    private final Map<Integer, Set<String>> mergedRevisions = new HashMap<>();
+
+    private final Map<Integer, String> fileRevisions = new HashMap<>();
+
+    private final Map<Integer, Integer> originalPaths = new HashMap<>();
+
+    private final Map<Integer, String> originalRevisions = new HashMap<>();
+
+    /**
+     * Initializes a new instance of this class.
+     *
+     * @param startDate the start date/tag for this set
+     * @param endDate   the end date/tag for this set, or <code>null</code> if this set goes to the present time
+     */
+    public CompactChangeLogSet(Date startDate, Date endDate) {
+        super(startDate, endDate);
+    }
+
+    /**
+     * Initializes a new instance of this class.
+     *
+     * @param entries   collection of {@link org.apache.maven.scm.ChangeSet} objects for this set
+     * @param startDate the start date/tag for this set
+     * @param endDate   the end date/tag for this set, or <code>null</code> if this set goes to the present time
+     */
+    public CompactChangeLogSet(List<ChangeSet> entries, Date startDate, Date endDate) {
+        super(startDate, endDate);
+        setChangeSets(entries);
+    }
+
+    /**
+     * Returns a view of the change sets, see the class documentation.
+     *
+     * @return the change sets
+     */
+    @Override
+    public List<ChangeSet> getChangeSets() {
+        return view;
+    }
+
+    /**
+     * Replaces the change sets of this set by the given ones.
+     *
+     * @param changeSets the change sets, may be {@code null}
+     */
+    @Override
+    public void setChangeSets(List<ChangeSet> changeSets) {
+        clear();
+        if (changeSets != null) {
+            for (ChangeSet changeSet : changeSets) {
+                add(changeSet);
+            }
+        }
+    }
+
+    /**
+     * Adds a copy of the given change set.
+     *
+     * @param changeSet the change set
+     */
+    public void add(ChangeSet changeSet) {
+        if (size == dates.length) {
+            int capacity = size + (size >> 1) + 1;
+            dates = Arrays.copyOf(dates, capacity);
+            authorIndexes = Arrays.copyOf(authorIndexes, capacity);
+            comments = Arrays.copyOf(comments, capacity);
+            fileStarts = Arrays.copyOf(fileStarts, capacity + 1);
+        }
+
+        int index = size;
+        Date date = changeSet.getDate();
+        dates[index] = date != null ? date.getTime() : NO_DATE;
+        authorIndexes[index] = authors.add(changeSet.getAuthor());
+        comments[index] = changeSet.getComment();
+        String revision = changeSet.getRevision();
+        revisions.add(index, revision);
+        parentRevisions.add(index, changeSet.getParentRevision());
+        if (!changeSet.getTags().isEmpty()) {
+            tags.put(index, new ArrayList<>(changeSet.getTags()));
+        }
+        if (!changeSet.getMergedRevisions().isEmpty()) {
+            mergedRevisions.put(index, new LinkedHashSet<>(changeSet.getMergedRevisions()));
+        }
+
+        for (ChangeFile file : changeSet.getFiles()) {
+            addFile(file, revision);
+        }
+        fileStarts[index + 1] = fileCount;
+        size++;
+    }
+
+    /**
+     * Same as {@link #add(ChangeSet)}.
+     *
+     * @param changeSet the change set
+     */
+    @Override
+    public void consume(ChangeSet changeSet) {
+        add(changeSet);
+    }
+
+    /**
+     * Removes all change sets.
+     */
+    public void clear() {
+        size = 0;
+        fileCount = 0;
+        authors.clear();
+        paths.clear();
+        actions.clear();
+        revisions.clear();
+        parentRevisions.clear();
+        tags.clear();
+        mergedRevisions.clear();
+        fileRevisions.clear();
+        originalPaths.clear();
+        originalRevisions.clear();
+        Arrays.fill(comments, null);
+    }
+
+    /**
+     * Releases the unused capacity and the lookup tables only needed while adding change sets. Adding change sets
+     * afterwards is still possible but rebuilds the lookup tables first.
+     */
+    public void trimToSize() {
+        dates = Arrays.copyOf(dates, size);
+        authorIndexes = Arrays.copyOf(authorIndexes, size);
+        comments = Arrays.copyOf(comments, size);
+        fileStarts = Arrays.copyOf(fileStarts, size + 1);
+        filePaths = Arrays.copyOf(filePaths, fileCount);
+        fileActions = Arrays.copyOf(fileActions, fileCount);
+        revisions.trimToSize(size);
+        parentRevisions.trimToSize(size);
+        authors.trimToSize();
+        paths.trimToSize();
+    }
+
+    private void addFile(ChangeFile file, String changeSetRevision) {
+        if (fileCount == filePaths.length) {
+            int capacity = fileCount + (fileCount >> 1) + 1;
+            filePaths = Arrays.copyOf(filePaths, capacity);
+            fileActions = Arrays.copyOf(fileActions, capacity);
+        }
+
+        int index = fileCount;
+        filePaths[index] = paths.add(file.getName());
+        fileActions[index] = getActionIndex(file.getAction());
+        String revision = file.getRevision();
+        if (revision == null ? changeSetRevision != null : !revision.equals(changeSetRevision)) {
+            fileRevisions.put(index, revision);
+        }
+        if (file.getOriginalName() != null) {
+            originalPaths.put(index, paths.add(file.getOriginalName()));
+        }
+        if (file.getOriginalRevision() != null) {
+            originalRevisions.put(index, file.getOriginalRevision());
+        }
+        fileCount++;
+    }
+
+    private byte getActionIndex(ScmFileStatus action) {
+        if (action == null) {
+            return 0;
+        }
+        for (int i = 0; i < actions.size(); i++) {
+            if (actions.get(i) == action) {
+                return (byte) (i + 1);
+            }
+        }
+        if (actions.size() == Byte.MAX_VALUE) {
+            throw new IllegalStateException("Too many distinct file actions.");
+        }
+        actions.add(action);
+        return (byte) actions.size();
+    }
+
+    private ChangeSet createChangeSet(int index) {
+        ChangeSet changeSet = new ChangeSet();
+        if (dates[index] != NO_DATE) {
+            changeSet.setDate(new Date(dates[index]));
+        }
+        changeSet.setAuthor(authors.get(authorIndexes[index]));
+        changeSet.setComment(comments[index]);
+        String revision = revisions.get(index);
+        changeSet.setRevision(revision);
+        changeSet.setParentRevision(parentRevisions.get(index));
+        List<String> changeSetTags = tags.get(index);
+        if (changeSetTags != null) {
+            changeSet.setTags(new ArrayList<>(changeSetTags));
+        }
+        Set<String> merged = mergedRevisions.get(index);
+        if (merged != null) {
+            changeSet.setMergedRevisions(new LinkedHashSet<>(merged));
+        }
+
+        int end = fileStarts[index + 1];
+        if (end > fileStarts[index]) {
+            List<ChangeFile> files = new ArrayList<>(end - fileStarts[index]);
+            for (int i = fileStarts[index]; i < end; i++) {
+                files.add(createChangeFile(i, revision));
+            }
+            changeSet.setFiles(files);
+        }
+        return changeSet;
+    }
+
+    private ChangeFile createChangeFile(int index, String changeSetRevision) {
+        Integer key = index;
+        String revision = fileRevisions.containsKey(key) ? fileRevisions.get(key) : changeSetRevision;
+        ChangeFile file = new ChangeFile(paths.get(filePaths[index]), revision);
+        if (fileActions[index] != 0) {
+            file.setAction(actions.get(fileActions[index] - 1));
+        }
+        Integer originalPath = originalPaths.get(key);
+        if (originalPath != null) {
+            file.setOriginalName(paths.get(originalPath));
+        }
+        file.setOriginalRevision(originalRevisions.get(key));
+        return file;
+    }
+
+    private final class View extends AbstractList<ChangeSet> implements RandomAccess {
+        @Override
+        public ChangeSet get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return createChangeSet(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Only appending is supported.
+         */
+        @Override
+        public void add(int index, ChangeSet changeSet) {
+            if (index != size) {
+                throw new UnsupportedOperationException("Change sets can only be appended.");
+            }
+            CompactChangeLogSet.this.add(changeSet);
+            modCount++;
+        }
+
+        @Override
+        public void clear() {
+            CompactChangeLogSet.this.clear();
+            modCount++;
+        }
+    }
+
+    /**
+     * Distinct strings, referenced by index.
+     */
+    private static final class Dictionary {
+        private final List<String> values = new ArrayList<>();
+
+        private Map<String, Integer> indexes = new HashMap<>();
+
+        int add(String value) {
+            if (value == null) {
+                return -1;
+            }
+            if (indexes == null) {
+                indexes = new HashMap<>(values.size() * 4 / 3 + 1);
+                for (int i = 0; i < values.size(); i++) {
+                    indexes.put(values.get(i), i);
+                }
+            }
+            Integer index = indexes.get(value);
+            if (index == null) {
+                index = values.size();
+                values.add(value);
+                indexes.put(value, index);
+            }
+            return index;
+        }
+
+        String get(int index) {
+            return index < 0 ? null : values.get(index);
+        }
+
+        void clear() {
+            values.clear();
+            indexes = new HashMap<>();
+        }
+
+        void trimToSize() {
+            ((ArrayList<String>) values).trimToSize();
+            indexes = null;
+        }
+    }
+
+    /**
+     * Revisions of a column, stored as object id, number or string depending on their format.
+     */
+    private static final class Revisions {
+        private static final byte NONE = 0;
+
+        private static final byte OBJECT_ID = 1;
+
+        private static final byte NUMBER = 2;
+
+        private static final byte STRING = 3;
+
+        private static final int OBJECT_ID_LENGTH = 20;
+
+        private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+        private byte[] kinds = new byte[INITIAL_CAPACITY];
+
+        /**
+         * The number, or the index in {@link #objectIds} or {@link #strings}.
+         */
+        private long[] values = new long[INITIAL_CAPACITY];
+
+        private byte[] objectIds = new byte[0];
+
+        private int objectIdCount;
+
+        private final List<String> strings = new ArrayList<>();
+
+        void add(int row, String revision) {
+            if (row == kinds.length) {
+                int capacity = row + (row >> 1) + 1;
+                kinds = Arrays.copyOf(kinds, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+
+            if (revision == null) {
+                kinds[row] = NONE;
+            } else if (isObjectId(revision)) {
+                if ((objectIdCount + 1) * OBJECT_ID_LENGTH > objectIds.length) {
+                    objectIds = Arrays.copyOf(
+                            objectIds, Math.max(INITIAL_CAPACITY, objectIdCount + (objectIdCount >> 1) + 1)
+                                    * OBJECT_ID_LENGTH);
+                }
+                int offset = objectIdCount * OBJECT_ID_LENGTH;
+                for (int i = 0; i < OBJECT_ID_LENGTH; i++) {
+                    objectIds[offset + i] = (byte) (Character.digit(revision.charAt(2 * i), 16) << 4
+                            | Character.digit(revision.charAt(2 * i + 1), 16));
+                }
+                kinds[row] = OBJECT_ID;
+                values[row] = objectIdCount++;
+            } else if (isNumber(revision)) {
+                kinds[row] = NUMBER;
+                values[row] = Long.parseLong(revision);
+            } else {
+                kinds[row] = STRING;
+                values[row] = strings.size();
+                strings.add(revision);
+            }
+        }
+
+        String get(int row) {
+            switch (kinds[row]) {
+                case OBJECT_ID:
+                    char[] hex = new char[OBJECT_ID_LENGTH * 2];
+                    int offset = (int) values[row] * OBJECT_ID_LENGTH;
+                    for (int i = 0; i < OBJECT_ID_LENGTH; i++) {
+                        hex[2 * i] = HEX[(objectIds[offset + i] >> 4) & 0xf];
+                        hex[2 * i + 1] = HEX[objectIds[offset + i] & 0xf];
+                    }
+                    return new String(hex);
+                case NUMBER:
+                    return Long.toString(values[row]);
+                case STRING:
+                    return strings.get((int) values[row]);
+                default:
+                    return null;
+            }
+        }
+
+        void clear() {
+            objectIdCount = 0;
+            strings.clear();
+        }
+
+        void trimToSize(int size) {
+            kinds = Arrays.copyOf(kinds, size);
+            values = Arrays.copyOf(values, size);
+            objectIds = Arrays.copyOf(objectIds, objectIdCount * OBJECT_ID_LENGTH);
+            ((ArrayList<String>) strings).trimToSize();
+        }
+
+        /**
+         * @return whether the revision is a full lower case git object id, which can be restored from its bytes
+         */
+        private static boolean isObjectId(String revision) {
+            if (revision.length() != OBJECT_ID_LENGTH * 2) {
+                return false;
+            }
+            for (int i = 0; i < revision.length(); i++) {
+                char c = revision.charAt(i);
+                if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return whether the revision is a number without leading zeros, which can be restored from a long
+         */
+        private static boolean isNumber(String revision) {
+            int length = revision.length();
+            if (length == 0 || length > 18 || (length > 1 && revision.charAt(0) == '0')) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                char c = revision.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
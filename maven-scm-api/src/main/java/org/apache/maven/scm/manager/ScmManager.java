@@ -34,6 +34,7 @@
 import org.apache.maven.scm.command.branch.BranchScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.command.diff.DiffScmResult;
@@ -241,6 +242,22 @@ ChangeLogScmResult changeLog(
      */
     ChangeLogScmResult changeLog(ChangeLogScmRequest scmRequest) throws ScmException;
 
+    /**
+     * Returns the changes that have happend in the source control system in a certain period of time, passing each
+     * change set to the given consumer instead of collecting them in the result.
+     *
+     * @param scmRequest request wrapping detailed parameters for the changelog command
+     * @param consumer the consumer receiving the change sets
+     * @return the SCM result of the changelog command, without change sets
+     * @throws ScmException if any
+     * @see ScmProvider#changeLog(ChangeLogScmRequest, ChangeSetConsumer)
+     * @since 2.2.2
+     */
+    default ChangeLogScmResult changeLog(ChangeLogScmRequest scmRequest, ChangeSetConsumer consumer)
+            throws ScmException {
+        return getProviderByRepository(scmRequest.getScmRepository()).changeLog(scmRequest, consumer);
+    }
+
     /**
      * Returns the changes that have happend in the source control system between two tags. This can be adding,
      * removing, updating, ... of files.
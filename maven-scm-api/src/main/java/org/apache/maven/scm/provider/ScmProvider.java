@@ -19,9 +19,12 @@
 package org.apache.maven.scm.provider;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.CommandParameter;
 import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmBranchParameters;
@@ -35,6 +38,8 @@
 import org.apache.maven.scm.command.branch.BranchScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
+import org.apache.maven.scm.command.changelog.ChangeLogSet;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.command.diff.DiffScmResult;
@@ -300,6 +305,40 @@ ChangeLogScmResult changeLog(
      */
     ChangeLogScmResult changeLog(ChangeLogScmRequest scmRequest) throws ScmException;
 
+    /**
+     * Returns the changes that have happened in the source control system in a certain period of time, passing each
+     * change set to the given consumer as soon as it has been parsed. The change log set of the returned result does
+     * not contain any change sets, so that a history of any length can be processed without keeping it in memory.
+     * Providers which do not support streaming pass the change sets to the consumer once the command has finished.
+     *
+     * @param scmRequest request wrapping detailed parameters for the changelog command
+     * @param consumer the consumer receiving the change sets
+     * @return the SCM result of the changelog command
+     * @throws ScmException if any
+     * @since 2.2.2
+     */
+    default ChangeLogScmResult changeLog(ChangeLogScmRequest scmRequest, ChangeSetConsumer consumer)
+            throws ScmException {
+        CommandParameters parameters = scmRequest.getCommandParameters();
+        parameters.remove(CommandParameter.CHANGE_SET_CONSUMER);
+        parameters.setChangeSetConsumer(CommandParameter.CHANGE_SET_CONSUMER, consumer);
+        try {
+            ChangeLogScmResult result = changeLog(scmRequest);
+            ChangeLogSet changeLogSet = result.getChangeLog();
+            if (changeLogSet != null
+                    && changeLogSet.getChangeSets() != null
+                    && !changeLogSet.getChangeSets().isEmpty()) {
+                for (ChangeSet changeSet : changeLogSet.getChangeSets()) {
+                    consumer.consume(changeSet);
+                }
+                changeLogSet.setChangeSets(new ArrayList<>());
+            }
+            return result;
+        } finally {
+            parameters.remove(CommandParameter.CHANGE_SET_CONSUMER);
+        }
+    }
+
     /**
      * Returns the changes that have happened in the source control system between two tags.
      * This can be adding, removing, updating, ... of files.
@@ -21,8 +21,14 @@
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.codehaus.plexus.util.cli.StreamConsumer;
 import org.slf4j.Logger;
@@ -32,6 +38,41 @@
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
  */
 public abstract class AbstractConsumer implements StreamConsumer {
+    /**
+     * The timestamp format of {@code git log --date=iso}, e.g. {@code 2008-08-06 01:37:18 +0200}.
+     *
+     * @since 2.2.2
+     */
+    protected static final String GIT_TIMESTAMP_PATTERN = "yyyy-MM-dd HH:mm:ss Z";
+
+    /**
+     * The timestamp format of {@code svn log}, as rewritten by the consumer, e.g.
+     * {@code 2002-04-23 12:34:56 GMT+01:00}.
+     *
+     * @since 2.2.2
+     */
+    protected static final String SVN_TIMESTAMP_PATTERN = "yyyy-MM-dd HH:mm:ss zzzzzzzzz";
+
+    /**
+     * Pattern used to look up the English short date format.
+     */
+    private static final String SHORT_PATTERN = "DateFormat.SHORT";
+
+    /**
+     * The upper bound of date formats cached per thread.
+     */
+    private static final int MAX_CACHED_FORMATS = 32;
+
+    /**
+     * Date formats are not thread safe, so each thread keeps its own instance per pattern and locale.
+     */
+    private static final ThreadLocal<Map<FormatKey, DateFormat>> FORMATS = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Whether the calendar of a locale is the Gregorian one, which the fast path assumes.
+     */
+    private static final Map<Locale, Boolean> GREGORIAN_LOCALES = new ConcurrentHashMap<>();
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     /**
@@ -56,38 +97,33 @@ protected Date parseDate(String date, String userPattern, String defaultPattern)
      * @return a date representing the timestamp of the log entry
      */
     protected Date parseDate(String date, String userPattern, String defaultPattern, Locale locale) {
-        DateFormat format;
-
-        String patternUsed = null;
-        Locale localeUsed = null;
+        String patternUsed;
+        Locale localeUsed;
 
         if (userPattern != null && !userPattern.isEmpty()) {
-            if (locale != null) {
-                format = new SimpleDateFormat(userPattern, locale);
-                localeUsed = locale;
-            } else {
-                format = new SimpleDateFormat(userPattern);
-                localeUsed = Locale.getDefault();
-            }
             patternUsed = userPattern;
+            localeUsed = locale != null ? locale : Locale.getDefault(Locale.Category.FORMAT);
+        } else if (defaultPattern != null && !defaultPattern.isEmpty()) {
+            patternUsed = defaultPattern;
+            localeUsed = locale != null ? locale : Locale.getDefault(Locale.Category.FORMAT);
         } else {
-            if (defaultPattern != null && !defaultPattern.isEmpty()) {
-                if (locale != null) {
-                    format = new SimpleDateFormat(defaultPattern, locale);
-                    localeUsed = locale;
-                } else {
-                    format = new SimpleDateFormat(defaultPattern);
-                    localeUsed = Locale.getDefault();
-                }
-                patternUsed = defaultPattern;
-            } else {
-                // Use the English short date pattern if no pattern is specified
-                format = DateFormat.getDateInstance(DateFormat.SHORT, Locale.ENGLISH);
-                patternUsed = "DateFormat.SHORT";
-                localeUsed = Locale.ENGLISH;
+            // Use the English short date pattern if no pattern is specified
+            patternUsed = SHORT_PATTERN;
+            localeUsed = Locale.ENGLISH;
+        }
+
+        if ((GIT_TIMESTAMP_PATTERN.equals(patternUsed) || SVN_TIMESTAMP_PATTERN.equals(patternUsed))
+                && isGregorian(localeUsed)) {
+            Date parsed = parseTimestamp(date, SVN_TIMESTAMP_PATTERN.equals(patternUsed));
+            if (parsed != null) {
+                return parsed;
             }
         }
 
+        DateFormat format = getDateFormat(patternUsed, localeUsed);
+        // parsing a time zone overwrites the one of the format
+        format.setTimeZone(TimeZone.getDefault());
+
         try {
             return format.parse(date);
         } catch (ParseException e) {
@@ -102,4 +138,167 @@ protected Date parseDate(String date, String userPattern, String defaultPattern,
             return null;
         }
     }
+
+    private static DateFormat getDateFormat(String pattern, Locale locale) {
+        Map<FormatKey, DateFormat> formats = FORMATS.get();
+        FormatKey key = new FormatKey(pattern, locale);
+        DateFormat format = formats.get(key);
+        if (format == null) {
+            if (SHORT_PATTERN.equals(pattern)) {
+                format = DateFormat.getDateInstance(DateFormat.SHORT, locale);
+            } else {
+                format = new SimpleDateFormat(pattern, locale);
+            }
+            if (formats.size() >= MAX_CACHED_FORMATS) {
+                formats.clear();
+            }
+            formats.put(key, format);
+        }
+        return format;
+    }
+
+    private static boolean isGregorian(Locale locale) {
+        return GREGORIAN_LOCALES.computeIfAbsent(
+                locale, l -> Calendar.getInstance(l).getClass() == GregorianCalendar.class);
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd HH:mm:ss} followed by a numeric offset {@code +HHMM} or, for the SVN format, also
+     * {@code GMT+HH:MM}, like {@link SimpleDateFormat} does but without allocating anything but the result.
+     *
+     * @param date the text to parse
+     * @param gmt whether the offset may be given as {@code GMT+HH:MM}
+     * @return the parsed date, or {@code null} if the text does not strictly match, so that the lenient
+     *         {@link SimpleDateFormat} decides
+     */
+    static Date parseTimestamp(String date, boolean gmt) {
+        if (date.length() < 25
+                || date.charAt(4) != '-'
+                || date.charAt(7) != '-'
+                || date.charAt(10) != ' '
+                || date.charAt(13) != ':'
+                || date.charAt(16) != ':'
+                || date.charAt(19) != ' ') {
+            return null;
+        }
+        int year = parseDigits(date, 0, 4);
+        int month = parseDigits(date, 5, 2);
+        int day = parseDigits(date, 8, 2);
+        int hour = parseDigits(date, 11, 2);
+        int minute = parseDigits(date, 14, 2);
+        int second = parseDigits(date, 17, 2);
+        // before the Gregorian cutover SimpleDateFormat uses the Julian calendar
+        if (year < 1583
+                || month < 1
+                || month > 12
+                || day < 1
+                || day > lengthOfMonth(year, month)
+                || hour < 0
+                || hour > 23
+                || minute < 0
+                || minute > 59
+                || second < 0
+                || second > 59) {
+            return null;
+        }
+
+        int index = 20;
+        boolean colon = false;
+        if (gmt && date.startsWith("GMT", index)) {
+            index += 3;
+            colon = true;
+        }
+        if (date.length() < index + (colon ? 6 : 5)) {
+            return null;
+        }
+        char sign = date.charAt(index);
+        if (sign != '+' && sign != '-') {
+            return null;
+        }
+        int offsetHours = parseDigits(date, index + 1, 2);
+        index += 3;
+        if (colon && date.charAt(index++) != ':') {
+            return null;
+        }
+        int offsetMinutes = parseDigits(date, index, 2);
+        index += 2;
+        if (offsetHours < 0
+                || offsetHours > 23
+                || offsetMinutes < 0
+                || offsetMinutes > 59
+                || (date.length() > index && Character.isDigit(date.charAt(index)))) {
+            return null;
+        }
+        int offset = (offsetHours * 60 + offsetMinutes) * 60;
+
+        long seconds = toEpochDay(year, month, day) * 86400L + hour * 3600L + minute * 60L + second;
+        seconds += sign == '+' ? -offset : offset;
+        return new Date(seconds * 1000L);
+    }
+
+    /**
+     * @return the value of the ASCII digits, or {@code -1} if there are other characters
+     */
+    private static int parseDigits(String text, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Days since 1970-01-01 in the proleptic Gregorian calendar.
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static final class FormatKey {
+        private final String pattern;
+
+        private final Locale locale;
+
+        private FormatKey(String pattern, Locale locale) {
+            this.pattern = pattern;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof FormatKey)) {
+                return false;
+            }
+            FormatKey other = (FormatKey) obj;
+            return pattern.equals(other.pattern) && locale.equals(other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return pattern.hashCode() * 31 + locale.hashCode();
+        }
+    }
 }
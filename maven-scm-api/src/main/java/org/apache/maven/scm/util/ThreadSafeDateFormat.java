@@ -18,7 +18,6 @@
  */
 package org.apache.maven.scm.util;
 
-import java.lang.ref.SoftReference;
 import java.text.DateFormat;
 import java.text.FieldPosition;
 import java.text.ParsePosition;
@@ -43,20 +42,14 @@ public ThreadSafeDateFormat(String sDateFormat) {
         dateFormat = sDateFormat;
     }
 
-    private final ThreadLocal<SoftReference<SimpleDateFormat>> formatCache =
-            new ThreadLocal<SoftReference<SimpleDateFormat>>() {
-                public SoftReference<SimpleDateFormat> get() {
-                    SoftReference<SimpleDateFormat> softRef = super.get();
-                    if (softRef == null || softRef.get() == null) {
-                        softRef = new SoftReference<>(new SimpleDateFormat(dateFormat));
-                        super.set(softRef);
-                    }
-                    return softRef;
-                }
-            };
+    private final ThreadLocal<SimpleDateFormat> formatCache = ThreadLocal.withInitial(this::createDateFormat);
+
+    private SimpleDateFormat createDateFormat() {
+        return new SimpleDateFormat(dateFormat);
+    }
 
     private DateFormat getDateFormat() {
-        return formatCache.get().get();
+        return formatCache.get();
     }
 
     public StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition fieldPosition) {
@@ -18,10 +18,15 @@
  */
 package org.apache.maven.scm;
 
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 
+import org.apache.maven.scm.command.changelog.ChangeLogSet;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -233,4 +238,28 @@ void testToXmlWithFiles() {
         assertTrue(sXml.indexOf("<name>maven1:dummy</name>") > -1);
         assertTrue(sXml.indexOf("<name>maven2:dummy2</name>") > -1);
     }
+
+    @Test
+    void testWriteXml() throws Exception {
+        instance.setComment("a ]]> b");
+        instance.addFile(new ChangeFile("a&b.txt", "1"));
+
+        StringWriter writer = new StringWriter();
+        instance.writeXML(writer);
+
+        assertEquals(instance.toXML(), writer.toString());
+        assertTrue(writer.toString().contains("<msg><![CDATA[a ] ] > b]]></msg>"));
+        assertTrue(writer.toString().contains("<name>a&amp;b.txt</name>"));
+    }
+
+    @Test
+    void testChangeLogSetWriteXml() throws Exception {
+        ChangeLogSet changeLogSet =
+                new ChangeLogSet(Arrays.asList(instance, createInstance()), getDate(2002, 3, 1), null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        changeLogSet.writeXML(out, "UTF-8");
+
+        assertEquals(changeLogSet.toXML("UTF-8"), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
 }
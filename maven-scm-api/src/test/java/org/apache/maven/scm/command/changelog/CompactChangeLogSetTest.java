@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.command.changelog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompactChangeLogSetTest {
+
+    @Test
+    void testRoundTrip() {
+        List<ChangeSet> changeSets = createChangeSets();
+        ChangeLogSet expected = new ChangeLogSet(changeSets, new Date(0), null);
+
+        CompactChangeLogSet compact = new CompactChangeLogSet(changeSets, new Date(0), null);
+
+        assertEquals(changeSets.size(), compact.getChangeSets().size());
+        for (int i = 0; i < changeSets.size(); i++) {
+            assertChangeSetEquals(changeSets.get(i), compact.getChangeSets().get(i));
+        }
+        assertEquals(expected.toXML(), compact.toXML());
+    }
+
+    @Test
+    void testTrimToSizeAndAdd() {
+        List<ChangeSet> changeSets = createChangeSets();
+        CompactChangeLogSet compact = new CompactChangeLogSet(new Date(0), null);
+        compact.consume(changeSets.get(0));
+        compact.trimToSize();
+        compact.getChangeSets().add(changeSets.get(1));
+        compact.add(changeSets.get(2));
+
+        assertEquals(new ChangeLogSet(changeSets, new Date(0), null).toXML(), compact.toXML());
+    }
+
+    @Test
+    void testClearAndAdd() {
+        List<ChangeSet> changeSets = createChangeSets();
+        CompactChangeLogSet compact = new CompactChangeLogSet(changeSets, new Date(0), null);
+        compact.trimToSize();
+
+        compact.clear();
+        assertEquals(0, compact.getChangeSets().size());
+
+        compact.add(changeSets.get(1));
+        compact.add(changeSets.get(0));
+
+        assertEquals(
+                new ChangeLogSet(Arrays.asList(changeSets.get(1), changeSets.get(0)), new Date(0), null).toXML(),
+                compact.toXML());
+    }
+
+    @Test
+    void testModifyingViewDoesNotModifySet() {
+        CompactChangeLogSet compact = new CompactChangeLogSet(createChangeSets(), new Date(0), null);
+
+        compact.getChangeSets().get(0).setAuthor("someone else");
+        compact.getChangeSets().get(0).getFiles().clear();
+
+        assertEquals("jane", compact.getChangeSets().get(0).getAuthor());
+        assertEquals(2, compact.getChangeSets().get(0).getFiles().size());
+        assertThrows(UnsupportedOperationException.class, () -> compact.getChangeSets().remove(0));
+    }
+
+    @Test
+    void testSetChangeSets() {
+        CompactChangeLogSet compact = new CompactChangeLogSet(createChangeSets(), new Date(0), null);
+
+        compact.setChangeSets(Collections.singletonList(new ChangeSet()));
+
+        assertEquals(1, compact.getChangeSets().size());
+        assertNull(compact.getChangeSets().get(0).getRevision());
+        assertNull(compact.getChangeSets().get(0).getDate());
+
+        compact.setChangeSets(null);
+
+        assertEquals(0, compact.getChangeSets().size());
+    }
+
+    private static List<ChangeSet> createChangeSets() {
+        List<ChangeSet> changeSets = new ArrayList<>();
+
+        ChangeSet git = new ChangeSet(new Date(1700000000000L), "Initial import", "jane", null);
+        git.setRevision("0123456789abcdef0123456789abcdef01234567");
+        git.setParentRevision("fedcba9876543210fedcba9876543210fedcba98");
+        git.addFile(new ChangeFile("src/main/java/Foo.java", git.getRevision()));
+        ChangeFile renamed = new ChangeFile("src/main/java/Bar.java", git.getRevision());
+        renamed.setAction(ScmFileStatus.RENAMED);
+        renamed.setOriginalName("src/main/java/Baz.java");
+        renamed.setOriginalRevision("fedcba9876543210fedcba9876543210fedcba98");
+        git.addFile(renamed);
+        git.setTags(Arrays.asList("v1", "release"));
+        changeSets.add(git);
+
+        ChangeSet svn = new ChangeSet(new Date(1700000060000L), "Fix <escaping> & more", "john", null);
+        svn.setRevision("1234");
+        ChangeFile added = new ChangeFile("/trunk/src/main/java/Foo.java", "1234");
+        added.setAction(ScmFileStatus.ADDED);
+        svn.addFile(added);
+        svn.addFile(new ChangeFile("/trunk/pom.xml", "0017"));
+        svn.addFile(new ChangeFile("/trunk/README", null));
+        svn.setMergedRevisions(new LinkedHashSet<>(Arrays.asList("1200", "1201")));
+        changeSets.add(svn);
+
+        ChangeSet other = new ChangeSet(null, null, "jane", null);
+        other.setRevision("0123456789ABCDEF0123456789ABCDEF01234567");
+        other.setParentRevision("1.2.3");
+        changeSets.add(other);
+
+        return changeSets;
+    }
+
+    private static void assertChangeSetEquals(ChangeSet expected, ChangeSet actual) {
+        assertEquals(expected.getDate(), actual.getDate());
+        assertEquals(expected.getAuthor(), actual.getAuthor());
+        assertEquals(expected.getComment(), actual.getComment());
+        assertEquals(expected.getRevision(), actual.getRevision());
+        assertEquals(expected.getParentRevision(), actual.getParentRevision());
+        assertEquals(expected.getTags(), actual.getTags());
+        assertEquals(expected.getMergedRevisions(), actual.getMergedRevisions());
+        assertEquals(expected.getFiles().size(), actual.getFiles().size());
+        for (int i = 0; i < expected.getFiles().size(); i++) {
+            ChangeFile expectedFile = expected.getFiles().get(i);
+            ChangeFile actualFile = actual.getFiles().get(i);
+            assertEquals(expectedFile.getName(), actualFile.getName());
+            assertEquals(expectedFile.getRevision(), actualFile.getRevision());
+            assertEquals(expectedFile.getAction(), actualFile.getAction());
+            assertEquals(expectedFile.getOriginalName(), actualFile.getOriginalName());
+            assertEquals(expectedFile.getOriginalRevision(), actualFile.getOriginalRevision());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmException;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
+import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
+import org.apache.maven.scm.command.changelog.ChangeLogSet;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
+import org.apache.maven.scm.repository.ScmRepository;
+import org.apache.maven.scm.repository.ScmRepositoryException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScmProviderTest {
+
+    private final List<ChangeSet> changeSets = Arrays.asList(
+            new ChangeSet(new Date(1000), "first", "jane", null),
+            new ChangeSet(new Date(2000), "second", "john", null));
+
+    @Test
+    void testChangeLogWithConsumer() throws Exception {
+        ChangeLogProvider provider = new ChangeLogProvider(false, false);
+        ChangeLogScmRequest request = createRequest();
+        List<ChangeSet> consumed = new ArrayList<>();
+        ChangeSetConsumer consumer = consumed::add;
+
+        ChangeLogScmResult result = provider.changeLog(request, consumer);
+
+        assertSame(consumer, provider.consumer);
+        assertEquals(changeSets, consumed);
+        assertTrue(result.getChangeLog().getChangeSets().isEmpty());
+        assertNull(request.getCommandParameters().getChangeSetConsumer(CommandParameter.CHANGE_SET_CONSUMER));
+    }
+
+    @Test
+    void testChangeLogWithStreamingProvider() throws Exception {
+        ChangeLogProvider provider = new ChangeLogProvider(true, false);
+        ChangeLogScmRequest request = createRequest();
+        List<ChangeSet> consumed = new ArrayList<>();
+
+        ChangeLogScmResult result = provider.changeLog(request, consumed::add);
+
+        // delivered once by the provider, not again by the default method
+        assertEquals(changeSets, consumed);
+        assertTrue(result.getChangeLog().getChangeSets().isEmpty());
+        assertNull(request.getCommandParameters().getChangeSetConsumer(CommandParameter.CHANGE_SET_CONSUMER));
+    }
+
+    @Test
+    void testChangeLogWithConsumerRemovesConsumerOnFailure() throws Exception {
+        ChangeLogProvider provider = new ChangeLogProvider(false, true);
+        ChangeLogScmRequest request = createRequest();
+        List<ChangeSet> consumed = new ArrayList<>();
+
+        assertThrows(ScmException.class, () -> provider.changeLog(request, consumed::add));
+
+        assertTrue(consumed.isEmpty());
+        assertNull(request.getCommandParameters().getChangeSetConsumer(CommandParameter.CHANGE_SET_CONSUMER));
+    }
+
+    private static ChangeLogScmRequest createRequest() {
+        ScmRepository repository = new ScmRepository("test", new ScmProviderRepository() {});
+        return new ChangeLogScmRequest(repository, new ScmFileSet(new File(".")));
+    }
+
+    /**
+     * Returns {@link #changeSets}, either in the result or through the consumer it has been given.
+     */
+    private class ChangeLogProvider extends AbstractScmProvider {
+        private final boolean streaming;
+
+        private final boolean failing;
+
+        private ChangeSetConsumer consumer;
+
+        ChangeLogProvider(boolean streaming, boolean failing) {
+            this.streaming = streaming;
+            this.failing = failing;
+        }
+
+        @Override
+        public String getScmType() {
+            return "test";
+        }
+
+        @Override
+        public ScmProviderRepository makeProviderScmRepository(String scmSpecificUrl, char delimiter)
+                throws ScmRepositoryException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected ChangeLogScmResult changelog(
+                ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters)
+                throws ScmException {
+            consumer = parameters.getChangeSetConsumer(CommandParameter.CHANGE_SET_CONSUMER);
+            if (failing) {
+                throw new ScmException("failed");
+            }
+            if (streaming) {
+                changeSets.forEach(consumer::consume);
+                return new ChangeLogScmResult("log", new ChangeLogSet(new ArrayList<>(), null, null));
+            }
+            return new ChangeLogScmResult("log", new ChangeLogSet(new ArrayList<>(changeSets), null, null));
+        }
+    }
+}
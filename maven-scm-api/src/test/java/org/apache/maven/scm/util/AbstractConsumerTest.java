@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.util;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AbstractConsumerTest {
+
+    private final AbstractConsumer consumer = new AbstractConsumer() {
+        @Override
+        public void consumeLine(String line) {}
+    };
+
+    @Test
+    void testParseTimestamp() throws Exception {
+        assertTimestamp(AbstractConsumer.GIT_TIMESTAMP_PATTERN, "2008-08-06 01:37:18 +0200");
+        assertTimestamp(AbstractConsumer.GIT_TIMESTAMP_PATTERN, "2000-02-29 23:59:59 -1130");
+        assertTimestamp(AbstractConsumer.SVN_TIMESTAMP_PATTERN, "2002-04-23 12:34:56 GMT+01:00");
+        assertTimestamp(AbstractConsumer.SVN_TIMESTAMP_PATTERN, "2002-04-23 12:34:56 +0100 (Tue, 23 Apr 2002)");
+    }
+
+    @Test
+    void testParseTimestampLenient() throws Exception {
+        // not matched by the fast path, left to SimpleDateFormat
+        assertNull(AbstractConsumer.parseTimestamp("2007-02-29 01:37:18 +0200", false));
+        assertNull(AbstractConsumer.parseTimestamp("2008-8-6 01:37:18 +0200", false));
+        assertNull(AbstractConsumer.parseTimestamp("1500-08-06 01:37:18 +0200", false));
+
+        assertTimestamp(AbstractConsumer.GIT_TIMESTAMP_PATTERN, "2007-02-29 01:37:18 +0200");
+        assertTimestamp(AbstractConsumer.GIT_TIMESTAMP_PATTERN, "2008-8-6 01:37:18 +0200");
+        assertTimestamp(AbstractConsumer.GIT_TIMESTAMP_PATTERN, "1500-08-06 01:37:18 +0200");
+    }
+
+    @Test
+    void testParseDate() throws Exception {
+        String pattern = "dd.MM.yyyy HH:mm";
+        assertEquals(
+                new SimpleDateFormat(pattern).parse("06.08.2008 01:37"),
+                consumer.parseDate("06.08.2008 01:37", pattern, AbstractConsumer.GIT_TIMESTAMP_PATTERN));
+        assertNull(consumer.parseDate("06.08.2008", pattern, null));
+        assertEquals(
+                new SimpleDateFormat("MM/dd/yy", Locale.ENGLISH).parse("8/6/08"),
+                consumer.parseDate("8/6/08", null, null));
+    }
+
+    private void assertTimestamp(String pattern, String date) throws Exception {
+        Date expected = new SimpleDateFormat(pattern, Locale.ENGLISH).parse(date);
+        assertEquals(expected, consumer.parseDate(date, null, pattern, Locale.ENGLISH));
+    }
+}
@@ -98,6 +98,7 @@ private ChangeLogScmResult executeChangeLogCommand(
         }
 
         HgChangeLogConsumer consumer = new HgChangeLogConsumer(datePattern);
+        consumer.setChangeSetConsumer(getChangeSetConsumer());
         ScmResult result = HgUtils.execute(consumer, fileSet.getBasedir(), cmd.toArray(new String[cmd.size()]));
 
         List<ChangeSet> logEntries = consumer.getModifications();
@@ -131,6 +132,7 @@ protected ChangeLogScmResult executeChangeLogCommand(
             revisionInterval.toString()
         };
         HgChangeLogConsumer consumer = new HgChangeLogConsumer(datePattern);
+        consumer.setChangeSetConsumer(getChangeSetConsumer());
         ScmResult result = HgUtils.execute(consumer, fileSet.getBasedir(), cmd);
 
         List<ChangeSet> logEntries = consumer.getModifications();
@@ -26,6 +26,7 @@
 import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
 import org.apache.maven.scm.provider.hg.command.HgConsumer;
 
 /**
@@ -61,11 +62,29 @@ public class HgChangeLogConsumer extends HgConsumer {
 
     private String userDatePattern;
 
+    private ChangeSetConsumer changeSetConsumer;
+
     public HgChangeLogConsumer(String userDatePattern) {
         this.userDatePattern = userDatePattern;
     }
 
+    /**
+     * Passes each change set to the given consumer once it is complete, instead of collecting it in
+     * {@link #getModifications()}.
+     *
+     * @param changeSetConsumer the consumer, or {@code null} to collect the change sets
+     * @since 2.2.2
+     */
+    public void setChangeSetConsumer(ChangeSetConsumer changeSetConsumer) {
+        this.changeSetConsumer = changeSetConsumer;
+    }
+
     public List<ChangeSet> getModifications() {
+        // the last change set is only complete at the end of the output
+        if (changeSetConsumer != null && currentChange != null) {
+            changeSetConsumer.consume(currentChange);
+            currentChange = null;
+        }
         return logEntries;
     }
 
@@ -87,10 +106,16 @@ public void doConsume(ScmFileStatus status, String line) {
 
         // new changeset
         if (line.startsWith(REVNO_TAG)) {
+            if (changeSetConsumer != null && currentChange != null) {
+                changeSetConsumer.consume(currentChange);
+            }
+
             // Init a new changeset
             currentChange = new ChangeSet();
             currentChange.setFiles(new ArrayList<>(0));
-            logEntries.add(currentChange);
+            if (changeSetConsumer == null) {
+                logEntries.add(currentChange);
+            }
 
             // parse revision
             tmpLine = line.substring(REVNO_TAG.length()).trim();
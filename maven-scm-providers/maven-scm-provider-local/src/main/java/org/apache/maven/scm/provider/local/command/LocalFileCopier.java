@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.local.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.scm.ScmException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Copies files from the local repository into a working copy. The directory skeleton is created up front, the files
+ * themselves are then copied on a bounded pool of worker threads.
+ * <p>
+ * The number of worker threads defaults to the number of available processors and can be configured with the
+ * system property {@value #PARALLELISM_PROPERTY}, a value of {@code 1} copies sequentially.
+ * <p>
+ * If the system property {@value #LINK_PROPERTY} is {@code true}, files are hard linked instead of copied, which takes
+ * neither time nor disk space proportional to the file sizes. Should the file system not support hard links (or the
+ * working copy be located on another file system), files are copied instead. As linked files share their content
+ * with the repository, this mode is only meant for working copies which are never modified in place.
+ *
+ * @since 2.2.2
+ */
+public class LocalFileCopier {
+    /**
+     * The system property to configure the number of copy threads.
+     */
+    public static final String PARALLELISM_PROPERTY = "maven.scm.local.copy.parallelism";
+
+    /**
+     * The system property to enable hard linking instead of copying.
+     */
+    public static final String LINK_PROPERTY = "maven.scm.local.link";
+
+    /**
+     * Below this number of files copying is done sequentially, as starting threads would cost more than it saves.
+     */
+    private static final int PARALLEL_THRESHOLD = 16;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalFileCopier.class);
+
+    private final int parallelism;
+
+    private final boolean link;
+
+    /**
+     * Set once linking failed, to avoid retrying it for every single file.
+     */
+    private volatile boolean linkUnsupported;
+
+    public LocalFileCopier() {
+        this(
+                Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors()),
+                Boolean.getBoolean(LINK_PROPERTY));
+    }
+
+    public LocalFileCopier(int parallelism) {
+        this(parallelism, false);
+    }
+
+    public LocalFileCopier(int parallelism, boolean link) {
+        this.parallelism = Math.max(1, parallelism);
+        this.link = link;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public boolean isLink() {
+        return link;
+    }
+
+    /**
+     * Copies (or links) the given files to the same relative location below the destination directory, replacing
+     * existing files. File attributes like the last modification time are preserved.
+     *
+     * @param source the directory all files are located in
+     * @param baseDestination the directory to copy to
+     * @param files the absolute files to copy
+     * @throws ScmException if a directory cannot be created or a file cannot be copied
+     */
+    public void copy(File source, File baseDestination, List<File> files) throws ScmException {
+        int chop = source.getAbsolutePath().length() + 1;
+
+        final List<Path> sources = new ArrayList<>(files.size());
+        final List<Path> destinations = new ArrayList<>(files.size());
+        Set<Path> directories = new LinkedHashSet<>();
+        for (File file : files) {
+            Path destination = new File(baseDestination, file.getAbsolutePath().substring(chop)).toPath();
+            sources.add(file.toPath());
+            destinations.add(destination);
+            directories.add(destination.getParent());
+        }
+
+        for (Path directory : directories) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new ScmException("Could not create destination directory '" + directory + "'.", e);
+            }
+        }
+
+        if (parallelism == 1 || files.size() < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < sources.size(); i++) {
+                copyFile(sources.get(i), destinations.get(i));
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, files.size()));
+        try {
+            List<Future<Void>> futures = new ArrayList<>(files.size());
+            for (int i = 0; i < sources.size(); i++) {
+                final int index = i;
+                futures.add(executor.submit(() -> {
+                    copyFile(sources.get(index), destinations.get(index));
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ScmException) {
+                throw (ScmException) e.getCause();
+            }
+            throw new ScmException("Error while copying the files.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScmException("Interrupted while copying the files.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    protected void copyFile(Path source, Path destination) throws ScmException {
+        if (link && !linkUnsupported) {
+            try {
+                Files.deleteIfExists(destination);
+                Files.createLink(destination, source);
+                return;
+            } catch (IOException | UnsupportedOperationException e) {
+                linkUnsupported = true;
+                LOGGER.warn("Could not hard link '" + source + "', copying files instead: " + e.getMessage());
+            }
+        }
+        try {
+            Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        } catch (IOException e) {
+            throw new ScmException("Could not copy '" + source + "' to '" + destination + "'.", e);
+        }
+    }
+}
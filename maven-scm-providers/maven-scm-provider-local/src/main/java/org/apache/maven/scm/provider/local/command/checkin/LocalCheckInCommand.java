@@ -33,6 +33,8 @@
 import org.apache.maven.scm.command.checkin.CheckInScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.local.command.LocalCommand;
+import org.apache.maven.scm.provider.local.metadata.LocalScmDigestCache;
+import org.apache.maven.scm.provider.local.metadata.LocalScmMetadataUtils;
 import org.apache.maven.scm.provider.local.repository.LocalScmProviderRepository;
 import org.apache.maven.scm.util.FilenameUtils;
 import org.codehaus.plexus.util.FileUtils;
@@ -41,6 +43,11 @@
  * @author <a href="mailto:trygvis@inamo.no">Trygve Laugst&oslash;l</a>
  */
 public class LocalCheckInCommand extends AbstractCheckInCommand implements LocalCommand {
+    /**
+     * The files the local scm keeps in the working copy, which must never end up in the repository.
+     */
+    private static final String EXCLUDES = LocalScmMetadataUtils.FILENAME + "," + LocalScmDigestCache.FILENAME;
+
     /**
      * {@inheritDoc}
      */
@@ -81,9 +88,11 @@ protected CheckInScmResult executeCheckInCommand(
             List<File> files = fileSet.getFileList();
 
             if (files.isEmpty()) {
-                files = FileUtils.getFiles(basedir, "**", null, false);
+                files = FileUtils.getFiles(basedir, "**", EXCLUDES, false);
             }
 
+            LocalScmDigestCache digestCache = LocalScmDigestCache.read(basedir);
+
             for (File file : files) {
                 String path = FilenameUtils.normalizeFilename(file.getPath());
                 File repoFile = new File(repoRoot, path);
@@ -92,15 +101,7 @@ protected CheckInScmResult executeCheckInCommand(
                 ScmFileStatus status;
 
                 if (repoFile.exists()) {
-                    String repoFileContents = FileUtils.fileRead(repoFile);
-
-                    String fileContents = FileUtils.fileRead(file);
-
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("fileContents:" + fileContents);
-                        logger.debug("repoFileContents:" + repoFileContents);
-                    }
-                    if (fileContents.equals(repoFileContents)) {
+                    if (digestCache.isIdentical(path, repoFile, file)) {
                         continue;
                     }
 
@@ -116,10 +117,13 @@ protected CheckInScmResult executeCheckInCommand(
                 }
 
                 FileUtils.copyFile(file, repoFile);
+                digestCache.recordIdentical(path, repoFile, file);
                 ScmFile scmFile = new ScmFile(path, status);
                 logger.info(scmFile.toString());
                 checkedInFiles.add(scmFile);
             }
+
+            digestCache.write();
         } catch (IOException ex) {
             throw new ScmException("Error while checking in the files.", ex);
         }
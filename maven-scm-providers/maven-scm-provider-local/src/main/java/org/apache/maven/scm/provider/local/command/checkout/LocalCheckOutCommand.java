@@ -32,6 +32,7 @@
 import org.apache.maven.scm.command.checkout.CheckOutScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.local.command.LocalCommand;
+import org.apache.maven.scm.provider.local.command.LocalFileCopier;
 import org.apache.maven.scm.provider.local.metadata.LocalScmMetadataUtils;
 import org.apache.maven.scm.provider.local.repository.LocalScmProviderRepository;
 import org.codehaus.plexus.util.FileUtils;
@@ -97,7 +98,11 @@ protected CheckOutScmResult executeCheckOutCommand(
 
             // write metadata file
             LocalScmMetadataUtils metadataUtils = new LocalScmMetadataUtils();
-            metadataUtils.writeMetadata(baseDestination, metadataUtils.buildMetadata(source));
+            if (fileSet.getFileList().isEmpty()) {
+                metadataUtils.writeMetadata(baseDestination, metadataUtils.buildMetadata(source, fileList));
+            } else {
+                metadataUtils.writeMetadata(baseDestination, metadataUtils.buildMetadata(source));
+            }
         } catch (IOException ex) {
             throw new ScmException("Error while checking out the files.", ex);
         }
@@ -109,23 +114,12 @@ private List<ScmFile> checkOut(File source, File baseDestination, List<File> fil
             throws ScmException, IOException {
         String sourcePath = source.getAbsolutePath();
 
-        List<ScmFile> checkedOutFiles = new ArrayList<>();
-
-        for (File file : files) {
-            String dest = file.getAbsolutePath();
-
-            dest = dest.substring(sourcePath.length() + 1);
+        new LocalFileCopier().copy(source, baseDestination, files);
 
-            File destination = new File(baseDestination, dest);
+        List<ScmFile> checkedOutFiles = new ArrayList<>(files.size());
 
-            destination = destination.getParentFile();
-
-            if (!destination.exists() && !destination.mkdirs()) {
-                throw new ScmException(
-                        "Could not create destination directory '" + destination.getAbsolutePath() + "'.");
-            }
-
-            FileUtils.copyFileToDirectory(file, destination);
+        for (File file : files) {
+            String dest = file.getAbsolutePath().substring(sourcePath.length() + 1);
 
             String fileName = "/" + module + "/" + dest;
 
@@ -21,8 +21,11 @@
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFile;
@@ -34,10 +37,14 @@
 import org.apache.maven.scm.command.update.UpdateScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.local.command.LocalCommand;
+import org.apache.maven.scm.provider.local.command.LocalFileCopier;
 import org.apache.maven.scm.provider.local.command.changelog.LocalChangeLogCommand;
+import org.apache.maven.scm.provider.local.metadata.LocalScmDigestCache;
 import org.apache.maven.scm.provider.local.metadata.LocalScmMetadata;
 import org.apache.maven.scm.provider.local.metadata.LocalScmMetadataUtils;
+import org.apache.maven.scm.provider.local.metadata.RepositoryFile;
 import org.apache.maven.scm.provider.local.repository.LocalScmProviderRepository;
+import org.apache.maven.scm.util.FilenameUtils;
 import org.codehaus.plexus.util.FileUtils;
 
 /**
@@ -90,29 +97,36 @@ protected UpdateScmResult executeUpdateCommand(ScmProviderRepository repo, ScmFi
             }
 
             List<File> fileList = FileUtils.getFiles(source.getAbsoluteFile(), "**", null);
-            updatedFiles = update(source, baseDestination, fileList);
+            LocalScmDigestCache digestCache = LocalScmDigestCache.read(baseDestination);
+            updatedFiles = update(source, baseDestination, fileList, digestCache);
 
             // process deletions in repository
             LocalScmMetadataUtils metadataUtils = new LocalScmMetadataUtils();
             LocalScmMetadata originalMetadata = metadataUtils.readMetadata(baseDestination);
-            if (originalMetadata != null) {
-                LocalScmMetadata newMetadata = metadataUtils.buildMetadata(source);
-                for (Iterator<String> it =
-                                originalMetadata.getRepositoryFileNames().iterator();
-                        it.hasNext(); ) {
-                    String filename = it.next();
-                    if (!newMetadata.getRepositoryFileNames().contains(filename)) {
-                        File localFile = new File(baseDestination, filename);
-                        if (localFile.exists()) {
-                            localFile.delete();
-                            updatedFiles.add(new ScmFile("/" + filename, ScmFileStatus.UPDATED));
-                        }
+            Map<String, RepositoryFile> originalFiles = metadataUtils.indexMetadata(originalMetadata);
+            LocalScmMetadata newMetadata = metadataUtils.buildMetadata(source, fileList);
+            Set<String> newFileNames = new HashSet<>(newMetadata.getRepositoryFiles().size() * 4 / 3 + 1);
+            for (RepositoryFile repositoryFile : newMetadata.getRepositoryFiles()) {
+                newFileNames.add(repositoryFile.getPath());
+            }
+            for (String filename : originalFiles.keySet()) {
+                if (!newFileNames.contains(filename)) {
+                    File localFile = new File(baseDestination, filename);
+                    if (localFile.exists()) {
+                        localFile.delete();
+                        digestCache.remove(FilenameUtils.normalizeFilename(filename));
+                        updatedFiles.add(new ScmFile("/" + filename, ScmFileStatus.UPDATED));
                     }
                 }
             }
 
             // rewrite metadata file
-            metadataUtils.writeMetadata(baseDestination, metadataUtils.buildMetadata(source));
+            if (originalMetadata == null
+                    || !originalMetadata.getRepositoryFileNames().isEmpty()
+                    || !metadataUtils.isUnchanged(originalFiles, newMetadata)) {
+                metadataUtils.writeMetadata(baseDestination, newMetadata);
+            }
+            digestCache.write();
 
         } catch (IOException ex) {
             throw new ScmException("Error while checking out the files.", ex);
@@ -121,11 +135,14 @@ protected UpdateScmResult executeUpdateCommand(ScmProviderRepository repo, ScmFi
         return new LocalUpdateScmResult(null, updatedFiles);
     }
 
-    private List<ScmFile> update(File source, File baseDestination, List<File> files) throws ScmException, IOException {
+    private List<ScmFile> update(File source, File baseDestination, List<File> files, LocalScmDigestCache digestCache)
+            throws ScmException, IOException {
         String sourcePath = source.getAbsolutePath();
 
         List<ScmFile> updatedFiles = new ArrayList<>();
 
+        List<File> changedFiles = new ArrayList<>();
+
         for (Iterator<File> i = files.iterator(); i.hasNext(); ) {
             File repositoryFile = i.next();
 
@@ -133,21 +150,10 @@ private List<ScmFile> update(File source, File baseDestination, List<File> files
 
             File destinationFile = new File(baseDestination, dest);
 
-            String repositoryFileContents = FileUtils.fileRead(repositoryFile);
-
-            if (destinationFile.exists()) {
-                String destionationFileContents = FileUtils.fileRead(destinationFile);
-
-                if (repositoryFileContents.equals(destionationFileContents)) {
-                    continue;
-                }
-            }
-
-            File destinationDirectory = destinationFile.getParentFile();
+            String path = FilenameUtils.normalizeFilename(dest);
 
-            if (!destinationDirectory.exists() && !destinationDirectory.mkdirs()) {
-                throw new ScmException(
-                        "Could not create destination directory '" + destinationDirectory.getAbsolutePath() + "'.");
+            if (digestCache.isIdentical(path, repositoryFile, destinationFile)) {
+                continue;
             }
 
             ScmFileStatus status;
@@ -158,13 +164,19 @@ private List<ScmFile> update(File source, File baseDestination, List<File> files
                 status = ScmFileStatus.ADDED;
             }
 
-            FileUtils.copyFileToDirectory(repositoryFile, destinationDirectory);
+            changedFiles.add(repositoryFile);
 
-            int chop = baseDestination.getAbsolutePath().length();
+            updatedFiles.add(new ScmFile(dest, status));
+        }
+
+        // replaces the destination files instead of writing into them, which matters for hard linked working copies
+        new LocalFileCopier().copy(source, baseDestination, changedFiles);
 
-            String fileName = destinationFile.getAbsolutePath().substring(chop + 1);
+        for (File repositoryFile : changedFiles) {
+            String dest = repositoryFile.getAbsolutePath().substring(sourcePath.length() + 1);
 
-            updatedFiles.add(new ScmFile(fileName, status));
+            digestCache.recordIdentical(
+                    FilenameUtils.normalizeFilename(dest), repositoryFile, new File(baseDestination, dest));
         }
 
         return updatedFiles;
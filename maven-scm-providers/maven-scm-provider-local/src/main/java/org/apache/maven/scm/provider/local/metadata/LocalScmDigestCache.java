@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.local.metadata;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remembers for each file of a working copy the size and modification time of the working copy file and of the
+ * repository file at the time both have been known to be identical, together with the digest of their content.
+ * <p>
+ * This allows to decide whether a working copy file differs from its repository counterpart without reading
+ * either of them as long as neither has been touched, and by reading only the touched one otherwise.
+ * The cache is stored next to the {@link LocalScmMetadataUtils#FILENAME metadata file}.
+ *
+ * @since 2.2.2
+ */
+public class LocalScmDigestCache {
+    /**
+     * The name of the digest cache file.
+     */
+    public static final String FILENAME = ".maven-scm-local-digests";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalScmDigestCache.class);
+
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+
+    private static final String NO_DIGEST = "-";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final File file;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private final byte[] buffer = new byte[64 * 1024];
+
+    private final MessageDigest messageDigest;
+
+    private boolean dirty;
+
+    private LocalScmDigestCache(File file) {
+        this.file = file;
+        try {
+            this.messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not supported", e);
+        }
+    }
+
+    /**
+     * Reads the digest cache from the given working copy directory. A missing or unreadable cache results in
+     * an empty one.
+     *
+     * @param dir the working copy directory containing the metadata
+     * @return the cache, never <code>null</code>
+     */
+    public static LocalScmDigestCache read(File dir) {
+        LocalScmDigestCache cache = new LocalScmDigestCache(new File(dir, FILENAME));
+        if (!cache.file.exists()) {
+            return cache;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(cache.file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // digest \t size \t repository lastModified \t working copy lastModified \t path
+                String[] fields = line.split("\t", 5);
+                if (fields.length != 5) {
+                    continue;
+                }
+                String digest = NO_DIGEST.equals(fields[0]) ? null : fields[0];
+                cache.entries.put(
+                        fields[4],
+                        new Entry(
+                                Long.parseLong(fields[1]),
+                                Long.parseLong(fields[2]),
+                                Long.parseLong(fields[3]),
+                                digest));
+            }
+        } catch (IOException | NumberFormatException e) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Could not read " + FILENAME + " - ignoring", e);
+            }
+            cache.entries.clear();
+        }
+        return cache;
+    }
+
+    /**
+     * Writes the cache back to the working copy directory it has been read from, if it has been modified.
+     *
+     * @throws IOException if any
+     */
+    public void write() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                writer.write(entry.digest != null ? entry.digest : NO_DIGEST);
+                writer.write('\t');
+                writer.write(Long.toString(entry.size));
+                writer.write('\t');
+                writer.write(Long.toString(entry.repositoryLastModified));
+                writer.write('\t');
+                writer.write(Long.toString(entry.workingCopyLastModified));
+                writer.write('\t');
+                writer.write(e.getKey());
+                writer.newLine();
+            }
+        }
+        dirty = false;
+    }
+
+    /**
+     * Checks whether the working copy file has the same content as the repository file.
+     * Files with different sizes are never read, files whose size and modification time did not change since they
+     * have been recorded as identical are not read either.
+     *
+     * @param path the normalized path of the file relative to the module, used as cache key
+     * @param repositoryFile the file in the repository
+     * @param workingCopyFile the file in the working copy
+     * @return <code>true</code> if both files exist and have identical content
+     * @throws IOException if any
+     */
+    public boolean isIdentical(String path, File repositoryFile, File workingCopyFile) throws IOException {
+        if (!repositoryFile.isFile() || !workingCopyFile.isFile()) {
+            return false;
+        }
+
+        long size = repositoryFile.length();
+        if (size != workingCopyFile.length()) {
+            return false;
+        }
+
+        long repositoryLastModified = repositoryFile.lastModified();
+        long workingCopyLastModified = workingCopyFile.lastModified();
+
+        Entry entry = entries.get(path);
+        if (entry != null && entry.size == size) {
+            boolean repositoryUntouched = entry.repositoryLastModified == repositoryLastModified;
+            boolean workingCopyUntouched = entry.workingCopyLastModified == workingCopyLastModified;
+            if (repositoryUntouched && workingCopyUntouched) {
+                return true;
+            }
+            if (entry.digest != null && (repositoryUntouched || workingCopyUntouched)) {
+                // only one side has been touched, so only that one needs to be read
+                String digest = digest(repositoryUntouched ? workingCopyFile : repositoryFile);
+                if (digest.equals(entry.digest)) {
+                    put(path, new Entry(size, repositoryLastModified, workingCopyLastModified, digest));
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        String digest = digest(repositoryFile);
+        if (digest.equals(digest(workingCopyFile))) {
+            put(path, new Entry(size, repositoryLastModified, workingCopyLastModified, digest));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records that the repository file and the working copy file are identical, e.g. after one has been copied onto
+     * the other.
+     *
+     * @param path the normalized path of the file relative to the module, used as cache key
+     * @param repositoryFile the file in the repository
+     * @param workingCopyFile the file in the working copy
+     */
+    public void recordIdentical(String path, File repositoryFile, File workingCopyFile) {
+        put(
+                path,
+                new Entry(repositoryFile.length(), repositoryFile.lastModified(), workingCopyFile.lastModified(), null));
+    }
+
+    /**
+     * Forgets about the given file, e.g. because it has been deleted.
+     *
+     * @param path the normalized path of the file relative to the module
+     */
+    public void remove(String path) {
+        if (entries.remove(path) != null) {
+            dirty = true;
+        }
+    }
+
+    private void put(String path, Entry entry) {
+        entries.put(path, entry);
+        dirty = true;
+    }
+
+    private String digest(File file) throws IOException {
+        messageDigest.reset();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        }
+        byte[] digest = messageDigest.digest();
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX[digest[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    private static final class Entry {
+        private final long size;
+
+        private final long repositoryLastModified;
+
+        private final long workingCopyLastModified;
+
+        private final String digest;
+
+        private Entry(long size, long repositoryLastModified, long workingCopyLastModified, String digest) {
+            this.size = size;
+            this.repositoryLastModified = repositoryLastModified;
+            this.workingCopyLastModified = workingCopyLastModified;
+            this.digest = digest;
+        }
+    }
+}
@@ -22,7 +22,10 @@
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.maven.scm.provider.local.metadata.io.xpp3.LocalScmMetadataXpp3Reader;
 import org.apache.maven.scm.provider.local.metadata.io.xpp3.LocalScmMetadataXpp3Writer;
@@ -55,12 +58,84 @@ public class LocalScmMetadataUtils {
      */
     public LocalScmMetadata buildMetadata(File repository) throws IOException {
         @SuppressWarnings("unchecked")
-        List<String> repoFilenames = FileUtils.getFileNames(repository.getAbsoluteFile(), "**", null, false);
+        List<File> repoFiles = FileUtils.getFiles(repository.getAbsoluteFile(), "**", null);
+        return buildMetadata(repository, repoFiles);
+    }
+
+    /**
+     * Builds LocalScmMetadata from an already collected list of the files contained in the repository.
+     *
+     * @param repository the repository (module) directory
+     * @param repoFiles the absolute files contained in the repository directory
+     * @return the metadata recording path, size and last modification time of each file
+     * @since 2.2.2
+     */
+    public LocalScmMetadata buildMetadata(File repository, List<File> repoFiles) {
+        int chop = repository.getAbsolutePath().length() + 1;
+        List<RepositoryFile> repositoryFiles = new ArrayList<>(repoFiles.size());
+        for (File file : repoFiles) {
+            RepositoryFile repositoryFile = new RepositoryFile();
+            repositoryFile.setPath(file.getAbsolutePath().substring(chop));
+            repositoryFile.setSize(file.length());
+            repositoryFile.setLastModified(file.lastModified());
+            repositoryFiles.add(repositoryFile);
+        }
         LocalScmMetadata metadata = new LocalScmMetadata();
-        metadata.setRepositoryFileNames(repoFilenames);
+        metadata.setRepositoryFiles(repositoryFiles);
         return metadata;
     }
 
+    /**
+     * Indexes the files recorded in the given metadata by their path. Metadata written by older versions only
+     * contains file names, these are indexed with a size and last modification time of {@code -1}.
+     *
+     * @param metadata the metadata, may be <code>null</code>
+     * @return the recorded files keyed by path, never <code>null</code>
+     * @since 2.2.2
+     */
+    public Map<String, RepositoryFile> indexMetadata(LocalScmMetadata metadata) {
+        if (metadata == null) {
+            return new LinkedHashMap<>();
+        }
+        Map<String, RepositoryFile> index = new LinkedHashMap<>(
+                (metadata.getRepositoryFiles().size() + metadata.getRepositoryFileNames().size()) * 4 / 3 + 1);
+        for (String fileName : metadata.getRepositoryFileNames()) {
+            RepositoryFile repositoryFile = new RepositoryFile();
+            repositoryFile.setPath(fileName);
+            repositoryFile.setSize(-1);
+            repositoryFile.setLastModified(-1);
+            index.put(fileName, repositoryFile);
+        }
+        for (RepositoryFile repositoryFile : metadata.getRepositoryFiles()) {
+            index.put(repositoryFile.getPath(), repositoryFile);
+        }
+        return index;
+    }
+
+    /**
+     * Checks whether the given metadata records exactly the files (with same size and last modification time)
+     * of the given index.
+     *
+     * @param index the previously recorded files, as returned by {@link #indexMetadata(LocalScmMetadata)}
+     * @param metadata the metadata to compare
+     * @return <code>true</code> if nothing changed
+     * @since 2.2.2
+     */
+    public boolean isUnchanged(Map<String, RepositoryFile> index, LocalScmMetadata metadata) {
+        if (index.size() != metadata.getRepositoryFiles().size()) {
+            return false;
+        }
+        for (RepositoryFile repositoryFile : metadata.getRepositoryFiles()) {
+            RepositoryFile previous = index.get(repositoryFile.getPath());
+            if (previous == null
+                    || previous.getSize() != repositoryFile.getSize()
+                    || previous.getLastModified() != repositoryFile.getLastModified()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Writes metadata file.
      *
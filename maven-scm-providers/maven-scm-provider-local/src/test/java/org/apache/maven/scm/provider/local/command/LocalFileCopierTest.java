@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.local.command;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalFileCopierTest {
+    @TempDir
+    private File tempDir;
+
+    @Test
+    void testParallelCopy() throws Exception {
+        File source = new File(tempDir, "source");
+        File destination = new File(tempDir, "destination");
+
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            File file = new File(source, "dir" + (i % 7) + "/sub" + (i % 3) + "/file" + i + ".txt");
+            file.getParentFile().mkdirs();
+            FileUtils.fileWrite(file, "UTF-8", "content " + i);
+            files.add(file);
+        }
+
+        new LocalFileCopier(4).copy(source, destination, files);
+
+        for (int i = 0; i < 100; i++) {
+            File file = new File(destination, "dir" + (i % 7) + "/sub" + (i % 3) + "/file" + i + ".txt");
+            assertEquals("content " + i, FileUtils.fileRead(file, "UTF-8"));
+            assertEquals(files.get(i).lastModified(), file.lastModified());
+        }
+    }
+
+    @Test
+    void testLink() throws Exception {
+        File source = new File(tempDir, "source");
+        File destination = new File(tempDir, "destination");
+
+        File file = new File(source, "dir/file.txt");
+        file.getParentFile().mkdirs();
+        FileUtils.fileWrite(file, "UTF-8", "content");
+
+        File existing = new File(destination, "dir/file.txt");
+        existing.getParentFile().mkdirs();
+        FileUtils.fileWrite(existing, "UTF-8", "old content");
+
+        new LocalFileCopier(1, true).copy(source, destination, Collections.singletonList(file));
+
+        assertEquals("content", FileUtils.fileRead(existing, "UTF-8"));
+        assertTrue(Files.isSameFile(file.toPath(), existing.toPath()));
+    }
+}
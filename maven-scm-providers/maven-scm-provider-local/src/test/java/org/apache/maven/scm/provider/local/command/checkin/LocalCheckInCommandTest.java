@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.local.command.checkin;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.command.checkin.CheckInScmResult;
+import org.apache.maven.scm.provider.local.metadata.LocalScmDigestCache;
+import org.apache.maven.scm.provider.local.metadata.LocalScmMetadataUtils;
+import org.apache.maven.scm.provider.local.repository.LocalScmProviderRepository;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalCheckInCommandTest {
+    @TempDir
+    private File tempDir;
+
+    @Test
+    void testMetadataFilesAreNotCheckedIn() throws Exception {
+        File root = new File(tempDir, "repository");
+        File module = new File(root, "module");
+        File workingDirectory = new File(tempDir, "workingcopy");
+        module.mkdirs();
+        workingDirectory.mkdirs();
+        FileUtils.fileWrite(new File(module, "file.txt"), "UTF-8", "original");
+        FileUtils.fileWrite(new File(workingDirectory, "file.txt"), "UTF-8", "modified");
+        FileUtils.fileWrite(new File(workingDirectory, LocalScmMetadataUtils.FILENAME), "UTF-8", "<metadata/>");
+
+        LocalScmProviderRepository repository = new LocalScmProviderRepository(root.getAbsolutePath(), "module");
+        // even files which have been added explicitly are excluded
+        repository.addFile(LocalScmMetadataUtils.FILENAME);
+        repository.addFile(LocalScmDigestCache.FILENAME);
+
+        LocalCheckInCommand command = new LocalCheckInCommand();
+        CheckInScmResult result =
+                command.executeCheckInCommand(repository, new ScmFileSet(workingDirectory), "first", null);
+        assertCheckedIn(result, "file.txt");
+        assertTrue(new File(workingDirectory, LocalScmDigestCache.FILENAME).exists());
+
+        FileUtils.fileWrite(new File(workingDirectory, "file.txt"), "UTF-8", "modified again");
+        result = command.executeCheckInCommand(repository, new ScmFileSet(workingDirectory), "second", null);
+        assertCheckedIn(result, "file.txt");
+
+        assertEquals("modified again", FileUtils.fileRead(new File(module, "file.txt"), "UTF-8"));
+        assertFalse(new File(module, LocalScmMetadataUtils.FILENAME).exists());
+        assertFalse(new File(module, LocalScmDigestCache.FILENAME).exists());
+    }
+
+    private static void assertCheckedIn(CheckInScmResult result, String path) {
+        assertTrue(result.isSuccess());
+        List<ScmFile> files = result.getCheckedInFiles();
+        assertEquals(1, files.size());
+        assertEquals(path, files.get(0).getPath());
+    }
+}
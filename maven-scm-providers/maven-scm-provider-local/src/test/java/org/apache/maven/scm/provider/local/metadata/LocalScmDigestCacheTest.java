@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.local.metadata;
+
+import java.io.File;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalScmDigestCacheTest {
+    @TempDir
+    private File tempDir;
+
+    private File repositoryFile;
+
+    private File workingCopyFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repositoryFile = new File(tempDir, "repository.txt");
+        workingCopyFile = new File(tempDir, "workingcopy.txt");
+        FileUtils.fileWrite(repositoryFile, "UTF-8", "content");
+        FileUtils.fileWrite(workingCopyFile, "UTF-8", "content");
+    }
+
+    @Test
+    void testIdenticalFiles() throws Exception {
+        LocalScmDigestCache cache = LocalScmDigestCache.read(tempDir);
+
+        assertTrue(cache.isIdentical("file.txt", repositoryFile, workingCopyFile));
+        cache.write();
+
+        assertTrue(new File(tempDir, LocalScmDigestCache.FILENAME).exists());
+        assertTrue(LocalScmDigestCache.read(tempDir).isIdentical("file.txt", repositoryFile, workingCopyFile));
+    }
+
+    @Test
+    void testModifiedFileWithSameSize() throws Exception {
+        LocalScmDigestCache cache = LocalScmDigestCache.read(tempDir);
+        assertTrue(cache.isIdentical("file.txt", repositoryFile, workingCopyFile));
+        cache.write();
+
+        FileUtils.fileWrite(workingCopyFile, "UTF-8", "CONTENT");
+        workingCopyFile.setLastModified(workingCopyFile.lastModified() + 2000);
+
+        assertFalse(LocalScmDigestCache.read(tempDir).isIdentical("file.txt", repositoryFile, workingCopyFile));
+    }
+
+    @Test
+    void testDifferentSize() throws Exception {
+        FileUtils.fileWrite(workingCopyFile, "UTF-8", "other content");
+
+        assertFalse(LocalScmDigestCache.read(tempDir).isIdentical("file.txt", repositoryFile, workingCopyFile));
+    }
+
+    @Test
+    void testMissingFile() throws Exception {
+        assertFalse(LocalScmDigestCache.read(tempDir)
+                .isIdentical("file.txt", repositoryFile, new File(tempDir, "missing.txt")));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.local.metadata;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalScmMetadataUtilsTest {
+    @TempDir
+    private File tempDir;
+
+    private File repository;
+
+    private File workingCopy;
+
+    private final LocalScmMetadataUtils metadataUtils = new LocalScmMetadataUtils();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = new File(tempDir, "repository");
+        workingCopy = new File(tempDir, "workingcopy");
+        new File(repository, "dir").mkdirs();
+        workingCopy.mkdirs();
+        FileUtils.fileWrite(new File(repository, "file.txt"), "UTF-8", "content");
+        FileUtils.fileWrite(new File(repository, "dir/other.txt"), "UTF-8", "other content");
+    }
+
+    @Test
+    void testRecordedFilesSurviveRoundTrip() throws Exception {
+        metadataUtils.writeMetadata(workingCopy, metadataUtils.buildMetadata(repository));
+
+        Map<String, RepositoryFile> index = metadataUtils.indexMetadata(metadataUtils.readMetadata(workingCopy));
+
+        assertEquals(2, index.size());
+        File file = new File(repository, "file.txt");
+        RepositoryFile repositoryFile = index.get("file.txt");
+        assertEquals(file.length(), repositoryFile.getSize());
+        assertEquals(file.lastModified(), repositoryFile.getLastModified());
+        assertTrue(index.containsKey("dir" + File.separator + "other.txt"));
+    }
+
+    @Test
+    void testUnchangedRepositoryReusesEntries() throws Exception {
+        Map<String, RepositoryFile> index = metadataUtils.indexMetadata(metadataUtils.buildMetadata(repository));
+
+        assertTrue(metadataUtils.isUnchanged(index, metadataUtils.buildMetadata(repository)));
+    }
+
+    @Test
+    void testTouchedFileInvalidatesEntry() throws Exception {
+        File file = new File(repository, "file.txt");
+        Map<String, RepositoryFile> index = metadataUtils.indexMetadata(metadataUtils.buildMetadata(repository));
+
+        assertTrue(file.setLastModified(file.lastModified() + 2000));
+
+        assertFalse(metadataUtils.isUnchanged(index, metadataUtils.buildMetadata(repository)));
+    }
+
+    @Test
+    void testResizedFileInvalidatesEntry() throws Exception {
+        File file = new File(repository, "file.txt");
+        long lastModified = file.lastModified();
+        Map<String, RepositoryFile> index = metadataUtils.indexMetadata(metadataUtils.buildMetadata(repository));
+
+        FileUtils.fileWrite(file, "UTF-8", "longer content");
+        assertTrue(file.setLastModified(lastModified));
+
+        assertFalse(metadataUtils.isUnchanged(index, metadataUtils.buildMetadata(repository)));
+    }
+
+    @Test
+    void testAddedOrRemovedFileInvalidatesIndex() throws Exception {
+        Map<String, RepositoryFile> index = metadataUtils.indexMetadata(metadataUtils.buildMetadata(repository));
+
+        FileUtils.fileWrite(new File(repository, "added.txt"), "UTF-8", "added");
+        assertFalse(metadataUtils.isUnchanged(index, metadataUtils.buildMetadata(repository)));
+
+        new File(repository, "added.txt").delete();
+        new File(repository, "file.txt").delete();
+        assertFalse(metadataUtils.isUnchanged(index, metadataUtils.buildMetadata(repository)));
+    }
+
+    @Test
+    void testFileNamesOfOlderMetadataAreNeverUnchanged() throws Exception {
+        LocalScmMetadata metadata = new LocalScmMetadata();
+        metadata.setRepositoryFileNames(Arrays.asList("file.txt", "dir" + File.separator + "other.txt"));
+
+        Map<String, RepositoryFile> index = metadataUtils.indexMetadata(metadata);
+
+        assertEquals(-1, index.get("file.txt").getSize());
+        assertEquals(-1, index.get("file.txt").getLastModified());
+        assertFalse(metadataUtils.isUnchanged(index, metadataUtils.buildMetadata(repository)));
+    }
+}
@@ -88,12 +88,34 @@ public class GitDiffConsumer extends AbstractConsumer {
 
     private final StringBuilder patch = new StringBuilder();
 
+    /**
+     * Maximum number of characters kept for the patch and for the per-file differences (each), or {@code -1} for
+     * no limit.
+     */
+    private final int maxPatchLength;
+
+    private int differencesLength;
+
+    private boolean patchTruncated;
+
+    private boolean differencesTruncated;
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
 
     public GitDiffConsumer(File workingDirectory) {
-        // empty
+        this(workingDirectory, -1);
+    }
+
+    /**
+     * @param workingDirectory the working directory (unused)
+     * @param maxPatchLength the maximum number of characters of patch text to keep in memory, {@code -1} for no
+     *                       limit. The changed files are always collected completely.
+     * @since 2.2.2
+     */
+    public GitDiffConsumer(File workingDirectory, int maxPatchLength) {
+        this.maxPatchLength = maxPatchLength;
     }
 
     // ----------------------------------------------------------------------
@@ -115,7 +137,7 @@ public void consumeLine(String line) {
 
             differences.put(currentFile, currentDifference);
 
-            patch.append(line).append("\n");
+            appendPatch(line);
 
             return;
         }
@@ -124,46 +146,78 @@ public void consumeLine(String line) {
             if (logger.isWarnEnabled()) {
                 logger.warn("Unparseable line: '" + line + "'");
             }
-            patch.append(line).append("\n");
+            appendPatch(line);
         } else if (line.startsWith(INDEX_LINE_TOKEN)) {
             // skip, though could parse to verify start revision and end revision
-            patch.append(line).append("\n");
+            appendPatch(line);
         } else if (line.startsWith(NEW_FILE_MODE_TOKEN) || line.startsWith(DELETED_FILE_MODE_TOKEN)) {
             // skip, though could parse to verify file mode
-            patch.append(line).append("\n");
+            appendPatch(line);
         } else if (line.startsWith(START_REVISION_TOKEN)) {
             // skip, though could parse to verify filename, start revision
-            patch.append(line).append("\n");
+            appendPatch(line);
         } else if (line.startsWith(END_REVISION_TOKEN)) {
             // skip, though could parse to verify filename, end revision
-            patch.append(line).append("\n");
+            appendPatch(line);
         } else if (line.startsWith(SIMILARITY_INDEX_LINE_TOKEN)) {
             // skip
-            patch.append(line).append("\n");
+            appendPatch(line);
         } else if (line.startsWith(RENAME_FROM_LINE_TOKEN) || line.startsWith(RENAME_TO_LINE_TOKEN)) {
             // skip, though could parse to verify filename
-            patch.append(line).append("\n");
+            appendPatch(line);
         } else if (line.startsWith(ADDED_LINE_TOKEN)
                 || line.startsWith(REMOVED_LINE_TOKEN)
                 || line.startsWith(UNCHANGED_LINE_TOKEN)
                 || line.startsWith(CHANGE_SEPARATOR_TOKEN)
                 || line.equals(NO_NEWLINE_TOKEN)) {
             // add to buffer
-            currentDifference.append(line).append("\n");
-            patch.append(line).append("\n");
+            appendDifference(line);
+            appendPatch(line);
         } else {
             // TODO: handle property differences
 
             if (logger.isWarnEnabled()) {
                 logger.warn("Unparseable line: '" + line + "'");
             }
-            patch.append(line).append("\n");
+            appendPatch(line);
             // skip to next file
             currentFile = null;
             currentDifference = null;
         }
     }
 
+    private void appendPatch(String line) {
+        // once a line has been dropped nothing more is kept, so that the patch is a prefix of the complete one
+        if (patchTruncated) {
+            return;
+        }
+        if (maxPatchLength < 0 || patch.length() + line.length() + 1 <= maxPatchLength) {
+            patch.append(line).append("\n");
+        } else {
+            patchTruncated = true;
+        }
+    }
+
+    private void appendDifference(String line) {
+        if (differencesTruncated) {
+            return;
+        }
+        if (maxPatchLength < 0 || differencesLength + line.length() + 1 <= maxPatchLength) {
+            currentDifference.append(line).append("\n");
+            differencesLength += line.length() + 1;
+        } else {
+            differencesTruncated = true;
+        }
+    }
+
+    /**
+     * @return {@code true} if patch text has been dropped because the configured maximum patch length was exceeded
+     * @since 2.2.2
+     */
+    public boolean isTruncated() {
+        return patchTruncated || differencesTruncated;
+    }
+
     public List<ScmFile> getChangedFiles() {
         return changedFiles;
     }
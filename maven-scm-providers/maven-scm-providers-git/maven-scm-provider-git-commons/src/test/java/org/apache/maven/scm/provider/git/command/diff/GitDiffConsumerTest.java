@@ -22,6 +22,7 @@
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileStatus;
 import org.apache.maven.scm.ScmTestCase;
@@ -143,6 +144,41 @@ void testLog4Consumer() throws Exception {
         assertTrue(addDiffs.indexOf("+  <!-- test -->") >= 0);
     }
 
+    @Test
+    void testMaxPatchLength() throws Exception {
+        GitDiffConsumer consumer = new GitDiffConsumer(null, 100);
+
+        File f = getTestFile("src/test/resources/git/diff/git-diff2.log");
+
+        ConsumerUtils.consumeFile(f, consumer);
+
+        List<ScmFile> changedFiles = consumer.getChangedFiles();
+
+        assertEquals(2, changedFiles.size());
+
+        assertTrue(consumer.isTruncated());
+        assertTrue(consumer.getPatch().length() <= 100);
+        assertTrue(consumer.getPatch().startsWith("diff --git a/pom.xml b/pom.xml"));
+    }
+
+    @Test
+    void testMaxPatchLengthKeepsPrefix() {
+        GitDiffConsumer consumer = new GitDiffConsumer(null, 120);
+
+        String header = "diff --git a/a.txt b/a.txt\n--- a/a.txt\n+++ b/a.txt\n@@ -1,2 +1,2 @@\n";
+        for (String line : header.split("\n")) {
+            consumer.consumeLine(line);
+        }
+        consumer.consumeLine("-" + StringUtils.repeat("x", 120));
+        consumer.consumeLine("+b");
+        consumer.consumeLine(" c");
+
+        // the short lines after the dropped one are not kept either
+        assertTrue(consumer.isTruncated());
+        assertEquals(header, consumer.getPatch());
+        assertEquals("@@ -1,2 +1,2 @@\n", consumer.getDifferences().get("a.txt").toString());
+    }
+
     private void testScmFile(ScmFile fileToTest, String expectedFilePath, ScmFileStatus expectedStatus) {
         assertEquals(expectedFilePath, fileToTest.getPath());
         assertEquals(expectedStatus, fileToTest.getStatus());
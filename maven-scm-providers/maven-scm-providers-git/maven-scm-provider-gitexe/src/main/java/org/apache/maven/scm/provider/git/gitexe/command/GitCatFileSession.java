@@ -0,0 +1,519 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.scm.ScmException;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamPumper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long-lived {@code git cat-file --batch-check} / {@code git cat-file --batch} helper session for a working copy,
+ * which resolves revisions (like {@code git rev-parse}) and reads objects without forking a new {@code git} process
+ * for every lookup.
+ * <p>
+ * By default the helper processes are terminated as soon as the session is closed. If the system property
+ * {@value #IDLE_TIMEOUT_PROPERTY} is set to an idle timeout in milliseconds, sessions are shared between commands on
+ * the same working copy and the helper processes are only terminated once the session has not been used for that
+ * long. A session is not reused if the {@code .git} directory has been re-created in the meantime.
+ *
+ * @since 2.2.2
+ */
+public final class GitCatFileSession implements Closeable {
+    /**
+     * The system property to configure the idle timeout in milliseconds.
+     */
+    public static final String IDLE_TIMEOUT_PROPERTY = "maven.scm.gitexe.catFile.idleTimeout";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitCatFileSession.class);
+
+    private static final Map<File, GitCatFileSession> SESSIONS = new HashMap<>();
+
+    private static ScheduledExecutorService evictor;
+
+    private final File workingDirectory;
+
+    private final Object[] gitDirSnapshot;
+
+    private final boolean pooled;
+
+    private BatchProcess batchCheck;
+
+    private BatchProcess batch;
+
+    private int borrowers;
+
+    private long lastReleased;
+
+    private boolean terminated;
+
+    private GitCatFileSession(File workingDirectory, Object[] gitDirSnapshot, boolean pooled) {
+        this.workingDirectory = workingDirectory;
+        this.gitDirSnapshot = gitDirSnapshot;
+        this.pooled = pooled;
+    }
+
+    /**
+     * Returns the session for the given working directory. The helper processes are started lazily on first use.
+     * Each call must be followed by a call to {@link #close()}.
+     *
+     * @param workingDirectory the working copy directory (or any directory below it)
+     * @return the session
+     */
+    public static GitCatFileSession open(File workingDirectory) {
+        File key = workingDirectory.toPath().toAbsolutePath().normalize().toFile();
+        long idleTimeout = Long.getLong(IDLE_TIMEOUT_PROPERTY, 0L);
+        Object[] snapshot = snapshotGitDir(key);
+        if (idleTimeout <= 0 || snapshot == null) {
+            // GIT_DIR or a bare repository, don't guess whether it is still the same one next time
+            GitCatFileSession session = new GitCatFileSession(key, snapshot, false);
+            session.borrowers++;
+            return session;
+        }
+
+        synchronized (SESSIONS) {
+            GitCatFileSession session = SESSIONS.get(key);
+            if (session != null && !Arrays.equals(session.gitDirSnapshot, snapshot)) {
+                // the repository has been re-created, current borrowers keep using the old processes
+                SESSIONS.remove(key);
+                session.terminateIfUnused();
+                session = null;
+            }
+            if (session == null) {
+                session = new GitCatFileSession(key, snapshot, true);
+                SESSIONS.put(key, session);
+                startEvictor(idleTimeout);
+            }
+            session.borrowers++;
+            return session;
+        }
+    }
+
+    /**
+     * Terminates the helper processes of all sessions which are currently not in use.
+     */
+    public static void closeIdle() {
+        evict(0);
+    }
+
+    /**
+     * Resolves the given revision to the object id it names, like {@code git rev-parse --verify} does.
+     * Append {@code ^{commit}} to the revision to peel tags.
+     *
+     * @param revision the revision, e.g. {@code HEAD}, a branch or tag name or an abbreviated object id
+     * @return the full object id, or <code>null</code> if the revision does not exist or is ambiguous
+     * @throws ScmException if the helper process fails
+     */
+    public synchronized String resolve(String revision) throws ScmException {
+        checkRevision(revision);
+        if (batchCheck == null) {
+            batchCheck = new BatchProcess("--batch-check");
+        }
+        try {
+            String[] header = batchCheck.request(revision);
+            return header != null ? header[0] : null;
+        } catch (IOException e) {
+            batchCheck = batchCheck.destroy();
+            throw new ScmException("Error while resolving revision '" + revision + "'.", e);
+        }
+    }
+
+    /**
+     * Reads the commit the given revision points to. The author and committer identities are mapped through the
+     * mailmap, like {@code %aN} and {@code %aE} do in {@code git log}.
+     *
+     * @param revision the revision, tags are peeled
+     * @return the commit, or <code>null</code> if the revision does not exist or is ambiguous
+     * @throws ScmException if the helper process fails (e.g. because git does not support {@code --use-mailmap}) or
+     *         the object cannot be parsed
+     */
+    public synchronized Commit readCommit(String revision) throws ScmException {
+        checkRevision(revision);
+        if (batch == null) {
+            batch = new BatchProcess("--batch", "--use-mailmap");
+        }
+        try {
+            String[] header = batch.request(revision + "^{commit}");
+            if (header == null) {
+                return null;
+            }
+            byte[] content = batch.readContent(Integer.parseInt(header[2]));
+            return Commit.parse(header[0], content);
+        } catch (IOException | RuntimeException e) {
+            batch = batch.destroy();
+            throw new ScmException("Error while reading commit '" + revision + "'.", e);
+        }
+    }
+
+    /**
+     * Gives back the session. The helper processes keep running for the idle timeout, unless the session is not
+     * pooled.
+     */
+    @Override
+    public void close() {
+        if (!pooled) {
+            terminate();
+            return;
+        }
+        synchronized (SESSIONS) {
+            borrowers--;
+            lastReleased = System.currentTimeMillis();
+            if (SESSIONS.get(workingDirectory) != this) {
+                // replaced in the meantime
+                terminateIfUnused();
+            }
+        }
+    }
+
+    private void terminateIfUnused() {
+        if (borrowers <= 0) {
+            terminate();
+        }
+    }
+
+    private synchronized void terminate() {
+        terminated = true;
+        if (batchCheck != null) {
+            batchCheck = batchCheck.destroy();
+        }
+        if (batch != null) {
+            batch = batch.destroy();
+        }
+    }
+
+    private void checkRevision(String revision) throws ScmException {
+        if (terminated) {
+            throw new IllegalStateException("Session for " + workingDirectory + " has already been closed");
+        }
+        if (revision == null || revision.isEmpty() || revision.indexOf('\n') >= 0 || revision.indexOf('\r') >= 0) {
+            throw new ScmException("Invalid revision '" + revision + "'.");
+        }
+    }
+
+    private static void evict(long idleTimeout) {
+        long now = System.currentTimeMillis();
+        synchronized (SESSIONS) {
+            for (Iterator<GitCatFileSession> it = SESSIONS.values().iterator(); it.hasNext(); ) {
+                GitCatFileSession session = it.next();
+                if (session.borrowers == 0 && now - session.lastReleased >= idleTimeout) {
+                    it.remove();
+                    session.terminate();
+                }
+            }
+            if (SESSIONS.isEmpty() && evictor != null) {
+                evictor.shutdown();
+                evictor = null;
+            }
+        }
+    }
+
+    private static void startEvictor(final long idleTimeout) {
+        if (evictor != null) {
+            return;
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "maven-scm-gitexe-cat-file-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> evict(idleTimeout), idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Captures the attributes of the nearest {@code .git} directory (or file) which change if it is re-created.
+     *
+     * @return the snapshot, or <code>null</code> if there is no {@code .git} above the directory
+     */
+    private static Object[] snapshotGitDir(File directory) {
+        for (File dir = directory; dir != null; dir = dir.getParentFile()) {
+            File gitDir = new File(dir, ".git");
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(
+                        gitDir.toPath(), BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                return new Object[] {gitDir, attributes.creationTime(), attributes.fileKey()};
+            } catch (IOException e) {
+                // not there, try the parent
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A running {@code git cat-file} process.
+     */
+    private final class BatchProcess {
+        private final Process process;
+
+        private final OutputStream in;
+
+        private final InputStream out;
+
+        private final CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        private BatchProcess(String... options) throws ScmException {
+            Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "cat-file");
+            cl.addArguments(options);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Starting: " + cl);
+            }
+            try {
+                process = cl.execute();
+            } catch (CommandLineException e) {
+                throw new ScmException("Error while executing command.", e);
+            }
+            in = new BufferedOutputStream(process.getOutputStream());
+            out = new BufferedInputStream(process.getInputStream());
+            StreamPumper errorPumper = new StreamPumper(process.getErrorStream(), stderr);
+            errorPumper.setDaemon(true);
+            errorPumper.start();
+        }
+
+        /**
+         * Sends a request and reads the response header.
+         *
+         * @return object id, type and size, or <code>null</code> if the object is missing or ambiguous
+         */
+        private String[] request(String revision) throws IOException {
+            in.write(revision.getBytes(StandardCharsets.UTF_8));
+            in.write('\n');
+            in.flush();
+
+            String header = readLine();
+            if (header.endsWith(" missing") || header.endsWith(" ambiguous")) {
+                return null;
+            }
+            String[] parts = header.split(" ");
+            if (parts.length != 3) {
+                throw new IOException("Unexpected response from git cat-file: " + header);
+            }
+            return parts;
+        }
+
+        private byte[] readContent(int size) throws IOException {
+            byte[] content = new byte[size];
+            int offset = 0;
+            while (offset < size) {
+                int read = out.read(content, offset, size - offset);
+                if (read < 0) {
+                    throw eof();
+                }
+                offset += read;
+            }
+            // the content is followed by a line feed
+            if (out.read() < 0) {
+                throw eof();
+            }
+            return content;
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+            int b;
+            while ((b = out.read()) != '\n') {
+                if (b < 0) {
+                    throw eof();
+                }
+                line.write(b);
+            }
+            return new String(line.toByteArray(), StandardCharsets.UTF_8);
+        }
+
+        private IOException eof() {
+            return new EOFException("git cat-file terminated unexpectedly: " + stderr.getOutput());
+        }
+
+        private BatchProcess destroy() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                // the process is gone already
+            }
+            process.destroy();
+            return null;
+        }
+    }
+
+    /**
+     * The parsed headers and message of a commit object.
+     */
+    public static final class Commit {
+        private final String id;
+
+        private final List<String> parents;
+
+        private final String authorName;
+
+        private final String authorEmail;
+
+        private final OffsetDateTime authorDate;
+
+        private final String committerName;
+
+        private final String committerEmail;
+
+        private final OffsetDateTime committerDate;
+
+        private final String message;
+
+        private Commit(String id, List<String> parents, String[] author, String[] committer, String message) {
+            this.id = id;
+            this.parents = Collections.unmodifiableList(parents);
+            this.authorName = author[0];
+            this.authorEmail = author[1];
+            this.authorDate = parseDate(author[2]);
+            this.committerName = committer[0];
+            this.committerEmail = committer[1];
+            this.committerDate = parseDate(committer[2]);
+            this.message = message;
+        }
+
+        static Commit parse(String id, byte[] content) {
+            List<String> parents = new ArrayList<>(1);
+            String[] author = null;
+            String[] committer = null;
+            Charset encoding = StandardCharsets.UTF_8;
+
+            int pos = 0;
+            while (pos < content.length && content[pos] != '\n') {
+                int end = indexOf(content, pos, '\n');
+                String header = new String(content, pos, end - pos, StandardCharsets.UTF_8);
+                if (header.startsWith("parent ")) {
+                    parents.add(header.substring(7));
+                } else if (header.startsWith("author ")) {
+                    author = parseIdent(header.substring(7));
+                } else if (header.startsWith("committer ")) {
+                    committer = parseIdent(header.substring(10));
+                } else if (header.startsWith("encoding ")) {
+                    try {
+                        encoding = Charset.forName(header.substring(9));
+                    } catch (IllegalArgumentException e) {
+                        // keep UTF-8, like git log does for unknown encodings
+                    }
+                }
+                // continuation lines of multi-line headers (e.g. gpgsig) start with a space and are skipped
+                pos = end + 1;
+            }
+            if (author == null || committer == null) {
+                throw new IllegalArgumentException("Commit " + id + " has no author or committer");
+            }
+            int messageStart = Math.min(pos + 1, content.length);
+            String message = new String(content, messageStart, content.length - messageStart, encoding);
+            return new Commit(id, parents, author, committer, message);
+        }
+
+        /**
+         * Splits {@code Name <email> epochSeconds timezone} into name, email and the remainder.
+         */
+        private static String[] parseIdent(String ident) {
+            int emailStart = ident.lastIndexOf('<');
+            int emailEnd = ident.lastIndexOf('>');
+            if (emailStart < 0 || emailEnd < emailStart) {
+                throw new IllegalArgumentException("Invalid identity: " + ident);
+            }
+            return new String[] {
+                ident.substring(0, emailStart).trim(),
+                ident.substring(emailStart + 1, emailEnd),
+                ident.substring(emailEnd + 1).trim()
+            };
+        }
+
+        private static OffsetDateTime parseDate(String date) {
+            int space = date.indexOf(' ');
+            long epochSeconds = Long.parseLong(space < 0 ? date : date.substring(0, space));
+            ZoneOffset offset = space < 0 ? ZoneOffset.UTC : ZoneOffset.of(date.substring(space + 1));
+            return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSeconds), offset);
+        }
+
+        private static int indexOf(byte[] content, int from, char c) {
+            for (int i = from; i < content.length; i++) {
+                if (content[i] == c) {
+                    return i;
+                }
+            }
+            return content.length;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public List<String> getParents() {
+            return parents;
+        }
+
+        public String getAuthorName() {
+            return authorName;
+        }
+
+        public String getAuthorEmail() {
+            return authorEmail;
+        }
+
+        public OffsetDateTime getAuthorDate() {
+            return authorDate;
+        }
+
+        public String getCommitterName() {
+            return committerName;
+        }
+
+        public String getCommitterEmail() {
+            return committerEmail;
+        }
+
+        public OffsetDateTime getCommitterDate() {
+            return committerDate;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
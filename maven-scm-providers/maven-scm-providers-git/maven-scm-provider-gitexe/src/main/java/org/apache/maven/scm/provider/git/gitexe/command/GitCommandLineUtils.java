@@ -18,8 +18,10 @@
  */
 package org.apache.maven.scm.provider.git.gitexe.command;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +36,7 @@
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 import org.codehaus.plexus.util.cli.StreamConsumer;
+import org.codehaus.plexus.util.cli.StreamPumper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,20 +62,8 @@ public static void addTarget(Commandline commandLine, List<File> files) {
         try {
             final String canonicalWorkingDirectory = workingDirectory.getCanonicalPath();
             for (File file : files) {
-                String relativeFile = file.getPath();
-
-                final String canonicalFile = file.getCanonicalPath();
-                if (canonicalFile.startsWith(canonicalWorkingDirectory)) {
-                    // so we can omit the starting characters
-                    relativeFile = canonicalFile.substring(canonicalWorkingDirectory.length());
-
-                    if (relativeFile.startsWith(File.separator)) {
-                        relativeFile = relativeFile.substring(File.separator.length());
-                    }
-                }
-
                 // no setFile() since this screws up the working directory!
-                commandLine.createArg().setValue(FilenameUtils.separatorsToUnix(relativeFile));
+                commandLine.createArg().setValue(getRelativePath(canonicalWorkingDirectory, file));
             }
         } catch (IOException ex) {
             throw new IllegalArgumentException(
@@ -81,6 +72,31 @@ public static void addTarget(Commandline commandLine, List<File> files) {
         }
     }
 
+    /**
+     * Returns the path of the given file as passed to git by {@link #addTarget(Commandline, List)}: relative to the
+     * working directory if the file is located below it, otherwise unchanged, and always with unix separators.
+     *
+     * @param canonicalWorkingDirectory the canonical path of the working directory
+     * @param file the file
+     * @return the path to pass to git
+     * @throws IOException if the canonical path of the file cannot be determined
+     * @since 2.2.2
+     */
+    public static String getRelativePath(String canonicalWorkingDirectory, File file) throws IOException {
+        String relativeFile = file.getPath();
+
+        final String canonicalFile = file.getCanonicalPath();
+        if (canonicalFile.startsWith(canonicalWorkingDirectory)) {
+            // so we can omit the starting characters
+            relativeFile = canonicalFile.substring(canonicalWorkingDirectory.length());
+
+            if (relativeFile.startsWith(File.separator)) {
+                relativeFile = relativeFile.substring(File.separator.length());
+            }
+        }
+        return FilenameUtils.separatorsToUnix(relativeFile);
+    }
+
     /**
      * Use this only for commands not requiring environment variables (i.e. local commands).
      */
@@ -177,6 +193,67 @@ public static int execute(
         return exitCode;
     }
 
+    /**
+     * Executes the command line and passes its raw standard output to the given consumer. Use this for output which
+     * is not line based, e.g. the NUL separated output of commands invoked with {@code -z}.
+     *
+     * @param commandline the command line
+     * @param consumer the consumer of the standard output
+     * @param stderr the consumer of the error output
+     * @return the exit code
+     * @throws ScmException if the command cannot be executed or its output cannot be read
+     * @since 2.2.2
+     */
+    public static int executeRaw(
+            Commandline commandline, RawStreamConsumer consumer, CommandLineUtils.StringStreamConsumer stderr)
+            throws ScmException {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Executing: " + commandline);
+            LOGGER.debug(
+                    "Working directory: " + commandline.getWorkingDirectory().getAbsolutePath());
+        }
+
+        Process process;
+        try {
+            process = commandline.execute();
+        } catch (CommandLineException ex) {
+            throw new ScmException("Error while executing command.", ex);
+        }
+
+        try {
+            StreamPumper errorPumper = new StreamPumper(process.getErrorStream(), stderr);
+            errorPumper.start();
+            process.getOutputStream().close();
+            try (InputStream in = new BufferedInputStream(process.getInputStream())) {
+                consumer.consume(in);
+            }
+            int exitCode = process.waitFor();
+            errorPumper.join();
+            return exitCode;
+        } catch (IOException ex) {
+            throw new ScmException("Error while executing command.", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ScmException("Interrupted while executing command.", ex);
+        } finally {
+            process.destroy();
+        }
+    }
+
+    /**
+     * Consumer of the raw standard output of a git command.
+     *
+     * @since 2.2.2
+     */
+    @FunctionalInterface
+    public interface RawStreamConsumer {
+        /**
+         * @param in the standard output, to be read until its end
+         * @throws IOException if reading fails
+         */
+        void consume(InputStream in) throws IOException;
+    }
+
     static Map<String, String> prepareEnvVariablesForRepository(
             GitScmProviderRepository repository, Map<String, String> environmentVariables) {
         Map<String, String> effectiveEnvironmentVariables = new HashMap<>();
@@ -71,11 +71,9 @@ protected ScmResult executeAddCommand(
         // git-add doesn't show single files, but only summary :/
         // so we must run git-status and consume the output
         // borrow a few things from the git-status command
-        Commandline clStatus = GitStatusCommand.createCommandLine(repository, fileSet);
-
         GitStatusConsumer statusConsumer = new GitStatusConsumer(fileSet.getBasedir(), relativeRepositoryPath);
         stderr = new CommandLineUtils.StringStreamConsumer();
-        exitCode = GitCommandLineUtils.execute(clStatus, statusConsumer, stderr);
+        exitCode = GitStatusCommand.execute(repository, fileSet, statusConsumer, stderr);
         if (exitCode != 0) {
             // git-status returns non-zero if nothing to do
             if (logger.isInfoEnabled()) {
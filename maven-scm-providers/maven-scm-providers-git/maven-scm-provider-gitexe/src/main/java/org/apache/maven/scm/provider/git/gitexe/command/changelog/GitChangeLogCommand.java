@@ -52,6 +52,8 @@ public class GitChangeLogCommand extends AbstractChangeLogCommand implements Git
     @Override
     public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters)
             throws ScmException {
+        setChangeSetConsumer(parameters.getChangeSetConsumer(CommandParameter.CHANGE_SET_CONSUMER));
+
         return executeChangeLogCommand(
                 repository,
                 fileSet,
@@ -169,6 +171,8 @@ protected ChangeLogScmResult executeChangeLogCommand(
             Integer limit,
             ScmVersion version)
             throws ScmException {
+        // the record format does not depend on the date format, a custom one requires the medium format
+        boolean records = datePattern == null;
         Commandline cl = createCommandLine(
                 (GitScmProviderRepository) repo,
                 fileSet.getBasedir(),
@@ -178,15 +182,21 @@ protected ChangeLogScmResult executeChangeLogCommand(
                 startVersion,
                 endVersion,
                 limit,
-                version);
+                version,
+                records);
 
         GitChangeLogConsumer consumer = new GitChangeLogConsumer(datePattern);
+        consumer.setChangeSetConsumer(getChangeSetConsumer());
 
         CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
 
         int exitCode;
 
-        exitCode = GitCommandLineUtils.execute(cl, consumer, stderr);
+        if (records) {
+            exitCode = GitCommandLineUtils.executeRaw(cl, consumer::consumeRecords, stderr);
+        } else {
+            exitCode = GitCommandLineUtils.execute(cl, consumer, stderr);
+        }
         if (exitCode != 0) {
             return new ChangeLogScmResult(cl.toString(), "The git-log command failed.", stderr.getOutput(), false);
         }
@@ -251,13 +261,47 @@ static Commandline createCommandLine(
             ScmVersion endVersion,
             Integer limit,
             ScmVersion version) {
+        return createCommandLine(
+                repository,
+                workingDirectory,
+                branch,
+                startDate,
+                endDate,
+                startVersion,
+                endVersion,
+                limit,
+                version,
+                false);
+    }
+
+    /**
+     * @param records {@code true} for the output expected by {@link GitChangeLogConsumer#consumeRecords}, otherwise
+     *            the medium format parsed line by line
+     */
+    static Commandline createCommandLine(
+            GitScmProviderRepository repository,
+            File workingDirectory,
+            ScmBranch branch,
+            Date startDate,
+            Date endDate,
+            ScmVersion startVersion,
+            ScmVersion endVersion,
+            Integer limit,
+            ScmVersion version,
+            boolean records) {
         SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
         dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
 
         Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "log");
-        cl.createArg().setValue("--format=medium");
-        cl.createArg().setValue("--decorate=short");
-        cl.createArg().setValue("--raw");
+        if (records) {
+            cl.createArg().setValue(GitChangeLogConsumer.RECORD_FORMAT);
+            cl.createArg().setValue("--raw");
+            cl.createArg().setValue("-z");
+        } else {
+            cl.createArg().setValue("--format=medium");
+            cl.createArg().setValue("--decorate=short");
+            cl.createArg().setValue("--raw");
+        }
         cl.createArg().setValue("--no-merges");
 
         if (startDate != null || endDate != null) {
@@ -270,9 +314,11 @@ static Commandline createCommandLine(
             }
         }
 
-        // since this parameter is also used for the output formatting, we need it also if no start nor end date is
-        // given
-        cl.createArg().setValue("--date=iso");
+        if (!records) {
+            // since this parameter is also used for the output formatting, we need it also if no start nor end date
+            // is given
+            cl.createArg().setValue("--date=iso");
+        }
 
         if (startVersion != null || endVersion != null) {
             StringBuilder versionRange = new StringBuilder();
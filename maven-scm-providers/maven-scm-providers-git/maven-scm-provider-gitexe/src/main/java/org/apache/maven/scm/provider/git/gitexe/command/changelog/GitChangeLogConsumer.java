@@ -18,6 +18,11 @@
  */
 package org.apache.maven.scm.provider.git.gitexe.command.changelog;
 
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
@@ -30,6 +35,7 @@
 import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
 import org.apache.maven.scm.util.AbstractConsumer;
 
 /**
@@ -37,12 +43,6 @@
  * @author Olivier Lamy
  */
 public class GitChangeLogConsumer extends AbstractConsumer {
-    /**
-     * Date formatter for git timestamp
-     * we use iso format cli git log --date=iso sample : 2008-08-06 01:37:18 +0200.
-     */
-    private static final String GIT_TIMESTAMP_PATTERN = "yyyy-MM-dd HH:mm:ss Z";
-
     /**
      * State machine constant: expecting header.
      */
@@ -129,6 +129,19 @@ public class GitChangeLogConsumer extends AbstractConsumer {
     private static final Pattern FILE_PATTERN =
             Pattern.compile("^:\\d* \\d* [A-Fa-f0-9]*\\.* [A-Fa-f0-9]*\\.* ([A-Z])[0-9]*\\t([^\\t]*)(\\t(.*))?");
 
+    /**
+     * The format for {@link #consumeRecords(InputStream)}: each commit starts with a record separator, followed by
+     * the NUL terminated revision, parent revisions, ref names, author, author timestamp in seconds since the epoch and
+     * message. It is meant to be used with {@code --raw -z}. The author is printed as recorded in the commit, like the
+     * {@code medium} format does unless the mailmap is enabled.
+     */
+    public static final String RECORD_FORMAT = "--format=%x1e%H%x00%P%x00%D%x00%an <%ae>%x00%at%x00%B%x00";
+
+    /**
+     * Starts a commit in the output of {@link #RECORD_FORMAT}.
+     */
+    private static final int RECORD_SEPARATOR = 0x1e;
+
     /**
      * Current status of the parser.
      */
@@ -156,6 +169,11 @@ public class GitChangeLogConsumer extends AbstractConsumer {
 
     private final String userDateFormat;
 
+    /**
+     * Receives the parsed entries instead of {@link #entries}, if set.
+     */
+    private ChangeSetConsumer changeSetConsumer;
+
     /**
      * Default constructor.
      */
@@ -163,6 +181,16 @@ public GitChangeLogConsumer(String userDateFormat) {
         this.userDateFormat = userDateFormat;
     }
 
+    /**
+     * Passes each parsed entry to the given consumer, instead of collecting it in {@link #getModifications()}.
+     *
+     * @param changeSetConsumer the consumer, or {@code null} to collect the entries
+     * @since 2.2.2
+     */
+    public void setChangeSetConsumer(ChangeSetConsumer changeSetConsumer) {
+        this.changeSetConsumer = changeSetConsumer;
+    }
+
     public List<ChangeSet> getModifications() {
         // this is needed since the processFile does not always get a the end-sequence correctly.
         processGetFile("");
@@ -211,6 +239,132 @@ public void consumeLine(String line) {
         }
     }
 
+    /**
+     * Consumes the output of {@code git log} with {@link #RECORD_FORMAT}, {@code --raw} and {@code -z}. As all fields
+     * are NUL terminated and timestamps are printed as numbers, neither regular expressions nor date formats are
+     * involved. This does not depend on the user date format.
+     *
+     * @param in the standard output of git log
+     * @throws IOException if reading fails
+     * @since 2.2.2
+     */
+    public void consumeRecords(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        int b = in.read();
+        while (b != -1 && b != RECORD_SEPARATOR) {
+            b = in.read();
+        }
+        while (b == RECORD_SEPARATOR) {
+            ChangeSet changeSet = readRecord(in, buffer);
+            // the raw output follows after a NUL and a line feed, each file starting with a colon
+            while ((b = in.read()) != -1 && b != RECORD_SEPARATOR) {
+                if (b == ':') {
+                    readFile(in, buffer, changeSet);
+                }
+            }
+            addChangeSet(changeSet);
+        }
+    }
+
+    private static ChangeSet readRecord(InputStream in, ByteArrayOutputStream buffer) throws IOException {
+        ChangeSet changeSet = new ChangeSet();
+        changeSet.setRevision(readField(in, buffer));
+
+        String parents = readField(in, buffer);
+        int start = 0;
+        while (start < parents.length()) {
+            int end = parents.indexOf(' ', start);
+            if (end < 0) {
+                end = parents.length();
+            }
+            String parent = parents.substring(start, end);
+            if (changeSet.getParentRevision() == null) {
+                changeSet.setParentRevision(parent);
+            } else {
+                changeSet.addMergedRevision(parent);
+            }
+            start = end + 1;
+        }
+
+        String refs = readField(in, buffer);
+        start = 0;
+        while (start < refs.length()) {
+            int end = refs.indexOf(", ", start);
+            if (end < 0) {
+                end = refs.length();
+            }
+            if (refs.startsWith("tag: ", start)) {
+                changeSet.addTag(refs.substring(start + 5, end));
+            }
+            start = end + 2;
+        }
+
+        changeSet.setAuthor(readField(in, buffer));
+        changeSet.setDate(new Date(Long.parseLong(readField(in, buffer)) * 1000L));
+
+        String message = readField(in, buffer);
+        int end = message.length();
+        while (end > 0 && message.charAt(end - 1) == '\n') {
+            end--;
+        }
+        changeSet.setComment(message.substring(0, end));
+        return changeSet;
+    }
+
+    /**
+     * Reads a raw file entry, the leading colon has already been consumed.
+     */
+    private static void readFile(InputStream in, ByteArrayOutputStream buffer, ChangeSet changeSet)
+            throws IOException {
+        // <src mode> <dst mode> <src sha1> <dst sha1> <status>[<score>]
+        String meta = readField(in, buffer);
+        char actionChar = meta.charAt(meta.lastIndexOf(' ') + 1);
+        ScmFileStatus action = getAction(actionChar);
+        String name = readField(in, buffer);
+        String originalName = null;
+        String originalRevision = null;
+        if (actionChar == 'R' || actionChar == 'C') {
+            originalName = name;
+            name = readField(in, buffer);
+            originalRevision = changeSet.getParentRevision();
+        }
+
+        ChangeFile changeFile = new ChangeFile(name, changeSet.getRevision());
+        changeFile.setAction(action);
+        changeFile.setOriginalName(originalName);
+        changeFile.setOriginalRevision(originalRevision);
+        changeSet.addFile(changeFile);
+    }
+
+    private static String readField(InputStream in, ByteArrayOutputStream buffer) throws IOException {
+        buffer.reset();
+        int b;
+        while ((b = in.read()) != 0) {
+            if (b == -1) {
+                throw new EOFException("Unexpected end of git log output");
+            }
+            buffer.write(b);
+        }
+        return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static ScmFileStatus getAction(char actionChar) {
+        switch (actionChar) {
+            case 'A':
+                return ScmFileStatus.ADDED;
+            case 'M':
+                return ScmFileStatus.MODIFIED;
+            case 'D':
+                return ScmFileStatus.DELETED;
+            case 'R':
+                return ScmFileStatus.RENAMED;
+            case 'C':
+                return ScmFileStatus.COPIED;
+            default:
+                return ScmFileStatus.UNKNOWN;
+        }
+    }
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
@@ -417,7 +571,7 @@ private void processGetComment(String line) {
     private void processGetFile(String line) {
         if (line.length() == 0) {
             if (currentChange != null) {
-                entries.add(currentChange);
+                addChangeSet(currentChange);
             }
 
             resetChangeLog();
@@ -428,30 +582,16 @@ private void processGetFile(String line) {
             if (!matcher.matches()) {
                 return;
             }
-            final String actionChar = matcher.group(1);
+            final char actionChar = matcher.group(1).charAt(0);
             // action is currently not used
-            final ScmFileStatus action;
+            final ScmFileStatus action = getAction(actionChar);
             String name = matcher.group(2);
             String originalName = null;
             String originalRevision = null;
-            if ("A".equals(actionChar)) {
-                action = ScmFileStatus.ADDED;
-            } else if ("M".equals(actionChar)) {
-                action = ScmFileStatus.MODIFIED;
-            } else if ("D".equals(actionChar)) {
-                action = ScmFileStatus.DELETED;
-            } else if ("R".equals(actionChar)) {
-                action = ScmFileStatus.RENAMED;
+            if (actionChar == 'R' || actionChar == 'C') {
                 originalName = name;
                 name = matcher.group(4);
                 originalRevision = currentChange.getParentRevision();
-            } else if ("C".equals(actionChar)) {
-                action = ScmFileStatus.COPIED;
-                originalName = name;
-                name = matcher.group(4);
-                originalRevision = currentChange.getParentRevision();
-            } else {
-                action = ScmFileStatus.UNKNOWN;
             }
 
             final ChangeFile changeFile = new ChangeFile(name, currentRevision);
@@ -462,6 +602,14 @@ private void processGetFile(String line) {
         }
     }
 
+    private void addChangeSet(ChangeSet changeSet) {
+        if (changeSetConsumer != null) {
+            changeSetConsumer.consume(changeSet);
+        } else {
+            entries.add(changeSet);
+        }
+    }
+
     private void resetChangeLog() {
         currentComment = null;
         currentChange = null;
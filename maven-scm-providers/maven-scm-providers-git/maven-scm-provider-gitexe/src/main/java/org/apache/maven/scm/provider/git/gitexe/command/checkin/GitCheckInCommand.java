@@ -127,11 +127,9 @@ protected CheckInScmResult executeCheckInCommand(
             // git-commit doesn't show single files, but only summary :/
             // so we must run git-status and consume the output
             // borrow a few things from the git-status command
-            Commandline clStatus = GitStatusCommand.createCommandLine(repository, fileSet);
-
             GitStatusConsumer statusConsumer =
                     new GitStatusConsumer(fileSet.getBasedir(), relativeRepositoryPath, fileSet);
-            exitCode = GitCommandLineUtils.execute(clStatus, statusConsumer, stderr);
+            exitCode = GitStatusCommand.execute(repository, fileSet, statusConsumer, stderr);
             if (exitCode != 0) {
                 // git-status returns non-zero if nothing to do
                 if (logger.isInfoEnabled()) {
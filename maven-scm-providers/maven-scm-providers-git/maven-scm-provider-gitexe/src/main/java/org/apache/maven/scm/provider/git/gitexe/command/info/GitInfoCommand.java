@@ -18,10 +18,24 @@
  */
 package org.apache.maven.scm.provider.git.gitexe.command.info;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.maven.scm.CommandParameter;
 import org.apache.maven.scm.CommandParameters;
@@ -33,12 +47,17 @@
 import org.apache.maven.scm.command.info.InfoScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.gitexe.command.GitCatFileSession;
 import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
+import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
+import org.codehaus.plexus.util.cli.StreamConsumer;
+import org.codehaus.plexus.util.cli.StreamPumper;
 
 /**
  * Uses {@code git log} command to retrieve info about the most recent commits related to specific files.
+ * The most recent commits of all files are determined by a single walk over the history.
  *
  * @author Olivier Lamy
  * @since 1.5
@@ -58,23 +77,264 @@ protected ScmResult executeCommand(
 
         List<InfoItem> infoItems = new LinkedList<>();
         if (fileSet.getFileList().isEmpty()) {
-            infoItems.add(executeInfoCommand(baseCli, parameters, fileSet.getBasedir()));
+            InfoItem infoItem = getHeadInfoItem(parameters, fileSet.getBasedir());
+            infoItems.add(infoItem != null ? infoItem : executeInfoCommand(baseCli, parameters, fileSet.getBasedir()));
         } else {
-            // iterate over files
-            for (File scmFile : fileSet.getFileList()) {
-                baseCli = GitCommandLineUtils.getBaseGitCommandLine(fileSet.getBasedir(), "log");
-                baseCli.createArg().setValue("-1"); // only most recent commit matters
-                baseCli.createArg().setValue("--no-merges"); // skip merge commits
-                baseCli.addArg(GitInfoConsumer.getFormatArgument());
-                // Insert a separator to make sure that files aren't interpreted as part of the version spec
-                baseCli.createArg().setValue("--");
-                GitCommandLineUtils.addTarget(baseCli, Collections.singletonList(scmFile));
-                infoItems.add(executeInfoCommand(baseCli, parameters, scmFile));
-            }
+            baseCli = createBatchCommandLine(fileSet.getBasedir());
+            infoItems.addAll(executeBatchInfoCommand(baseCli, parameters, fileSet));
         }
         return new InfoScmResult(baseCli.toString(), infoItems);
     }
 
+    /**
+     * Creates the command line for {@link #executeBatchInfoCommand(Commandline, CommandParameters, ScmFileSet)}.
+     * The paths are passed on standard input (after a {@code --} line) to not exceed the command line length limit.
+     */
+    protected static Commandline createBatchCommandLine(File workingDirectory) {
+        Commandline cli = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "log");
+        cli.createArg().setValue("--no-merges"); // skip merge commits
+        cli.addArg(GitInfoConsumer.getFormatArgument());
+        cli.createArg().setValue("--name-only");
+        cli.createArg().setValue("--relative");
+        cli.createArg().setValue("-z");
+        cli.createArg().setValue("--stdin");
+        return cli;
+    }
+
+    /**
+     * Determines the most recent commits of all given files with a single {@code git log --name-only} walk, instead of
+     * one {@code git log -1} per file. Each file is resolved by the first commit which changes it (or, for a
+     * directory, something below it) and the walk is stopped as soon as all files have been resolved.
+     * Files not located below the base directory are looked up one by one.
+     * <p>
+     * The walk simplifies the history for all files together, so a merge may be followed differently than by
+     * {@code git log -- <file>} for a single file. Therefore only the files resolved by a commit after the most recent
+     * merge are taken from the walk, and the others are looked up one by one if the history contains merges.
+     *
+     * @return the info items in the order of the files of the file set
+     */
+    protected List<InfoItem> executeBatchInfoCommand(Commandline cli, CommandParameters parameters, ScmFileSet fileSet)
+            throws ScmException {
+        int revisionLength = getRevisionLength(parameters);
+        List<File> files = fileSet.getFileList();
+        InfoItem[] infoItems = new InfoItem[files.size()];
+        // the commit header line of each batched file once resolved by the walk
+        String[] headers = new String[files.size()];
+        // indexes of the files waiting for a commit, keyed by the path relative to the base directory as printed by git
+        Map<String, List<Integer>> pending = new LinkedHashMap<>();
+        try {
+            String canonicalBasedir = fileSet.getBasedir().getCanonicalPath();
+            for (int i = 0; i < files.size(); i++) {
+                File scmFile = files.get(i);
+                String path = GitCommandLineUtils.getRelativePath(canonicalBasedir, scmFile);
+                if (!isBatchable(path)) {
+                    infoItems[i] = executeInfoCommand(
+                            createSingleFileCommandLine(fileSet.getBasedir(), scmFile), parameters, scmFile);
+                    continue;
+                }
+                pending.computeIfAbsent(path.equals(".") ? "" : path, k -> new ArrayList<>(1)).add(i);
+            }
+        } catch (IOException e) {
+            throw new ScmException("Could not get canonical paths for " + fileSet, e);
+        }
+
+        if (!pending.isEmpty()) {
+            walk(cli, pending, headers);
+            Set<String> linearHistory = getLinearHistory(fileSet.getBasedir());
+            for (int i = 0; i < files.size(); i++) {
+                if (infoItems[i] != null) {
+                    continue;
+                }
+                String header = headers[i];
+                if (linearHistory == null
+                        || header != null && linearHistory.contains(header.substring(0, header.indexOf(' ')))) {
+                    GitInfoConsumer consumer = new GitInfoConsumer(files.get(i).toPath(), revisionLength);
+                    if (header != null) {
+                        consumer.consumeLine(header);
+                    }
+                    // files never changed remain empty, like with git log printing nothing for them
+                    infoItems[i] = consumer.getInfoItem();
+                } else {
+                    infoItems[i] = executeInfoCommand(
+                            createSingleFileCommandLine(fileSet.getBasedir(), files.get(i)), parameters, files.get(i));
+                }
+            }
+        }
+        return Arrays.asList(infoItems);
+    }
+
+    /**
+     * Lists the commits after the most recent merge, i.e. those which are walked the same way for any path.
+     *
+     * @return the ids of the commits reachable from {@code HEAD} without passing a merge, or <code>null</code> if the
+     *         history does not contain any merge
+     */
+    private Set<String> getLinearHistory(File workingDirectory) throws ScmException {
+        Commandline cli = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "rev-list");
+        cli.createArg().setValue("--first-parent");
+        cli.createArg().setValue("--merges");
+        cli.createArg().setValue("-1");
+        cli.createArg().setValue("HEAD");
+        CommandLineUtils.StringStreamConsumer stdout = new CommandLineUtils.StringStreamConsumer();
+        execute(cli, stdout);
+        String merge = stdout.getOutput().trim();
+        if (merge.isEmpty()) {
+            return null;
+        }
+
+        cli = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "rev-list");
+        cli.createArg().setValue("HEAD");
+        cli.createArg().setValue("^" + merge);
+        Set<String> commits = new HashSet<>();
+        execute(cli, commits::add);
+        return commits;
+    }
+
+    private void execute(Commandline cli, StreamConsumer stdout) throws ScmException {
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        int exitCode = GitCommandLineUtils.execute(cli, stdout, stderr);
+        if (exitCode != 0) {
+            throw new ScmException(
+                    "The git rev-list command failed: " + cli.toString() + " returned " + stderr.getOutput());
+        }
+    }
+
+    private void walk(Commandline cli, Map<String, List<Integer>> pending, String[] headers) throws ScmException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Executing: " + cli);
+            logger.debug("Working directory: " + cli.getWorkingDirectory().getAbsolutePath());
+        }
+        Process process;
+        try {
+            process = cli.execute();
+        } catch (CommandLineException e) {
+            throw new ScmException("Error while executing command.", e);
+        }
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        StreamPumper errorPumper = new StreamPumper(process.getErrorStream(), stderr);
+        errorPumper.start();
+
+        boolean exhausted = false;
+        try {
+            try (Writer writer = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("--\n");
+                for (String path : pending.keySet()) {
+                    writer.write(path.isEmpty() ? "." : path);
+                    writer.write('\n');
+                }
+            }
+            try (InputStream in = new BufferedInputStream(process.getInputStream())) {
+                exhausted = !consume(in, pending, headers);
+            }
+            if (exhausted) {
+                int exitCode = process.waitFor();
+                errorPumper.join();
+                if (exitCode != 0) {
+                    throw new ScmException(
+                            "The git log command failed: " + cli.toString() + " returned " + stderr.getOutput());
+                }
+            }
+        } catch (IOException e) {
+            throw new ScmException("Error while executing command.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScmException("Interrupted while executing command.", e);
+        } finally {
+            if (!exhausted) {
+                // all files are resolved (or reading failed), the rest of the history is not needed
+                process.destroy();
+            }
+        }
+    }
+
+    /**
+     * Reads the output of the batch command line, which consists of a header line in the format of
+     * {@link GitInfoConsumer#getFormatArgument()} per commit followed by the NUL terminated paths it changed and
+     * another NUL.
+     *
+     * @return {@code true} if all pending paths have been resolved before the end of the output
+     */
+    private static boolean consume(InputStream in, Map<String, List<Integer>> pending, String[] headers)
+            throws IOException {
+        ByteArrayOutputStream token = new ByteArrayOutputStream(256);
+        String header = null;
+        int b;
+        while ((b = in.read()) != -1) {
+            if (header == null) {
+                if (b == '\n') {
+                    header = new String(token.toByteArray(), StandardCharsets.UTF_8);
+                    token.reset();
+                } else {
+                    token.write(b);
+                }
+            } else if (b == 0) {
+                if (token.size() == 0) {
+                    // end of commit
+                    header = null;
+                    continue;
+                }
+                resolve(new String(token.toByteArray(), StandardCharsets.UTF_8), header, pending, headers);
+                token.reset();
+                if (pending.isEmpty()) {
+                    return true;
+                }
+            } else {
+                token.write(b);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Assigns the commit header to all files waiting for the changed path or one of its parent directories.
+     */
+    private static void resolve(
+            String changedPath, String header, Map<String, List<Integer>> pending, String[] headers) {
+        String path = changedPath;
+        while (true) {
+            List<Integer> indexes = pending.remove(path);
+            if (indexes != null) {
+                for (int index : indexes) {
+                    headers[index] = header;
+                }
+            }
+            if (path.isEmpty()) {
+                return;
+            }
+            int slash = path.lastIndexOf('/');
+            path = slash < 0 ? "" : path.substring(0, slash);
+        }
+    }
+
+    /**
+     * Checks whether git prints the path the same way (relative to the base directory) as it has been requested.
+     */
+    private static boolean isBatchable(String path) {
+        if (path.indexOf('\n') >= 0 || new File(path).isAbsolute() || path.endsWith("/")) {
+            return false;
+        }
+        if (path.isEmpty() || path.equals(".")) {
+            return true;
+        }
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Commandline createSingleFileCommandLine(File workingDirectory, File scmFile) {
+        Commandline cli = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "log");
+        cli.createArg().setValue("-1"); // only most recent commit matters
+        cli.createArg().setValue("--no-merges"); // skip merge commits
+        cli.addArg(GitInfoConsumer.getFormatArgument());
+        // Insert a separator to make sure that files aren't interpreted as part of the version spec
+        cli.createArg().setValue("--");
+        GitCommandLineUtils.addTarget(cli, Collections.singletonList(scmFile));
+        return cli;
+    }
+
     protected InfoItem executeInfoCommand(Commandline cli, CommandParameters parameters, File scmFile)
             throws ScmException {
         GitInfoConsumer consumer = new GitInfoConsumer(scmFile.toPath(), getRevisionLength(parameters));
@@ -86,6 +346,31 @@ protected InfoItem executeInfoCommand(Commandline cli, CommandParameters paramet
         return consumer.getInfoItem();
     }
 
+    /**
+     * Reads the {@code HEAD} commit through the shared {@link GitCatFileSession} instead of forking {@code git log}.
+     *
+     * @return the info item, or <code>null</code> if {@code HEAD} is a merge commit (which {@code git log --no-merges}
+     *         would skip) or cannot be read, e.g. because git is too old to apply the mailmap in {@code git cat-file}
+     */
+    private InfoItem getHeadInfoItem(CommandParameters parameters, File basedir) throws ScmException {
+        GitCatFileSession.Commit head;
+        try (GitCatFileSession session = GitCatFileSession.open(basedir)) {
+            head = session.readCommit("HEAD");
+        } catch (ScmException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Falling back to git log: " + e.getMessage());
+            }
+            return null;
+        }
+        if (head == null || head.getParents().size() > 1) {
+            return null;
+        }
+        GitInfoConsumer consumer = new GitInfoConsumer(basedir.toPath(), getRevisionLength(parameters));
+        consumer.consumeLine(head.getId() + " " + DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(head.getAuthorDate())
+                + " " + head.getAuthorEmail() + " " + head.getAuthorName());
+        return consumer.getInfoItem();
+    }
+
     /**
      * Get the revision length from the parameters.
      *
@@ -36,6 +36,11 @@
  * @author <a href="mailto:brett@apache.org">Brett Porter</a>
  */
 public class GitStatusCommand extends AbstractStatusCommand implements GitCommand {
+    /**
+     * The exit code of git for unknown options.
+     */
+    private static final int USAGE_EXIT_CODE = 129;
+
     /**
      * {@inheritDoc}
      */
@@ -45,13 +50,13 @@ protected StatusScmResult executeStatusCommand(ScmProviderRepository repo, ScmFi
 
         URI relativeRepositoryPath = getRelativeCWD(logger, fileSet);
 
-        Commandline cl = createCommandLine((GitScmProviderRepository) repo, fileSet);
+        Commandline cl = createPorcelainV2CommandLine((GitScmProviderRepository) repo, fileSet);
 
         GitStatusConsumer consumer = new GitStatusConsumer(fileSet.getBasedir(), relativeRepositoryPath, fileSet);
 
         stderr = new CommandLineUtils.StringStreamConsumer();
 
-        exitCode = GitCommandLineUtils.execute(cl, consumer, stderr);
+        exitCode = execute((GitScmProviderRepository) repo, fileSet, consumer, stderr);
         if (exitCode != 0) {
             // git-status returns non-zero if nothing to do
             if (logger.isInfoEnabled()) {
@@ -101,6 +106,44 @@ public static Commandline createCommandLine(GitScmProviderRepository repository,
         return cl;
     }
 
+    /**
+     * Creates the command line for {@link GitStatusConsumer#consumePorcelainV2(java.io.InputStream)}.
+     *
+     * @since 2.2.2
+     */
+    public static Commandline createPorcelainV2CommandLine(GitScmProviderRepository repository, ScmFileSet fileSet) {
+        Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(fileSet.getBasedir(), "status");
+        cl.addArguments(new String[] {"--porcelain=v2", "-z", "."});
+        return cl;
+    }
+
+    /**
+     * Executes {@code git status --porcelain=v2 -z} and passes its output to the consumer. Git versions older than
+     * 2.11, which reject that format, are asked for the line based porcelain format instead.
+     *
+     * @param repository the repository
+     * @param fileSet the file set whose base directory the status is determined for
+     * @param consumer the consumer
+     * @param stderr the consumer of the error output
+     * @return the exit code
+     * @throws ScmException if git cannot be executed
+     * @since 2.2.2
+     */
+    public static int execute(
+            GitScmProviderRepository repository,
+            ScmFileSet fileSet,
+            GitStatusConsumer consumer,
+            CommandLineUtils.StringStreamConsumer stderr)
+            throws ScmException {
+        Commandline cl = createPorcelainV2CommandLine(repository, fileSet);
+        int exitCode = GitCommandLineUtils.executeRaw(cl, consumer::consumePorcelainV2, stderr);
+        if (exitCode == USAGE_EXIT_CODE) {
+            cl = createCommandLine(repository, fileSet);
+            exitCode = GitCommandLineUtils.execute(cl, consumer, stderr);
+        }
+        return exitCode;
+    }
+
     public static Commandline createRevparseShowPrefix(ScmFileSet fileSet) {
         Commandline cl = GitCommandLineUtils.getBaseGitCommandLine(fileSet.getBasedir(), "rev-parse");
         cl.addArguments(new String[] {"--show-prefix"});
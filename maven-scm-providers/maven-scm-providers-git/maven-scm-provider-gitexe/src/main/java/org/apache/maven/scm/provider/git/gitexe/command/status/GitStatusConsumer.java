@@ -18,18 +18,27 @@
  */
 package org.apache.maven.scm.provider.git.gitexe.command.status;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.apache.commons.io.FilenameUtils;
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.provider.git.repository.GitScmProviderRepository;
 import org.apache.maven.scm.util.AbstractConsumer;
 
 /**
@@ -68,6 +77,11 @@ public class GitStatusConsumer extends AbstractConsumer {
 
     private URI relativeRepositoryPath;
 
+    /**
+     * The file set paths relative to the working directory, indexed on first use.
+     */
+    private Set<String> fileSetPaths;
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
@@ -203,27 +217,183 @@ public void consumeLine(String line) {
             }
 
             for (String file : files) {
-                if (this.scmFileSet != null && !isFileNameInFileList(this.scmFileSet.getFileList(), file)) {
-                    // skip adding this file
-                } else {
-                    changedFiles.add(new ScmFile(file, status));
+                addChangedFile(file, status);
+            }
+        }
+    }
+
+    /**
+     * Consumes the output of {@code git status --porcelain=v2 -z}. Records are NUL separated and paths are printed
+     * verbatim, so unlike {@link #consumeLine(String)} neither regular expressions nor unquoting are involved.
+     * The working tree modes printed by git spare looking up most files in the file system.
+     *
+     * @param in the standard output of git status
+     * @throws IOException if reading fails
+     * @see GitStatusCommand#createPorcelainV2CommandLine(GitScmProviderRepository, ScmFileSet)
+     * @since 2.2.2
+     */
+    public void consumePorcelainV2(InputStream in) throws IOException {
+        String prefix = relativeRepositoryPath != null ? relativeRepositoryPath.getPath() : "";
+        if (!prefix.isEmpty() && !prefix.endsWith("/")) {
+            prefix += '/';
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        String record;
+        while ((record = readRecord(in, buffer)) != null) {
+            if (logger.isDebugEnabled()) {
+                logger.debug(record);
+            }
+            if (record.length() < 4) {
+                continue;
+            }
+            char type = record.charAt(0);
+            char x = record.charAt(2);
+            char y = record.charAt(3);
+            if (type == '1') {
+                // 1 <XY> <sub> <mH> <mI> <mW> <hH> <hI> <path>
+                ScmFileStatus status = getStatus(x, y);
+                if (status == null) {
+                    continue;
+                }
+                String path = relativize(record.substring(skipFields(record, 8)), prefix);
+                if (workingDirectory != null) {
+                    boolean isFile = isFile(path, getField(record, 5));
+                    if (status == ScmFileStatus.DELETED ? isFile : !isFile) {
+                        continue;
+                    }
+                }
+                addChangedFile(path, status);
+            } else if (type == '2') {
+                // 2 <XY> <sub> <mH> <mI> <mW> <hH> <hI> <X><score> <path>, followed by the original path
+                String originalPath = readRecord(in, buffer);
+                if (x != 'R' || y != '.' || originalPath == null) {
+                    continue;
                 }
+                String oldPath = relativize(originalPath, prefix);
+                String newPath = relativize(record.substring(skipFields(record, 9)), prefix);
+                if (workingDirectory != null && (isFile(oldPath) || !isFile(newPath, getField(record, 5)))) {
+                    continue;
+                }
+                addChangedFile(oldPath, ScmFileStatus.RENAMED);
+                addChangedFile(newPath, ScmFileStatus.RENAMED);
+            }
+            // unmerged (u), untracked (?) and ignored (!) entries are not reported, just like with consumeLine
+        }
+    }
+
+    /**
+     * Maps the index and working tree status of porcelain v2 to the same status {@link #consumeLine(String)} derives
+     * from the porcelain v1 status.
+     */
+    private static ScmFileStatus getStatus(char x, char y) {
+        if (x == 'A' && (y == '.' || y == 'M')) {
+            return ScmFileStatus.ADDED;
+        }
+        if ((x == '.' && y == 'M') || (x == 'M' && (y == '.' || y == 'M'))) {
+            return ScmFileStatus.MODIFIED;
+        }
+        if ((x == '.' && y == 'D') || (x == 'D' && y == '.')) {
+            return ScmFileStatus.DELETED;
+        }
+        return null;
+    }
+
+    private static String readRecord(InputStream in, ByteArrayOutputStream buffer) throws IOException {
+        buffer.reset();
+        int b;
+        while ((b = in.read()) != 0) {
+            if (b == -1) {
+                return buffer.size() > 0 ? new String(buffer.toByteArray(), StandardCharsets.UTF_8) : null;
+            }
+            buffer.write(b);
+        }
+        return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the index of the first character after the given number of space separated fields
+     */
+    private static int skipFields(String record, int count) {
+        int index = 0;
+        for (int i = 0; i < count; i++) {
+            index = record.indexOf(' ', index) + 1;
+            if (index == 0) {
+                throw new IllegalArgumentException("Unexpected git status record: " + record);
             }
         }
+        return index;
+    }
+
+    private static String getField(String record, int index) {
+        int start = skipFields(record, index);
+        int end = record.indexOf(' ', start);
+        return end < 0 ? record.substring(start) : record.substring(start, end);
+    }
+
+    /**
+     * Makes a path relative to the repository root relative to the working directory.
+     */
+    private static String relativize(String path, String prefix) {
+        return path.startsWith(prefix) ? path.substring(prefix.length()) : path;
     }
 
-    private boolean isFileNameInFileList(List<File> fileList, String fileName) {
-        if (relativeRepositoryPath == null) {
-            return fileList.contains(new File(fileName));
+    private void addChangedFile(String file, ScmFileStatus status) {
+        if (this.scmFileSet != null && !isFileNameInFileList(file)) {
+            // skip adding this file
         } else {
-            for (File f : fileList) {
-                File file = new File(relativeRepositoryPath.getPath(), fileName);
-                if (file.getPath().endsWith(f.getName())) {
-                    return true;
+            changedFiles.add(new ScmFile(file, status));
+        }
+    }
+
+    /**
+     * Checks whether the file (relative to the working directory) or one of its parent directories is part of the
+     * file set.
+     */
+    private boolean isFileNameInFileList(String fileName) {
+        if (fileSetPaths == null) {
+            fileSetPaths = indexFileSet();
+        }
+        if (scmFileSet.getFileList().isEmpty()) {
+            return relativeRepositoryPath != null;
+        }
+        String path = fileName;
+        while (true) {
+            if (fileSetPaths.contains(path)) {
+                return true;
+            }
+            int slash = path.lastIndexOf('/');
+            if (slash < 0) {
+                return false;
+            }
+            path = path.substring(0, slash);
+        }
+    }
+
+    /**
+     * @return the paths of the files of the file set relative to the working directory, with unix separators
+     */
+    private Set<String> indexFileSet() {
+        List<File> fileList = scmFileSet.getFileList();
+        Set<String> paths = new HashSet<>(fileList.size() * 2);
+        Path base = workingDirectory != null ? workingDirectory.toPath().toAbsolutePath().normalize() : null;
+        Path fileSetBase = scmFileSet.getBasedir() != null ? scmFileSet.getBasedir().toPath() : null;
+        for (File file : fileList) {
+            Path path = file.toPath();
+            if (base != null) {
+                if (!path.isAbsolute() && fileSetBase != null) {
+                    path = fileSetBase.resolve(path);
+                }
+                path = path.toAbsolutePath().normalize();
+                if (path.startsWith(base)) {
+                    path = base.relativize(path);
                 }
+            } else {
+                path = path.normalize();
             }
-            return fileList.isEmpty();
+            paths.add(FilenameUtils.separatorsToUnix(path.toString()));
         }
+        return paths;
     }
 
     private boolean isFile(String file) {
@@ -231,6 +401,23 @@ private boolean isFile(String file) {
         return targetFile.isFile();
     }
 
+    /**
+     * Checks whether the path is a file, asking the file system only if the working tree mode does not tell.
+     */
+    private boolean isFile(String file, String worktreeMode) {
+        switch (worktreeMode) {
+            case "100644":
+            case "100755":
+                return true;
+            case "040000":
+            case "160000":
+                return false;
+            default:
+                // deleted (000000), which doesn't exclude an untracked file in its place, or a symbolic link
+                return Files.isRegularFile(workingDirectory.toPath().resolve(file));
+        }
+    }
+
     public static String resolvePath(String fileEntry, URI path) {
         /* Quotes may be included (from the git status line) when an fileEntry includes spaces */
         String cleanedEntry = stripQuotes(fileEntry);
@@ -30,6 +30,7 @@
 import org.apache.maven.scm.command.update.UpdateScmResultWithRevision;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.gitexe.command.GitCatFileSession;
 import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
 import org.apache.maven.scm.provider.git.gitexe.command.changelog.GitChangeLogCommand;
 import org.apache.maven.scm.provider.git.gitexe.command.diff.GitDiffCommand;
@@ -68,12 +69,16 @@ protected UpdateScmResult executeUpdateCommand(
 
         // fir we need to get the current reversion
         Commandline clRev = createLatestRevisionCommandLine(repository, fileSet.getBasedir(), scmVersion);
-        GitLatestRevisionCommandConsumer consumerRev = new GitLatestRevisionCommandConsumer();
-        exitCode = GitCommandLineUtils.execute(clRev, consumerRev, stderr);
-        if (exitCode != 0) {
-            return new UpdateScmResult(clRev.toString(), "The git-log command failed.", stderr.getOutput(), false);
+        String origSha1 = resolveLatestRevision(fileSet.getBasedir(), scmVersion);
+        if (origSha1 == null) {
+            // let git log report why
+            GitLatestRevisionCommandConsumer consumerRev = new GitLatestRevisionCommandConsumer();
+            exitCode = GitCommandLineUtils.execute(clRev, consumerRev, stderr);
+            if (exitCode != 0) {
+                return new UpdateScmResult(clRev.toString(), "The git-log command failed.", stderr.getOutput(), false);
+            }
+            origSha1 = consumerRev.getLatestRevision();
         }
-        String origSha1 = consumerRev.getLatestRevision();
 
         Commandline cl = createCommandLine(repository, fileSet.getBasedir(), scmVersion);
         exitCode = GitCommandLineUtils.execute(cl, stdout, stderr);
@@ -91,12 +96,15 @@ protected UpdateScmResult executeUpdateCommand(
         }
 
         // now let's get the latest version
-        consumerRev = new GitLatestRevisionCommandConsumer();
-        exitCode = GitCommandLineUtils.execute(clRev, consumerRev, stderr);
-        if (exitCode != 0) {
-            return new UpdateScmResult(clRev.toString(), "The git-log command failed.", stderr.getOutput(), false);
+        String latestRevision = resolveLatestRevision(fileSet.getBasedir(), scmVersion);
+        if (latestRevision == null) {
+            GitLatestRevisionCommandConsumer consumerRev = new GitLatestRevisionCommandConsumer();
+            exitCode = GitCommandLineUtils.execute(clRev, consumerRev, stderr);
+            if (exitCode != 0) {
+                return new UpdateScmResult(clRev.toString(), "The git-log command failed.", stderr.getOutput(), false);
+            }
+            latestRevision = consumerRev.getLatestRevision();
         }
-        String latestRevision = consumerRev.getLatestRevision();
 
         return new UpdateScmResultWithRevision(cl.toString(), diffRawConsumer.getChangedFiles(), latestRevision);
     }
@@ -125,6 +133,25 @@ public static Commandline createCommandLine(
         return cl;
     }
 
+    /**
+     * Resolves the latest commit on the given branch like {@link #createLatestRevisionCommandLine} does, but through
+     * the shared {@link GitCatFileSession} instead of a new {@code git log} process.
+     *
+     * @param scmVersion a valid branch or <code>null</code> if the current branch should be taken
+     * @return the commit id, or <code>null</code> if the branch cannot be resolved
+     */
+    private static String resolveLatestRevision(File workingDirectory, ScmVersion scmVersion) throws ScmException {
+        String revision = "HEAD";
+        if (scmVersion instanceof ScmBranch
+                && scmVersion.getName() != null
+                && scmVersion.getName().length() > 0) {
+            revision = scmVersion.getName();
+        }
+        try (GitCatFileSession session = GitCatFileSession.open(workingDirectory)) {
+            return session.resolve(revision + "^{commit}");
+        }
+    }
+
     /**
      * @param scmVersion a valid branch or <code>null</code> if the master branch should be taken
      * @return CommandLine for getting the latest commit on the given branch
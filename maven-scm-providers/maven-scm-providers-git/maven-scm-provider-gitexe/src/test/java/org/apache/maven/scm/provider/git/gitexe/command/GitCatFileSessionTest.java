@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.gitexe.command;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GitCatFileSessionTest {
+
+    @Test
+    void testParseCommit() {
+        String content = "tree 4b825dc642cb6eb9a060e54bf8d69288fbee4904\n"
+                + "parent 1111111111111111111111111111111111111111\n"
+                + "parent 2222222222222222222222222222222222222222\n"
+                + "author Jane Doe <jane@example.com> 1700000000 +0200\n"
+                + "committer John Doe <john@example.com> 1700000060 -0130\n"
+                + "gpgsig -----BEGIN PGP SIGNATURE-----\n"
+                + " \n"
+                + " -----END PGP SIGNATURE-----\n"
+                + "\n"
+                + "Subject\n\nBody\n";
+
+        GitCatFileSession.Commit commit =
+                GitCatFileSession.Commit.parse("abc", content.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("abc", commit.getId());
+        assertEquals(
+                Arrays.asList(
+                        "1111111111111111111111111111111111111111", "2222222222222222222222222222222222222222"),
+                commit.getParents());
+        assertEquals("Jane Doe", commit.getAuthorName());
+        assertEquals("jane@example.com", commit.getAuthorEmail());
+        assertEquals(OffsetDateTime.of(2023, 11, 15, 0, 13, 20, 0, ZoneOffset.ofHours(2)), commit.getAuthorDate());
+        assertEquals("John Doe", commit.getCommitterName());
+        assertEquals(
+                OffsetDateTime.of(2023, 11, 14, 20, 44, 20, 0, ZoneOffset.ofHoursMinutes(-1, -30)),
+                commit.getCommitterDate());
+        assertEquals("Subject\n\nBody\n", commit.getMessage());
+    }
+}
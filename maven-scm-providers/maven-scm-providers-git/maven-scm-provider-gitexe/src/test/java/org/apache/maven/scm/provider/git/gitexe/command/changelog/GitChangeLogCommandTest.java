@@ -66,6 +66,28 @@ void testCommandLineNoDatesLimitedCount() throws Exception {
                 "git log --format=medium --decorate=short --raw --no-merges --date=iso -- .");
     }
 
+    @Test
+    void testRecordCommandLine() throws Exception {
+        ScmRepository repository = getScmManager().makeScmRepository("scm:git:http://foo.com/git");
+
+        Commandline cl = GitChangeLogCommand.createCommandLine(
+                (GitScmProviderRepository) repository.getProviderRepository(),
+                workingDirectory,
+                null,
+                null,
+                null,
+                null,
+                null,
+                40,
+                null,
+                true);
+
+        assertCommandLine(
+                "git log \"" + GitChangeLogConsumer.RECORD_FORMAT + "\" --raw -z --no-merges --max-count=40 -- .",
+                workingDirectory,
+                cl);
+    }
+
     @Test
     void testCommandLineWithDates() throws Exception {
         Date startDate = getDate(2003, Calendar.SEPTEMBER, 10, GMT_TIME_ZONE);
@@ -18,9 +18,14 @@
  */
 package org.apache.maven.scm.provider.git.gitexe.command.changelog;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -234,4 +239,71 @@ void testTagAndBranchConsumer() {
         ChangeFile changeFile = files.get(0);
         assertEquals("documentation/pom.xml", changeFile.getName());
     }
+
+    @Test
+    void testChangeSetConsumer() throws Exception {
+        List<ChangeSet> streamed = new ArrayList<>();
+        GitChangeLogConsumer consumer = new GitChangeLogConsumer(null);
+        consumer.setChangeSetConsumer(streamed::add);
+
+        ConsumerUtils.consumeFile(getTestFile("/src/test/resources/git/changelog/gitwhatchanged.gitlog"), consumer);
+
+        assertTrue(consumer.getModifications().isEmpty());
+        assertEquals(6, streamed.size());
+        assertEquals("Mark Struberg <struberg@yahoo.de>", streamed.get(5).getAuthor());
+    }
+
+    @Test
+    void testRecordConsumer() throws Exception {
+        String output = "\u001ea6d03ee7bcec7bfd6b0fc890a277f004a1c54077\0"
+                + "1111111111111111111111111111111111111111\0"
+                + "HEAD -> main, tag: TestTag, tag: v1, origin/main\0"
+                + "Niels Basjes <niels@basjes.nl>\0"
+                + "1644160741\0"
+                + "This\nis a\tmultiline\ncomment\n\0"
+                + "\0\n"
+                + ":100644 100644 2019174 808473f M\0documentation/pom.xml\0"
+                + ":100644 100644 2019174 2019174 R100\0old name.txt\0new name.txt\0"
+                + ":000000 100644 0000000 808473f A\0d\u00fcr.txt\0"
+                + "\u001e2222222222222222222222222222222222222222\0"
+                + "\0"
+                + "\0"
+                + "Mark Struberg <struberg@yahoo.de>\0"
+                + "1195863190\0"
+                + "Initial\n\0"
+                + "\0\n"
+                + ":100644 000000 808473f 0000000 D\0pom.xml\0";
+
+        GitChangeLogConsumer consumer = new GitChangeLogConsumer(null);
+        consumer.consumeRecords(new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)));
+
+        List<ChangeSet> modifications = consumer.getModifications();
+        assertEquals(2, modifications.size());
+
+        ChangeSet first = modifications.get(0);
+        assertEquals("a6d03ee7bcec7bfd6b0fc890a277f004a1c54077", first.getRevision());
+        assertEquals("1111111111111111111111111111111111111111", first.getParentRevision());
+        assertEquals(Arrays.asList("TestTag", "v1"), first.getTags());
+        assertEquals("Niels Basjes <niels@basjes.nl>", first.getAuthor());
+        assertEquals(new Date(1644160741000L), first.getDate());
+        assertEquals("This\nis a\tmultiline\ncomment", first.getComment());
+
+        List<ChangeFile> files = first.getFiles();
+        assertEquals(3, files.size());
+        assertEquals("documentation/pom.xml", files.get(0).getName());
+        assertEquals(ScmFileStatus.MODIFIED, files.get(0).getAction());
+        assertEquals("new name.txt", files.get(1).getName());
+        assertEquals("old name.txt", files.get(1).getOriginalName());
+        assertEquals("1111111111111111111111111111111111111111", files.get(1).getOriginalRevision());
+        assertEquals(ScmFileStatus.RENAMED, files.get(1).getAction());
+        assertEquals("d\u00fcr.txt", files.get(2).getName());
+        assertEquals(ScmFileStatus.ADDED, files.get(2).getAction());
+
+        ChangeSet second = modifications.get(1);
+        assertEquals("2222222222222222222222222222222222222222", second.getRevision());
+        assertEquals(Collections.emptyList(), second.getTags());
+        assertEquals("Initial", second.getComment());
+        assertEquals(1, second.getFiles().size());
+        assertEquals(ScmFileStatus.DELETED, second.getFiles().get(0).getAction());
+    }
 }
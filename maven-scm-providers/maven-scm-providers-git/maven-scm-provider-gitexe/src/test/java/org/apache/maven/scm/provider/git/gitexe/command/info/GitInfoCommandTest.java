@@ -19,16 +19,26 @@
 package org.apache.maven.scm.provider.git.gitexe.command.info;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.maven.scm.CommandParameter;
 import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmTestCase;
+import org.apache.maven.scm.command.info.InfoItem;
 import org.apache.maven.scm.command.info.InfoScmResult;
 import org.apache.maven.scm.provider.ScmProvider;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.GitScmTestUtils;
+import org.apache.maven.scm.provider.git.gitexe.command.GitCommandLineUtils;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.apache.maven.scm.provider.git.GitScmTestUtils.GIT_COMMAND_LINE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -110,6 +120,161 @@ void testInfoCommandWithZeroShortRevision() throws Exception {
                 "revision should be not empty, minimum 4 (similar to git help rev-parse --short)");
     }
 
+    @Test
+    void testHeadInfoMatchesGitLog(@TempDir File workingDirectory) throws Exception {
+        checkSystemCmdPresence(GIT_COMMAND_LINE);
+
+        git(workingDirectory, "init");
+        git(workingDirectory, "commit", "--allow-empty", "-m", "first");
+        assertHeadInfoMatchesGitLog(workingDirectory, "Raw Name", "raw@example.com");
+
+        // the work tree mailmap applies to git log %aN/%aE
+        Files.write(
+                new File(workingDirectory, ".mailmap").toPath(),
+                "Mapped Name <mapped@example.com> Raw Name <raw@example.com>\n".getBytes(StandardCharsets.UTF_8));
+        assertHeadInfoMatchesGitLog(workingDirectory, "Mapped Name", "mapped@example.com");
+    }
+
+    private static void assertHeadInfoMatchesGitLog(File workingDirectory, String author, String email)
+            throws Exception {
+        GitInfoCommand command = new GitInfoCommand();
+        InfoScmResult result =
+                (InfoScmResult) command.executeCommand(null, new ScmFileSet(workingDirectory), new CommandParameters());
+        InfoItem head = result.getInfoItems().get(0);
+
+        Commandline cli = GitCommandLineUtils.getBaseGitCommandLine(workingDirectory, "log");
+        cli.createArg().setValue("-1");
+        cli.createArg().setValue("--no-merges");
+        cli.addArg(GitInfoConsumer.getFormatArgument());
+        InfoItem log = command.executeInfoCommand(cli, new CommandParameters(), workingDirectory);
+
+        assertEquals(log.getRevision(), head.getRevision());
+        assertEquals(log.getLastChangedDateTime(), head.getLastChangedDateTime());
+        assertEquals(log.getLastChangedAuthor(), head.getLastChangedAuthor());
+        assertEquals(author + " <" + email + ">", head.getLastChangedAuthor());
+    }
+
+    @Test
+    void testBatchInfoMatchesSingleFileInfo(@TempDir File workingDirectory) throws Exception {
+        checkSystemCmdPresence(GIT_COMMAND_LINE);
+
+        git(workingDirectory, "init");
+        commit(workingDirectory, "a.txt", 1);
+        commit(workingDirectory, "dir/b.txt", 2);
+        commit(workingDirectory, "c.txt", 3);
+        commit(workingDirectory, "dir/sub/d.txt", 4);
+        commit(workingDirectory, "a.txt", 5);
+        new File(workingDirectory, "untracked.txt").createNewFile();
+
+        List<File> files = Arrays.asList(
+                new File(workingDirectory, "a.txt"),
+                new File(workingDirectory, "dir/b.txt"),
+                new File(workingDirectory, "c.txt"),
+                new File(workingDirectory, "dir"),
+                new File(workingDirectory, "dir/sub"),
+                new File(workingDirectory, "untracked.txt"),
+                new File(workingDirectory, "c.txt"));
+        GitInfoCommand command = new GitInfoCommand();
+        InfoScmResult result = (InfoScmResult)
+                command.executeCommand(null, new ScmFileSet(workingDirectory, files), new CommandParameters());
+
+        assertEquals(files.size(), result.getInfoItems().size());
+        for (int i = 0; i < files.size(); i++) {
+            InfoItem single = getSingleFileInfo(command, files.get(i));
+
+            InfoItem batched = result.getInfoItems().get(i);
+            assertEquals(single.getRevision(), batched.getRevision(), files.get(i).getPath());
+            assertEquals(single.getLastChangedDateTime(), batched.getLastChangedDateTime(), files.get(i).getPath());
+            assertEquals(single.getLastChangedAuthor(), batched.getLastChangedAuthor(), files.get(i).getPath());
+        }
+        assertEquals(
+                result.getInfoItems().get(3).getRevision(),
+                result.getInfoItems().get(4).getRevision(),
+                "dir is last changed by dir/sub/d.txt");
+    }
+
+    @Test
+    void testBatchInfoAfterMergeDiscardingSideChange(@TempDir File workingDirectory) throws Exception {
+        checkSystemCmdPresence(GIT_COMMAND_LINE);
+
+        git(workingDirectory, "init");
+        commit(workingDirectory, "a.txt", 1);
+        commit(workingDirectory, "b.txt", 1);
+        git(workingDirectory, "branch", "side");
+        commit(workingDirectory, "c.txt", 2);
+        git(workingDirectory, "checkout", "side");
+        commit(workingDirectory, "a.txt", 3);
+        commit(workingDirectory, "b.txt", 3);
+        git(workingDirectory, "checkout", "-");
+        // the merge keeps a.txt as on the first parent and b.txt as on the side branch
+        gitAt("2024-01-04T12:00:00+0100", workingDirectory, "merge", "--no-commit", "side");
+        git(workingDirectory, "checkout", "HEAD", "--", "a.txt");
+        gitAt("2024-01-04T12:00:00+0100", workingDirectory, "commit", "-m", "merge side");
+        commit(workingDirectory, "d.txt", 5);
+
+        List<File> files = Arrays.asList(
+                new File(workingDirectory, "a.txt"),
+                new File(workingDirectory, "b.txt"),
+                new File(workingDirectory, "c.txt"),
+                new File(workingDirectory, "d.txt"));
+        GitInfoCommand command = new GitInfoCommand();
+        InfoScmResult result = (InfoScmResult)
+                command.executeCommand(null, new ScmFileSet(workingDirectory, files), new CommandParameters());
+
+        assertEquals(files.size(), result.getInfoItems().size());
+        for (int i = 0; i < files.size(); i++) {
+            assertEquals(
+                    getSingleFileInfo(command, files.get(i)).getRevision(),
+                    result.getInfoItems().get(i).getRevision(),
+                    files.get(i).getPath());
+        }
+        assertEquals(
+                OffsetDateTime.parse("2024-01-01T12:00:00+01:00"),
+                result.getInfoItems().get(0).getLastChangedDateTime(),
+                "the change of a.txt on the side branch has been discarded by the merge");
+    }
+
+    private static InfoItem getSingleFileInfo(GitInfoCommand command, File file) throws Exception {
+        Commandline cli = GitCommandLineUtils.getBaseGitCommandLine(file.getParentFile(), "log");
+        cli.createArg().setValue("-1");
+        cli.createArg().setValue("--no-merges");
+        cli.addArg(GitInfoConsumer.getFormatArgument());
+        cli.createArg().setValue("--");
+        cli.createArg().setValue(file.getAbsolutePath());
+        return command.executeInfoCommand(cli, new CommandParameters(), file);
+    }
+
+    private static void commit(File workingDirectory, String path, int day) throws Exception {
+        File file = new File(workingDirectory, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), ("day " + day + "\n").getBytes(StandardCharsets.UTF_8));
+        git(workingDirectory, "add", path);
+        String date = "2024-01-0" + day + "T12:00:00+0100";
+        gitAt(date, workingDirectory, "commit", "-m", "day " + day);
+    }
+
+    private static void git(File workingDirectory, String... args) throws Exception {
+        gitAt(null, workingDirectory, args);
+    }
+
+    private static void gitAt(String date, File workingDirectory, String... args) throws Exception {
+        Commandline cl = new Commandline();
+        cl.setExecutable("git");
+        cl.setWorkingDirectory(workingDirectory);
+        cl.addArguments(args);
+        cl.addEnvironment("GIT_AUTHOR_NAME", "Raw Name");
+        cl.addEnvironment("GIT_AUTHOR_EMAIL", "raw@example.com");
+        cl.addEnvironment("GIT_COMMITTER_NAME", "Raw Name");
+        cl.addEnvironment("GIT_COMMITTER_EMAIL", "raw@example.com");
+        if (date != null) {
+            cl.addEnvironment("GIT_AUTHOR_DATE", date);
+            cl.addEnvironment("GIT_COMMITTER_DATE", date);
+        }
+        CommandLineUtils.StringStreamConsumer err = new CommandLineUtils.StringStreamConsumer();
+        int exitCode = CommandLineUtils.executeCommandLine(cl, new CommandLineUtils.StringStreamConsumer(), err);
+        assertEquals(0, exitCode, err.getOutput());
+    }
+
     protected File getRepositoryRoot() {
         return getTestFile("target/scm-test/repository/git/info");
     }
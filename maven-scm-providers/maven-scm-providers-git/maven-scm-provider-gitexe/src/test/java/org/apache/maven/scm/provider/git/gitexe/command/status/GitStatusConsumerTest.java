@@ -19,6 +19,7 @@
 package org.apache.maven.scm.provider.git.gitexe.command.status;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -26,6 +27,7 @@
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
@@ -87,6 +89,15 @@ private List<ScmFile> getChangedFiles(
         return consumer.getChangedFiles();
     }
 
+    private List<ScmFile> getChangedFilesPorcelainV2(String output, File workingDirectory, URI relativeRepoPath)
+            throws IOException {
+        GitStatusConsumer consumer = new GitStatusConsumer(workingDirectory, relativeRepoPath);
+
+        consumer.consumePorcelainV2(new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)));
+
+        return consumer.getChangedFiles();
+    }
+
     @Test
     void testConsumerUntrackedFile() {
         List<ScmFile> changedFiles = getChangedFiles("?? project.xml", null);
@@ -223,6 +234,24 @@ void testConsumerWithFileSet() throws IOException {
         assertEquals(1, changedFiles.size());
     }
 
+    @Test
+    void testConsumerWithFileSetDirectory() throws IOException {
+        File dir = createTempDirectory();
+        File subdir = new File(dir, "subDir");
+        subdir.mkdir();
+        FileUtils.write(new File(subdir, "something.xml"), "data", StandardCharsets.UTF_8);
+        FileUtils.write(new File(dir, "something.xml"), "data", StandardCharsets.UTF_8);
+
+        ScmFileSet scmFileSet = new ScmFileSet(dir, Collections.singletonList(subdir));
+        List<ScmFile> changedFiles = getChangedFiles("M  subDir/something.xml", dir, URI.create(""), scmFileSet);
+        assertEquals(1, changedFiles.size());
+
+        // only the file name matches
+        changedFiles = getChangedFiles("M  something.xml", dir, URI.create(""), scmFileSet);
+        assertEquals(0, changedFiles.size());
+        FileUtils.deleteDirectory(dir);
+    }
+
     // SCM-740
     @Test
     void testConsumerModifiedFileInComplexDirectorySetup() throws IOException {
@@ -522,6 +551,53 @@ void testLog2Consumer() throws Exception {
                 ScmFileStatus.MODIFIED);
     }
 
+    @Test
+    void testPorcelainV2Consumer() throws Exception {
+        String output = "1 A. N... 000000 100644 100644 0000000 8ba3a16 work/project.xml\0"
+                + "1 .M N... 100644 100644 100644 587be6b 587be6b work/d\u00e9j\u00e0 vu.txt\0"
+                + "1 MM N... 100644 100644 100644 587be6b 587be6b work/readme.txt\0"
+                + "1 D. N... 100644 000000 000000 587be6b 0000000 work/removed.txt\0"
+                + "1 .D N... 100644 100644 000000 587be6b 587be6b work/deleted.txt\0"
+                + "1 AD N... 000000 100644 000000 0000000 8ba3a16 work/added-then-deleted.txt\0"
+                + "u UU N... 100644 100644 100644 100644 1111111 2222222 3333333 work/conflict.txt\0"
+                + "? work/untracked.txt\0";
+
+        List<ScmFile> changedFiles = getChangedFilesPorcelainV2(output, null, URI.create("work/"));
+
+        assertEquals(5, changedFiles.size());
+        testScmFile(changedFiles.get(0), "project.xml", ScmFileStatus.ADDED);
+        testScmFile(changedFiles.get(1), "d\u00e9j\u00e0 vu.txt", ScmFileStatus.MODIFIED);
+        testScmFile(changedFiles.get(2), "readme.txt", ScmFileStatus.MODIFIED);
+        testScmFile(changedFiles.get(3), "removed.txt", ScmFileStatus.DELETED);
+        testScmFile(changedFiles.get(4), "deleted.txt", ScmFileStatus.DELETED);
+
+        changedFiles = getChangedFilesPorcelainV2(output, null, null);
+
+        assertEquals(5, changedFiles.size());
+        testScmFile(changedFiles.get(0), "work/project.xml", ScmFileStatus.ADDED);
+    }
+
+    @Test
+    void testPorcelainV2ConsumerWithDirectory() throws Exception {
+        File dir = createTempDirectory();
+
+        FileUtils.write(new File(dir, "NewCapFile"), "data", StandardCharsets.UTF_8);
+        FileUtils.write(new File(dir, "recreated.txt"), "data", StandardCharsets.UTF_8);
+
+        String output = "2 R. N... 100644 100644 100644 587be6b 587be6b R100 NewCapFile\0OldCapfile\0"
+                + "1 A. N... 000000 160000 160000 0000000 8ba3a16 submodule\0"
+                + "1 D. N... 100644 000000 000000 587be6b 0000000 recreated.txt\0"
+                + "1 D. N... 100644 000000 000000 587be6b 0000000 removed.txt\0";
+
+        List<ScmFile> changedFiles = getChangedFilesPorcelainV2(output, dir, null);
+
+        assertEquals(3, changedFiles.size());
+        testScmFile(changedFiles.get(0), "OldCapfile", ScmFileStatus.RENAMED);
+        testScmFile(changedFiles.get(1), "NewCapFile", ScmFileStatus.RENAMED);
+        testScmFile(changedFiles.get(2), "removed.txt", ScmFileStatus.DELETED);
+        FileUtils.deleteDirectory(dir);
+    }
+
     // SCM-709
     @Test
     void testResolvePath() {
@@ -24,8 +24,10 @@
 import java.util.Collections;
 import java.util.List;
 
+import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmFileStatus;
 import org.apache.maven.scm.ScmRevision;
 import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
@@ -231,6 +233,64 @@ void testChangeLogCommandFromVersionToStartOfRepository() throws Exception {
         assertEquals(noTags, sorted(logEntries.get(3).getTags()), "Incorrect tags found");
     }
 
+    @Test
+    void testChangeLogCommandFiles() throws Exception {
+        Thread.sleep(SLEEP_TIME_IN_MILLIS);
+        ScmRepository scmRepository = getScmRepository();
+        ScmProvider provider = getScmManager().getProviderByRepository(scmRepository);
+        ScmFileSet fileSet = new ScmFileSet(getWorkingCopy());
+
+        ChangeLogScmRequest clr = new ChangeLogScmRequest(scmRepository, fileSet);
+        clr.setRevision(new ScmRevision("0f1e817"));
+        ChangeLogScmResult changelogResult = provider.changeLog(clr);
+
+        List<ChangeSet> logEntries = changelogResult.getChangeLog().getChangeSets();
+        assertEquals(2, logEntries.size());
+
+        ChangeSet modification = logEntries.get(0);
+        assertEquals("e75cb5a80d7d26ddff9ac221fc576060719f2bd8", modification.getParentRevision());
+        assertEquals(1, modification.getFiles().size());
+        ChangeFile readme = modification.getFiles().get(0);
+        assertEquals("README.md", readme.getName());
+        assertEquals(ScmFileStatus.MODIFIED, readme.getAction());
+        assertEquals(modification.getRevision(), readme.getRevision());
+
+        ChangeSet initial = logEntries.get(1);
+        List<String> names = new ArrayList<>();
+        for (ChangeFile file : initial.getFiles()) {
+            assertEquals(ScmFileStatus.ADDED, file.getAction());
+            names.add(file.getName());
+        }
+        assertEquals(
+                Arrays.asList(
+                        "README.md",
+                        "pom.xml",
+                        "readme.txt",
+                        "src/main/java/Application.java",
+                        "src/test/java/Test.java"),
+                names);
+    }
+
+    @Test
+    void testChangeLogCommandForSubdirectory() throws Exception {
+        Thread.sleep(SLEEP_TIME_IN_MILLIS);
+        ScmRepository scmRepository = getScmRepository();
+        ScmProvider provider = getScmManager().getProviderByRepository(scmRepository);
+        ScmFileSet fileSet = new ScmFileSet(new File(getWorkingCopy(), "src"));
+
+        ChangeLogScmResult changelogResult = provider.changeLog(new ChangeLogScmRequest(scmRepository, fileSet));
+
+        List<ChangeSet> logEntries = changelogResult.getChangeLog().getChangeSets();
+        assertEquals(1, logEntries.size(), "changelog for src returned bad number of commits");
+        assertTrue(logEntries.get(0).getRevision().startsWith("e75cb5a"), "bad commit SHA1 retrieved");
+
+        List<String> names = new ArrayList<>();
+        for (ChangeFile file : logEntries.get(0).getFiles()) {
+            names.add(file.getName());
+        }
+        assertEquals(Arrays.asList("src/main/java/Application.java", "src/test/java/Test.java"), names);
+    }
+
     private List<String> sorted(List<String> input) {
         List<String> result = new ArrayList<>(input);
         Collections.sort(result);
@@ -0,0 +1,501 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevFlag;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Changed path Bloom filters per commit, modelled after the ones git stores in its commit-graph file, which
+ * JGit 5.x cannot read. Each filter records the paths changed by a commit compared to its first parent, including
+ * their leading directories, so that path limited history walks can skip the tree diff of every commit which
+ * definitely does not touch the requested paths.
+ * <p>
+ * Filters are computed the first time a commit is visited and kept for the {@value #MAX_CACHED} most recently used
+ * repositories, so that e.g. the changelogs of all modules of a reactor build share them. The index is used if the
+ * system property {@value #ENABLED_PROPERTY} is {@code true}. If the system property {@value #WRITE_PROPERTY} is
+ * {@code true} as well, the filters are also stored in the file {@value #FILENAME} in the git directory and read
+ * again by later builds. As commits are immutable, stored filters never become stale.
+ *
+ * @since 2.2.2
+ */
+public final class JGitChangedPathIndex {
+    /**
+     * The system property to enable the index.
+     */
+    public static final String ENABLED_PROPERTY = "maven.scm.jgit.changedPathIndex";
+
+    /**
+     * The system property to enable storing the index in the git directory.
+     */
+    public static final String WRITE_PROPERTY = "maven.scm.jgit.changedPathIndex.write";
+
+    /**
+     * The name of the file in the git directory the index is stored in.
+     */
+    public static final String FILENAME = "maven-scm-changed-paths";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JGitChangedPathIndex.class);
+
+    private static final int MAGIC = 0x4d534350;
+
+    private static final int VERSION = 1;
+
+    /**
+     * Commits changing more paths get no filter, like in git.
+     */
+    private static final int MAX_CHANGED_PATHS = 512;
+
+    private static final int BITS_PER_ENTRY = 10;
+
+    private static final int HASH_COUNT = 7;
+
+    /**
+     * Marks commits which have too many changes for a filter, i.e. which may change any path.
+     */
+    private static final long[] NO_FILTER = new long[0];
+
+    static final int MAX_CACHED = 16;
+
+    private static final Map<File, JGitChangedPathIndex> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<File, JGitChangedPathIndex>(MAX_CACHED * 4 / 3 + 1, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<File, JGitChangedPathIndex> eldest) {
+                    return size() > MAX_CACHED;
+                }
+            });
+
+    private final File file;
+
+    private final Map<ObjectId, long[]> filters;
+
+    private volatile boolean modified;
+
+    private JGitChangedPathIndex(File file, Map<ObjectId, long[]> filters) {
+        this.file = file;
+        this.filters = filters;
+    }
+
+    /**
+     * @return whether the index is enabled by the system property {@value #ENABLED_PROPERTY} or
+     *         {@value #WRITE_PROPERTY}
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY) || isWriteEnabled();
+    }
+
+    private static boolean isWriteEnabled() {
+        return Boolean.getBoolean(WRITE_PROPERTY);
+    }
+
+    /**
+     * Returns the index of the given repository, reading the stored one if there is any.
+     *
+     * @param repo the repository to work on
+     * @return the index, never <code>null</code>
+     */
+    public static JGitChangedPathIndex of(Repository repo) {
+        File key = repo.getDirectory().getAbsoluteFile();
+        return CACHE.computeIfAbsent(key, dir -> {
+            File file = new File(dir, FILENAME);
+            Map<ObjectId, long[]> filters = new ConcurrentHashMap<>();
+            if (file.isFile()) {
+                try {
+                    read(file, filters);
+                } catch (IOException e) {
+                    LOGGER.warn("Ignoring unreadable changed path index '" + file + "': " + e.getMessage());
+                    filters.clear();
+                }
+            }
+            return new JGitChangedPathIndex(file, filters);
+        });
+    }
+
+    /**
+     * Creates a filter which includes the same commits as a {@link RevWalk} with a path tree filter and without parent
+     * rewriting does, once {@link ChangedPathRevFilter#simplify(List, RevCommit)} has been applied to the result.
+     * The filter must be evaluated before any other filter of the walk.
+     *
+     * @param paths the repository relative paths (with forward slashes)
+     * @return the filter
+     */
+    ChangedPathRevFilter createRevFilter(Collection<String> paths) {
+        return new ChangedPathRevFilter(new ArrayList<>(paths));
+    }
+
+    /**
+     * Stores the index if it has been modified since it has been read and the system property
+     * {@value #WRITE_PROPERTY} is {@code true}.
+     *
+     * @throws IOException if the index cannot be written
+     */
+    public void writeIfModified() throws IOException {
+        if (!modified || !isWriteEnabled()) {
+            return;
+        }
+        modified = false;
+
+        // the filters may still be added to concurrently, the count has to match the entries written
+        List<Map.Entry<ObjectId, long[]>> entries = new ArrayList<>(filters.entrySet());
+        Path target = file.toPath();
+        Path temp = Files.createTempFile(target.getParent(), FILENAME, ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(temp);
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                byte[] id = new byte[Constants.OBJECT_ID_LENGTH];
+                for (Map.Entry<ObjectId, long[]> entry : entries) {
+                    entry.getKey().copyRawTo(id, 0);
+                    out.write(id);
+                    long[] bits = entry.getValue();
+                    out.writeInt(bits == NO_FILTER ? -1 : bits.length);
+                    for (long word : bits) {
+                        out.writeLong(word);
+                    }
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void read(File file, Map<ObjectId, long[]> filters) throws IOException {
+        try (InputStream is = Files.newInputStream(file.toPath());
+                DataInputStream in = new DataInputStream(new BufferedInputStream(is))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported format");
+            }
+            int count = in.readInt();
+            byte[] id = new byte[Constants.OBJECT_ID_LENGTH];
+            for (int i = 0; i < count; i++) {
+                in.readFully(id);
+                int length = in.readInt();
+                long[] bits = length < 0 ? NO_FILTER : new long[length];
+                for (int j = 0; j < bits.length; j++) {
+                    bits[j] = in.readLong();
+                }
+                filters.put(ObjectId.fromRaw(id), bits);
+            }
+        }
+    }
+
+    private long[] getFilter(RevCommit commit, RevWalk walk, TreeWalk treeWalk) throws IOException {
+        long[] bits = filters.get(commit);
+        if (bits == null) {
+            bits = computeFilter(commit, walk, treeWalk);
+            filters.put(commit.copy(), bits);
+            modified = true;
+        }
+        return bits;
+    }
+
+    private static long[] computeFilter(RevCommit commit, RevWalk walk, TreeWalk treeWalk) throws IOException {
+        treeWalk.reset();
+        treeWalk.setRecursive(true);
+        treeWalk.setFilter(TreeFilter.ANY_DIFF);
+        if (commit.getParentCount() == 0) {
+            treeWalk.addTree(new EmptyTreeIterator());
+        } else {
+            treeWalk.addTree(walk.parseCommit(commit.getParent(0)).getTree());
+        }
+        treeWalk.addTree(commit.getTree());
+
+        Set<String> paths = new HashSet<>();
+        while (treeWalk.next()) {
+            String path = treeWalk.getPathString();
+            // the path and all its leading directories
+            for (int end = path.length(); end > 0; end = path.lastIndexOf('/', end - 1)) {
+                if (!paths.add(path.substring(0, end))) {
+                    break;
+                }
+            }
+            if (paths.size() > MAX_CHANGED_PATHS) {
+                return NO_FILTER;
+            }
+        }
+
+        long[] bits = new long[Math.max(1, (paths.size() * BITS_PER_ENTRY + 63) / 64)];
+        for (String path : paths) {
+            int h1 = hash(path.hashCode());
+            int h2 = hash(h1 ^ 0x9e3779b9) | 1;
+            for (int i = 0; i < HASH_COUNT; i++) {
+                int bit = getBit(bits, h1, h2, i);
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return bits;
+    }
+
+    private static boolean mightContain(long[] bits, String path) {
+        if (bits == NO_FILTER) {
+            return true;
+        }
+        int h1 = hash(path.hashCode());
+        int h2 = hash(h1 ^ 0x9e3779b9) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = getBit(bits, h1, h2, i);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Double hashing, as in git's changed path Bloom filters.
+     */
+    private static int getBit(long[] bits, int h1, int h2, int i) {
+        return (int) (((h1 + i * h2) & 0xffffffffL) % (bits.length * 64L));
+    }
+
+    /**
+     * The finalization mix of MurmurHash3, to spread the bits of {@link String#hashCode()}.
+     */
+    private static int hash(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Mirrors the history simplification of JGit's tree filter: a merge which is the same as one of its parents in
+     * the given paths is not included and only that parent is followed, and the history of a parent which does not
+     * contain the paths at all is not followed. As the parents of a commit cannot be changed outside of JGit, the
+     * filter only records these decisions while the walk visits the whole history. {@link #simplify(List, RevCommit)}
+     * then replays the walk in the same order and applies the decisions of the commits the tree filter walk would have
+     * reached.
+     */
+    final class ChangedPathRevFilter extends RevFilter {
+        private final List<String> paths;
+
+        private final TreeFilter pathFilter;
+
+        private final boolean recursive;
+
+        /**
+         * The commits in the order the walk visited them.
+         */
+        private final List<RevCommit> visited = new ArrayList<>();
+
+        /**
+         * The commits which change the paths compared to their real parents.
+         */
+        private final Set<RevCommit> changing = new HashSet<>();
+
+        private final Map<RevCommit, RevCommit> followedParents = new HashMap<>();
+
+        /**
+         * The parents each merge cuts off from their own parents.
+         */
+        private final Map<RevCommit, List<RevCommit>> cutParents = new HashMap<>();
+
+        private TreeWalk treeWalk;
+
+        private ChangedPathRevFilter(List<String> paths) {
+            this.paths = paths;
+            this.pathFilter = AndTreeFilter.create(PathFilterGroup.createFromStrings(paths), TreeFilter.ANY_DIFF);
+            // like TreeRevFilter, which matters for telling apart added and changed entries
+            this.recursive = pathFilter.shouldBeRecursive();
+        }
+
+        @Override
+        public boolean include(RevWalk walker, RevCommit commit) throws IOException {
+            if (treeWalk == null) {
+                treeWalk = new TreeWalk(walker.getObjectReader());
+            }
+            visited.add(commit);
+
+            boolean changes = changes(walker, commit);
+            if (changes) {
+                changing.add(commit);
+            }
+            return changes;
+        }
+
+        private boolean changes(RevWalk walker, RevCommit commit) throws IOException {
+            long[] bits = getFilter(commit, walker, treeWalk);
+            boolean mightChange = false;
+            for (String path : paths) {
+                if (mightContain(bits, path)) {
+                    mightChange = true;
+                    break;
+                }
+            }
+
+            treeWalk.setRecursive(recursive);
+            treeWalk.setFilter(pathFilter);
+            int parentCount = commit.getParentCount();
+            if (parentCount == 0) {
+                if (!mightChange) {
+                    return false;
+                }
+                treeWalk.reset();
+                treeWalk.addTree(new EmptyTreeIterator());
+                treeWalk.addTree(commit.getTree());
+                return treeWalk.next();
+            }
+
+            RevCommit firstParent = walker.parseCommit(commit.getParent(0));
+            if (!mightChange && !firstParent.has(RevFlag.UNINTERESTING)) {
+                // same as the first parent in all paths, without looking at a single tree
+                followedParents.put(commit, firstParent);
+                return false;
+            }
+            if (parentCount == 1) {
+                treeWalk.reset(firstParent.getTree(), commit.getTree());
+                return treeWalk.next();
+            }
+
+            boolean sawUninteresting = false;
+            for (int i = 0; i < parentCount; i++) {
+                RevCommit parent = walker.parseCommit(commit.getParent(i));
+                treeWalk.reset(parent.getTree(), commit.getTree());
+                boolean changed = false;
+                boolean onlyAdded = true;
+                while (treeWalk.next()) {
+                    changed = true;
+                    if (treeWalk.getRawMode(0) != 0) {
+                        onlyAdded = false;
+                        break;
+                    }
+                }
+                if (!changed) {
+                    if (parent.has(RevFlag.UNINTERESTING)) {
+                        sawUninteresting = true;
+                        continue;
+                    }
+                    followedParents.put(commit, parent);
+                    return false;
+                }
+                if (onlyAdded) {
+                    treeWalk.reset(parent.getTree());
+                    if (!treeWalk.next()) {
+                        cutParents.computeIfAbsent(commit, k -> new ArrayList<>(1)).add(parent);
+                    }
+                }
+            }
+            return !sawUninteresting;
+        }
+
+        /**
+         * Replays the walk, following only the parents the tree filter walk would follow.
+         *
+         * @param commits the commits included by the walk
+         * @param start   the start commit of the walk
+         * @return the commits included by the tree filter walk, in the same order
+         */
+        List<RevCommit> simplify(List<RevCommit> commits, RevCommit start) {
+            Set<RevCommit> reachable = new HashSet<>();
+            reachable.add(start);
+            Set<RevCommit> processed = new HashSet<>();
+            Set<RevCommit> cut = new HashSet<>();
+            Set<RevCommit> included = new HashSet<>();
+            for (RevCommit commit : visited) {
+                if (!reachable.contains(commit) || !processed.add(commit)) {
+                    continue;
+                }
+                if (cut.contains(commit)) {
+                    // a root commit without any of the paths now
+                    continue;
+                }
+                if (changing.contains(commit)) {
+                    included.add(commit);
+                }
+                for (RevCommit parent : cutParents.getOrDefault(commit, Collections.emptyList())) {
+                    // like JGit, this has no effect once the parent has been processed
+                    if (!processed.contains(parent)) {
+                        cut.add(parent);
+                    }
+                }
+                RevCommit followed = followedParents.get(commit);
+                if (followed != null) {
+                    reachable.add(followed);
+                } else {
+                    reachable.addAll(Arrays.asList(commit.getParents()));
+                }
+            }
+
+            List<RevCommit> simplified = new ArrayList<>(commits.size());
+            for (RevCommit commit : commits) {
+                if (included.contains(commit)) {
+                    simplified.add(commit);
+                }
+            }
+            return simplified;
+        }
+
+        @Override
+        public boolean requiresCommitBody() {
+            return false;
+        }
+
+        @Override
+        public RevFilter clone() {
+            return new ChangedPathRevFilter(paths);
+        }
+    }
+}
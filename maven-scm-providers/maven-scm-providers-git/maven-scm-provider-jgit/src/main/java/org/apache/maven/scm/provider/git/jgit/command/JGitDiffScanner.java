@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jgit.diff.DiffConfig;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.RenameDetector;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+/**
+ * Computes the files changed by a sequence of commits, like {@code git log --raw} does.
+ * <p>
+ * In contrast to {@link JGitUtils#getFilesInCommit(Repository, RevCommit)}, which sets up a new walk and diff
+ * formatter for every commit, one object reader, tree walk and rename detector are shared by all commits scanned
+ * with the same instance. Like {@code git log --raw}, merge commits are reported without files.
+ *
+ * @since 2.2.2
+ */
+public final class JGitDiffScanner implements AutoCloseable {
+    private final ObjectReader reader;
+
+    private final RevWalk revWalk;
+
+    private final TreeWalk treeWalk;
+
+    private final RenameDetector renameDetector;
+
+    /**
+     * @param repository    the repository to read from
+     * @param detectRenames whether to detect renames and copies, which requires comparing the content of added and
+     *                      deleted files
+     */
+    public JGitDiffScanner(Repository repository, boolean detectRenames) {
+        this(repository, detectRenames, null);
+    }
+
+    /**
+     * @param repository    the repository to read from
+     * @param detectRenames whether to detect renames and copies, which requires comparing the content of added and
+     *                      deleted files
+     * @param paths         only report changes of these repository relative paths, e.g. determined by
+     *                      {@link JGitUtils#getRepositoryRelativePaths(Repository, org.apache.maven.scm.ScmFileSet)},
+     *                      or {@code null} for all changes
+     */
+    public JGitDiffScanner(Repository repository, boolean detectRenames, Collection<String> paths) {
+        reader = repository.newObjectReader();
+        revWalk = new RevWalk(reader);
+        treeWalk = new TreeWalk(repository, reader);
+        treeWalk.setRecursive(true);
+        treeWalk.setFilter(
+                paths != null
+                        ? AndTreeFilter.create(PathFilterGroup.createFromStrings(paths), TreeFilter.ANY_DIFF)
+                        : TreeFilter.ANY_DIFF);
+        renameDetector = detectRenames
+                ? new RenameDetector(reader, repository.getConfig().get(DiffConfig.KEY))
+                : null;
+    }
+
+    /**
+     * Returns the changes of the given commit compared to its parent, or to the empty tree for a root commit.
+     *
+     * @param commit the commit, with its headers parsed
+     * @return the changes, empty for merge commits
+     * @throws IOException if objects cannot be read
+     */
+    public List<DiffEntry> scan(RevCommit commit) throws IOException {
+        if (commit.getParentCount() > 1) {
+            return Collections.emptyList();
+        }
+
+        treeWalk.reset();
+        if (commit.getParentCount() == 0) {
+            treeWalk.addTree(new EmptyTreeIterator());
+        } else {
+            treeWalk.addTree(getTree(commit.getParent(0)));
+        }
+        treeWalk.addTree(getTree(commit));
+        List<DiffEntry> entries = DiffEntry.scan(treeWalk);
+
+        if (renameDetector == null || entries.size() < 2) {
+            return entries;
+        }
+        renameDetector.reset();
+        renameDetector.addAll(entries);
+        return renameDetector.compute(reader, NullProgressMonitor.INSTANCE);
+    }
+
+    private RevTree getTree(RevCommit commit) throws IOException {
+        // parents are not necessarily parsed by the walk which produced the commit
+        return commit.getTree() != null ? commit.getTree() : revWalk.parseCommit(commit).getTree();
+    }
+
+    @Override
+    public void close() {
+        revWalk.close();
+        treeWalk.close();
+        reader.close();
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryBuilder;
+
+/**
+ * Reference counted pool of {@link Repository} instances keyed by git directory, so that consecutive commands on the
+ * same repository (e.g. status, info and changelog for each module of a reactor build) reuse the already read
+ * configuration, pack indexes and object caches.
+ * <p>
+ * Pooling is disabled by default, as open repositories keep their pack files open, which prevents deleting or moving
+ * the working copy on Windows. It is enabled by setting the system property {@value #IDLE_TIMEOUT_PROPERTY} to the
+ * idle timeout in milliseconds, after which an unused repository is closed. Repositories whose configuration file has
+ * been replaced in the meantime (e.g. by a fresh clone into the same directory) are not reused.
+ *
+ * @since 2.2.2
+ */
+public final class JGitRepositoryPool {
+    /**
+     * The system property to configure the idle timeout in milliseconds.
+     */
+    public static final String IDLE_TIMEOUT_PROPERTY = "maven.scm.jgit.repositoryPool.idleTimeout";
+
+    private static final Map<File, Entry> POOL = new HashMap<>();
+
+    private static ScheduledExecutorService evictor;
+
+    private JGitRepositoryPool() {
+        // no op
+    }
+
+    /**
+     * Returns the pooled repository for the git directory found by the given builder, or builds a new one.
+     * Each call must be followed by a call to {@link #release(Repository)}.
+     *
+     * @param builder the builder, with the git directory already found
+     * @return the repository
+     * @throws IOException if the repository cannot be opened
+     */
+    public static Repository acquire(RepositoryBuilder builder) throws IOException {
+        long idleTimeout = getIdleTimeout();
+        if (idleTimeout <= 0 || builder.getGitDir() == null) {
+            return builder.build();
+        }
+
+        File key = getKey(builder.getGitDir());
+        File configFile = new File(key, Constants.CONFIG);
+        synchronized (POOL) {
+            Entry entry = POOL.get(key);
+            if (entry != null && !Arrays.equals(entry.configSnapshot, snapshot(configFile))) {
+                // the repository has been re-created, current borrowers keep using the old instance
+                POOL.remove(key);
+                entry.repository.close();
+                entry = null;
+            }
+            if (entry == null) {
+                Object[] configSnapshot = snapshot(configFile);
+                entry = new Entry(builder.build(), configSnapshot);
+                POOL.put(key, entry);
+                startEvictor(idleTimeout);
+            }
+            entry.repository.incrementOpen();
+            entry.borrowers++;
+            return entry.repository;
+        }
+    }
+
+    /**
+     * Gives back a repository obtained by {@link #acquire(RepositoryBuilder)}. Repositories which are not pooled are
+     * closed.
+     *
+     * @param repository the repository
+     */
+    public static void release(Repository repository) {
+        synchronized (POOL) {
+            Entry entry = POOL.get(getKey(repository.getDirectory()));
+            if (entry != null && entry.repository == repository) {
+                entry.borrowers--;
+                entry.lastReleased = System.currentTimeMillis();
+            }
+        }
+        repository.close();
+    }
+
+    /**
+     * Closes all repositories which are currently not in use.
+     */
+    public static void evictIdle() {
+        evict(0);
+    }
+
+    private static void evict(long idleTimeout) {
+        long now = System.currentTimeMillis();
+        synchronized (POOL) {
+            for (Iterator<Entry> it = POOL.values().iterator(); it.hasNext(); ) {
+                Entry entry = it.next();
+                if (entry.borrowers == 0 && now - entry.lastReleased >= idleTimeout) {
+                    it.remove();
+                    entry.repository.close();
+                }
+            }
+            if (POOL.isEmpty() && evictor != null) {
+                evictor.shutdown();
+                evictor = null;
+            }
+        }
+    }
+
+    private static void startEvictor(final long idleTimeout) {
+        if (evictor != null) {
+            return;
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "maven-scm-jgit-repository-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> evict(idleTimeout), idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    private static long getIdleTimeout() {
+        return Long.getLong(IDLE_TIMEOUT_PROPERTY, 0L);
+    }
+
+    /**
+     * Captures the attributes which change if the file is modified or re-created.
+     */
+    private static Object[] snapshot(File file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            return new Object[] {attributes.lastModifiedTime(), attributes.size(), attributes.fileKey()};
+        } catch (IOException e) {
+            return new Object[0];
+        }
+    }
+
+    private static File getKey(File gitDir) {
+        return gitDir.toPath().toAbsolutePath().normalize().toFile();
+    }
+
+    private static final class Entry {
+        private final Repository repository;
+
+        private final Object[] configSnapshot;
+
+        private int borrowers;
+
+        private long lastReleased;
+
+        private Entry(Repository repository, Object[] configSnapshot) {
+            this.repository = repository;
+            this.configSnapshot = configSnapshot;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+
+import static org.eclipse.jgit.lib.Constants.R_TAGS;
+
+/**
+ * Reverse index from (peeled) commit id to the names of the tags pointing at it.
+ * <p>
+ * Building the index costs one pass over {@code refs/tags/}; afterwards looking up the tags of a commit
+ * is a single hash lookup. Indexes of the {@value #MAX_CACHED} most recently used repositories are cached and
+ * reused as long as the tag refs (loose and packed) have not changed.
+ *
+ * @since 2.2.2
+ */
+public final class JGitTagIndex {
+    static final int MAX_CACHED = 16;
+
+    private static final Map<File, JGitTagIndex> CACHE =
+            Collections.synchronizedMap(new LinkedHashMap<File, JGitTagIndex>(MAX_CACHED * 4 / 3 + 1, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<File, JGitTagIndex> eldest) {
+                    return size() > MAX_CACHED;
+                }
+            });
+
+    /**
+     * The tag refs (name to unpeeled object id) this index has been built from.
+     */
+    private final Map<String, ObjectId> refsState;
+
+    private final Map<ObjectId, List<String>> tagsByCommit;
+
+    private JGitTagIndex(Map<String, ObjectId> refsState, Map<ObjectId, List<String>> tagsByCommit) {
+        this.refsState = refsState;
+        this.tagsByCommit = tagsByCommit;
+    }
+
+    /**
+     * Returns the tag index for the given repository, reusing a cached one if the tag refs did not change since it
+     * has been built.
+     *
+     * @param repo the repository to work on
+     * @return the tag index, never <code>null</code>
+     * @throws IOException if the refs cannot be read
+     */
+    public static JGitTagIndex of(Repository repo) throws IOException {
+        List<Ref> refList = repo.getRefDatabase().getRefsByPrefix(R_TAGS);
+
+        Map<String, ObjectId> refsState = new HashMap<>(refList.size() * 4 / 3 + 1);
+        for (Ref ref : refList) {
+            refsState.put(ref.getName(), ref.getObjectId());
+        }
+
+        File key = repo.getDirectory().getAbsoluteFile();
+        JGitTagIndex index = CACHE.get(key);
+        if (index != null && index.refsState.equals(refsState)) {
+            return index;
+        }
+
+        index = new JGitTagIndex(refsState, build(repo, refList));
+        CACHE.put(key, index);
+        return index;
+    }
+
+    private static Map<ObjectId, List<String>> build(Repository repo, List<Ref> refList) throws IOException {
+        Map<ObjectId, List<String>> tagsByCommit = new HashMap<>();
+        for (Ref ref : refList) {
+            // packed refs usually carry the peeled id already, so most tags do not need any object parsing
+            Ref peeled = repo.getRefDatabase().peel(ref);
+            ObjectId target = peeled.getPeeledObjectId() != null ? peeled.getPeeledObjectId() : ref.getObjectId();
+            if (target == null) {
+                continue;
+            }
+            tagsByCommit
+                    .computeIfAbsent(target.copy(), k -> new ArrayList<>(1))
+                    .add(ref.getName().substring(R_TAGS.length()));
+        }
+        return Collections.unmodifiableMap(tagsByCommit);
+    }
+
+    /**
+     * Get a list of tags that has been set in the specified commit.
+     *
+     * @param commitId the commit for which we want the tags
+     * @return a new, mutable list of tags, might be empty, and never <code>null</code>
+     */
+    public List<String> getTags(AnyObjectId commitId) {
+        List<String> tags = tagsByCommit.get(commitId);
+        return tags != null ? new ArrayList<>(tags) : new ArrayList<>();
+    }
+}
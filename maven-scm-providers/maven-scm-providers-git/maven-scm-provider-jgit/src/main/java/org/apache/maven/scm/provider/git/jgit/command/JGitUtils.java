@@ -22,6 +22,7 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -52,7 +53,6 @@
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ProgressMonitor;
-import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.lib.RepositoryBuilder;
 import org.eclipse.jgit.lib.StoredConfig;
@@ -61,8 +61,12 @@
 import org.eclipse.jgit.revwalk.RevFlag;
 import org.eclipse.jgit.revwalk.RevSort;
 import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.AndRevFilter;
 import org.eclipse.jgit.revwalk.filter.CommitTimeRevFilter;
 import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.transport.PushResult;
 import org.eclipse.jgit.transport.RefSpec;
@@ -72,8 +76,6 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import static org.eclipse.jgit.lib.Constants.R_TAGS;
-
 /**
  * JGit utility functions.
  *
@@ -90,26 +92,26 @@ private JGitUtils() {
 
     /**
      * Opens a JGit repository in the current directory or a parent directory.
+     * The repository is taken from the {@link JGitRepositoryPool}, so it must be given back with
+     * {@link #closeRepo(Git)}.
      *
      * @param basedir the directory to start with
      * @throws IOException if the repository cannot be opened
      */
     public static Git openRepo(File basedir) throws IOException {
-        return new Git(new RepositoryBuilder()
-                .readEnvironment()
-                .findGitDir(basedir)
-                .setMustExist(true)
-                .build());
+        return new Git(JGitRepositoryPool.acquire(
+                new RepositoryBuilder().readEnvironment().findGitDir(basedir).setMustExist(true)));
     }
 
     /**
      * Closes the repository wrapped by the passed git object.
+     * Pooled repositories are only closed once they have been idle for a while.
      *
      * @param git
      */
     public static void closeRepo(Git git) {
         if (git != null && git.getRepository() != null) {
-            git.getRepository().close();
+            JGitRepositoryPool.release(git.getRepository());
         }
     }
 
@@ -411,9 +413,69 @@ public static List<RevCommit> getRevCommits(
             final Date toDate,
             int maxLines)
             throws IOException, MissingObjectException, IncorrectObjectTypeException {
+        return getRevCommits(repo, sortings, fromRev, toRev, fromDate, toDate, maxLines, null, true);
+    }
 
+    /**
+     * Get a list of commits between two revisions which modify the given paths.
+     *
+     * @param repo           the repository to work on
+     * @param sortings       sorting
+     * @param fromRev        start revision
+     * @param toRev          if null, falls back to head
+     * @param fromDate       from which date on
+     * @param toDate         until which date
+     * @param maxLines       max number of lines
+     * @param paths          only include commits modifying these repository relative paths, e.g. determined by
+     *                       {@link #getRepositoryRelativePaths(Repository, ScmFileSet)}, or {@code null} for all
+     *                       commits
+     * @param rewriteParents whether to rewrite the parents of the returned commits to the nearest ancestors which
+     *                       are included as well (like {@code git log --parents}), only relevant with paths.
+     *                       Without rewriting the parents are the real parents, the walk is cheaper and can use the
+     *                       {@link JGitChangedPathIndex} if it is enabled.
+     * @return a list of commits, might be empty, but never <code>null</code>
+     * @throws IOException
+     * @since 2.2.2
+     */
+    public static List<RevCommit> getRevCommits(
+            Repository repo,
+            RevSort[] sortings,
+            String fromRev,
+            String toRev,
+            final Date fromDate,
+            final Date toDate,
+            int maxLines,
+            Collection<String> paths,
+            boolean rewriteParents)
+            throws IOException {
         List<RevCommit> revs = new ArrayList<>();
+        walkRevCommits(repo, sortings, fromRev, toRev, fromDate, toDate, maxLines, paths, rewriteParents, revs::add);
+        return revs;
+    }
 
+    /**
+     * Passes the commits between two revisions which modify the given paths to the consumer while walking the
+     * history, like {@link #getRevCommits(Repository, RevSort[], String, String, Date, Date, int, Collection, boolean)}
+     * but without keeping all of them in memory.
+     * Only the simplification with the {@link JGitChangedPathIndex} needs the whole walk before the first commit is
+     * passed on.
+     *
+     * @param consumer the consumer of the commits, called in the order of the walk
+     * @throws IOException
+     * @since 2.2.2
+     */
+    public static void walkRevCommits(
+            Repository repo,
+            RevSort[] sortings,
+            String fromRev,
+            String toRev,
+            final Date fromDate,
+            final Date toDate,
+            int maxLines,
+            Collection<String> paths,
+            boolean rewriteParents,
+            RevCommitConsumer consumer)
+            throws IOException {
         ObjectId fromRevId = fromRev != null ? repo.resolve(fromRev) : null;
         ObjectId toRevId = toRev != null ? repo.resolve(toRev) : null;
 
@@ -452,6 +514,18 @@ public RevFilter clone() {
                 }
             }
 
+            JGitChangedPathIndex changedPathIndex = null;
+            JGitChangedPathIndex.ChangedPathRevFilter changedPathFilter = null;
+            if (paths != null && !rewriteParents && JGitChangedPathIndex.isEnabled()) {
+                changedPathIndex = JGitChangedPathIndex.of(repo);
+                changedPathFilter = changedPathIndex.createRevFilter(paths);
+                walk.setRevFilter(AndRevFilter.create(changedPathFilter, walk.getRevFilter()));
+            } else if (paths != null) {
+                walk.setTreeFilter(
+                        AndTreeFilter.create(PathFilterGroup.createFromStrings(paths), TreeFilter.ANY_DIFF));
+                walk.setRewriteParents(rewriteParents);
+            }
+
             if (fromRevId != null) {
                 RevCommit c = walk.parseCommit(fromRevId);
                 c.add(RevFlag.UNINTERESTING);
@@ -459,18 +533,40 @@ public RevFilter clone() {
                 walk.markUninteresting(real);
             }
 
+            RevCommit start;
             if (toRevId != null) {
                 RevCommit c = walk.parseCommit(toRevId);
                 c.remove(RevFlag.UNINTERESTING);
-                RevCommit real = walk.parseCommit(c);
-                walk.markStart(real);
+                start = walk.parseCommit(c);
+                walk.markStart(start);
             } else {
                 final ObjectId head = repo.resolve(Constants.HEAD);
                 if (head == null) {
                     throw new IOException("Cannot resolve " + Constants.HEAD);
                 }
-                RevCommit real = walk.parseCommit(head);
-                walk.markStart(real);
+                start = walk.parseCommit(head);
+                walk.markStart(start);
+            }
+
+            if (changedPathFilter != null) {
+                // the whole walk is needed to simplify the history, but it is cheap thanks to the index
+                List<RevCommit> revs = new ArrayList<>();
+                for (final RevCommit c : walk) {
+                    revs.add(c);
+                }
+                revs = changedPathFilter.simplify(revs, start);
+                if (maxLines != -1 && revs.size() > maxLines) {
+                    revs = new ArrayList<>(revs.subList(0, maxLines));
+                }
+                try {
+                    changedPathIndex.writeIfModified();
+                } catch (IOException e) {
+                    LOGGER.warn("Could not write the changed path index: " + e.getMessage());
+                }
+                for (RevCommit c : revs) {
+                    consumer.accept(c);
+                }
+                return;
             }
 
             int n = 0;
@@ -480,34 +576,57 @@ public RevFilter clone() {
                     break;
                 }
 
-                revs.add(c);
+                consumer.accept(c);
             }
-            return revs;
         }
     }
 
+    /**
+     * Consumer of the commits of a history walk.
+     *
+     * @since 2.2.2
+     */
+    @FunctionalInterface
+    public interface RevCommitConsumer {
+        void accept(RevCommit commit) throws IOException;
+    }
+
+    /**
+     * Determines the repository relative paths of the given file set: its files if there are any, otherwise its base
+     * directory.
+     *
+     * @param repo    the repository to work on
+     * @param fileSet the file set
+     * @return the paths (with forward slashes), or {@code null} if the file set covers the whole working tree
+     * @since 2.2.2
+     */
+    public static Collection<String> getRepositoryRelativePaths(Repository repo, ScmFileSet fileSet) {
+        File workTree = repo.getWorkTree().getAbsoluteFile();
+        List<File> files = fileSet.getFileList().isEmpty()
+                ? Collections.singletonList(relativize(workTree, fileSet.getBasedir().getAbsoluteFile()))
+                : getWorkingCopyRelativePaths(workTree, fileSet);
+
+        List<String> paths = new ArrayList<>(files.size());
+        for (File file : files) {
+            String path = toNormalizedFilePath(file);
+            if (path.isEmpty() || path.equals(".") || path.startsWith("../") || path.equals("..")) {
+                // the working tree itself or outside of it (e.g. reached through a symbolic link)
+                return null;
+            }
+            paths.add(path.startsWith("./") ? path.substring(2) : path);
+        }
+        return paths;
+    }
+
     /**
      * Get a list of tags that has been set in the specified commit.
+     * When looking up tags for many commits, use {@link JGitTagIndex#of(Repository)} once instead.
      *
      * @param repo the repository to work on
      * @param commit the commit for which we want the tags
      * @return a list of tags, might be empty, and never <code>null</code>
      */
     public static List<String> getTags(Repository repo, RevCommit commit) throws IOException {
-        List<Ref> refList = repo.getRefDatabase().getRefsByPrefix(R_TAGS);
-
-        try (RevWalk revWalk = new RevWalk(repo)) {
-            ObjectId commitId = commit.getId();
-            List<String> result = new ArrayList<>();
-
-            for (Ref ref : refList) {
-                ObjectId tagId = ref.getObjectId();
-                RevCommit tagCommit = revWalk.parseCommit(tagId);
-                if (commitId.equals(tagCommit.getId())) {
-                    result.add(ref.getName().substring(R_TAGS.length()));
-                }
-            }
-            return result;
-        }
+        return JGitTagIndex.of(repo).getTags(commit);
     }
 }
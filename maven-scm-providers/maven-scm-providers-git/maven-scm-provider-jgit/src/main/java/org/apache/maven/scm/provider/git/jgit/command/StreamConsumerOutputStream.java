@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+import org.codehaus.plexus.util.cli.StreamConsumer;
+
+/**
+ * An {@link OutputStream} which splits everything written to it into lines and passes them to a
+ * {@link StreamConsumer} as soon as they are complete, so that output of JGit commands (e.g. patches) can be
+ * consumed without buffering it completely.
+ * <p>
+ * Lines are terminated by {@code \n}, the terminator itself is not passed to the consumer. Like
+ * {@link String#split(String)} empty lines at the very end of the output are dropped.
+ *
+ * @since 2.2.2
+ */
+public class StreamConsumerOutputStream extends OutputStream {
+    private final StreamConsumer consumer;
+
+    private final Charset charset;
+
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+
+    private int pendingEmptyLines;
+
+    public StreamConsumerOutputStream(StreamConsumer consumer, Charset charset) {
+        this.consumer = consumer;
+        this.charset = charset;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (b == '\n') {
+            endLine();
+        } else {
+            line.write(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        int start = off;
+        int end = off + len;
+        for (int i = off; i < end; i++) {
+            if (b[i] == '\n') {
+                line.write(b, start, i - start);
+                endLine();
+                start = i + 1;
+            }
+        }
+        line.write(b, start, end - start);
+    }
+
+    /**
+     * Passes a trailing line which is not terminated by {@code \n} to the consumer.
+     */
+    @Override
+    public void close() throws IOException {
+        if (line.size() > 0) {
+            endLine();
+        }
+    }
+
+    private void endLine() throws IOException {
+        if (line.size() == 0) {
+            pendingEmptyLines++;
+            return;
+        }
+        for (; pendingEmptyLines > 0; pendingEmptyLines--) {
+            consumer.consumeLine("");
+        }
+        consumer.consumeLine(new String(line.toByteArray(), charset));
+        line.reset();
+    }
+}
@@ -21,9 +21,12 @@
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
+import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
@@ -32,24 +35,33 @@
 import org.apache.maven.scm.command.changelog.AbstractChangeLogCommand;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogSet;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.git.command.GitCommand;
+import org.apache.maven.scm.provider.git.jgit.command.JGitDiffScanner;
+import org.apache.maven.scm.provider.git.jgit.command.JGitTagIndex;
 import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.errors.IncorrectObjectTypeException;
 import org.eclipse.jgit.errors.MissingObjectException;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevSort;
 
-import static org.apache.maven.scm.provider.git.jgit.command.JGitUtils.getTags;
-
 /**
  * @author <a href="mailto:struberg@yahoo.de">Mark Struberg</a>
  * @author Dominik Bartholdi (imod)
  * @since 1.9
  */
 public class JGitChangeLogCommand extends AbstractChangeLogCommand implements GitCommand {
+    /**
+     * The system property to disable rename detection for the changed files, which requires comparing the content
+     * of the added and deleted files of each commit.
+     *
+     * @since 2.2.2
+     */
+    public static final String DETECT_RENAMES_PROPERTY = "maven.scm.jgit.changelog.detectRenames";
 
     /**
      * {@inheritDoc}
@@ -129,23 +141,39 @@ protected ChangeLogScmResult executeChangeLogCommand(
                 endRev = endVersion != null ? endVersion.getName() : (isARangeChangeLog ? "HEAD" : null);
             }
 
-            List<ChangeEntry> gitChanges =
-                    this.whatchanged(git.getRepository(), null, startRev, endRev, startDate, endDate, -1);
+            ChangeSetConsumer changeSetConsumer = getChangeSetConsumer();
+            List<ChangeSet> modifications = new ArrayList<>();
 
-            List<ChangeSet> modifications = new ArrayList<>(gitChanges.size());
+            // only report the changes of the current module, like the gitexe provider
+            Collection<String> paths = JGitUtils.getRepositoryRelativePaths(git.getRepository(), fileSet);
 
-            for (ChangeEntry change : gitChanges) {
+            Consumer<ChangeEntry> changeEntryConsumer = change -> {
                 ChangeSet scmChange = new ChangeSet();
 
                 scmChange.setAuthor(change.getAuthorName());
                 scmChange.setComment(change.getBody());
                 scmChange.setDate(change.getAuthorDate());
                 scmChange.setRevision(change.getCommitHash());
+                scmChange.setParentRevision(change.getParentHash());
                 scmChange.setTags(change.getTags());
-                // X TODO scmChange.setFiles( change.get )
-
-                modifications.add(scmChange);
-            }
+                scmChange.setFiles(change.getChangeFiles());
+
+                if (changeSetConsumer != null) {
+                    changeSetConsumer.consume(scmChange);
+                } else {
+                    modifications.add(scmChange);
+                }
+            };
+            this.whatchanged(
+                    git.getRepository(),
+                    null,
+                    startRev,
+                    endRev,
+                    startDate,
+                    endDate,
+                    -1,
+                    paths,
+                    changeEntryConsumer);
 
             ChangeLogSet changeLogSet = new ChangeLogSet(modifications, startDate, endDate);
             changeLogSet.setStartVersion(startVersion);
@@ -162,37 +190,88 @@ protected ChangeLogScmResult executeChangeLogCommand(
     public List<ChangeEntry> whatchanged(
             Repository repo, RevSort[] sortings, String fromRev, String toRev, Date fromDate, Date toDate, int maxLines)
             throws MissingObjectException, IncorrectObjectTypeException, IOException {
-        List<RevCommit> revs = JGitUtils.getRevCommits(repo, sortings, fromRev, toRev, fromDate, toDate, maxLines);
-        List<ChangeEntry> changes = new ArrayList<>(revs.size());
+        List<ChangeEntry> changes = new ArrayList<>();
+        whatchanged(repo, sortings, fromRev, toRev, fromDate, toDate, maxLines, null, changes::add);
+        return changes;
+    }
 
+    private void whatchanged(
+            Repository repo,
+            RevSort[] sortings,
+            String fromRev,
+            String toRev,
+            Date fromDate,
+            Date toDate,
+            int maxLines,
+            Collection<String> paths,
+            Consumer<ChangeEntry> consumer)
+            throws MissingObjectException, IncorrectObjectTypeException, IOException {
         if (fromRev != null && fromRev.equals(toRev)) {
             // there are no changes between 2 identical versions
-            return changes;
+            return;
         }
 
-        for (RevCommit c : revs) {
-            ChangeEntry ce = new ChangeEntry();
-
-            ce.setAuthorDate(c.getAuthorIdent().getWhen());
-            ce.setAuthorEmail(c.getAuthorIdent().getEmailAddress());
-            ce.setAuthorName(c.getAuthorIdent().getName());
-            ce.setCommitterDate(c.getCommitterIdent().getWhen());
-            ce.setCommitterEmail(c.getCommitterIdent().getEmailAddress());
-            ce.setCommitterName(c.getCommitterIdent().getName());
-
-            ce.setSubject(c.getShortMessage());
-            ce.setBody(c.getFullMessage());
-
-            ce.setCommitHash(c.getId().name());
-            ce.setTreeHash(c.getTree().getId().name());
-
-            ce.setTags(getTags(repo, c));
-            // X TODO missing: file list
+        JGitTagIndex tagIndex = JGitTagIndex.of(repo);
+        boolean detectRenames = Boolean.parseBoolean(System.getProperty(DETECT_RENAMES_PROPERTY, "true"));
+        try (JGitDiffScanner diffScanner = new JGitDiffScanner(repo, detectRenames, paths)) {
+            // each commit is passed on once walked, the real parents are needed to compute the changed files
+            JGitUtils.walkRevCommits(
+                    repo,
+                    sortings,
+                    fromRev,
+                    toRev,
+                    fromDate,
+                    toDate,
+                    maxLines,
+                    paths,
+                    false,
+                    c -> consumer.accept(createChangeEntry(c, tagIndex, diffScanner)));
+        }
+    }
 
-            changes.add(ce);
+    private static ChangeEntry createChangeEntry(RevCommit c, JGitTagIndex tagIndex, JGitDiffScanner diffScanner)
+            throws IOException {
+        ChangeEntry ce = new ChangeEntry();
+
+        ce.setAuthorDate(c.getAuthorIdent().getWhen());
+        ce.setAuthorEmail(c.getAuthorIdent().getEmailAddress());
+        ce.setAuthorName(c.getAuthorIdent().getName());
+        ce.setCommitterDate(c.getCommitterIdent().getWhen());
+        ce.setCommitterEmail(c.getCommitterIdent().getEmailAddress());
+        ce.setCommitterName(c.getCommitterIdent().getName());
+
+        ce.setSubject(c.getShortMessage());
+        ce.setBody(c.getFullMessage());
+
+        ce.setCommitHash(c.getId().name());
+        ce.setTreeHash(c.getTree().getId().name());
+
+        ce.setTags(tagIndex.getTags(c));
+
+        String parentHash = c.getParentCount() > 0 ? c.getParent(0).getId().name() : null;
+        ce.setParentHash(parentHash);
+
+        List<DiffEntry> diffs = diffScanner.scan(c);
+        List<File> files = new ArrayList<>(diffs.size());
+        List<ChangeFile> changeFiles = new ArrayList<>(diffs.size());
+        for (DiffEntry diff : diffs) {
+            boolean deleted = diff.getChangeType() == DiffEntry.ChangeType.DELETE;
+            String path = deleted ? diff.getOldPath() : diff.getNewPath();
+            files.add(new File(path));
+
+            ChangeFile changeFile = new ChangeFile(path, ce.getCommitHash());
+            changeFile.setAction(JGitUtils.getScmFileStatus(diff.getChangeType()));
+            if (diff.getChangeType() == DiffEntry.ChangeType.RENAME
+                    || diff.getChangeType() == DiffEntry.ChangeType.COPY) {
+                changeFile.setOriginalName(diff.getOldPath());
+                changeFile.setOriginalRevision(parentHash);
+            }
+            changeFiles.add(changeFile);
         }
+        ce.setFiles(files);
+        ce.setChangeFiles(changeFiles);
 
-        return changes;
+        return ce;
     }
 
     public static final class ChangeEntry {
@@ -200,6 +279,8 @@ public static final class ChangeEntry {
 
         private String treeHash;
 
+        private String parentHash;
+
         private String authorName;
 
         private String authorEmail;
@@ -218,6 +299,8 @@ public static final class ChangeEntry {
 
         private List<File> files;
 
+        private List<ChangeFile> changeFiles;
+
         private List<String> tags;
 
         public String getCommitHash() {
@@ -236,6 +319,21 @@ public void setTreeHash(String treeHash) {
             this.treeHash = treeHash;
         }
 
+        /**
+         * @return the hash of the first parent, <code>null</code> for a root commit
+         * @since 2.2.2
+         */
+        public String getParentHash() {
+            return parentHash;
+        }
+
+        /**
+         * @since 2.2.2
+         */
+        public void setParentHash(String parentHash) {
+            this.parentHash = parentHash;
+        }
+
         public String getAuthorName() {
             return authorName;
         }
@@ -308,6 +406,21 @@ public void setFiles(List<File> files) {
             this.files = files;
         }
 
+        /**
+         * @return the changed files with their action and, for renames and copies, their original name
+         * @since 2.2.2
+         */
+        public List<ChangeFile> getChangeFiles() {
+            return changeFiles;
+        }
+
+        /**
+         * @since 2.2.2
+         */
+        public void setChangeFiles(List<ChangeFile> changeFiles) {
+            this.changeFiles = changeFiles;
+        }
+
         public List<String> getTags() {
             return tags;
         }
@@ -18,12 +18,16 @@
  */
 package org.apache.maven.scm.provider.git.jgit.command.diff;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.Charset;
 
+import org.apache.maven.scm.CommandParameter;
+import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmResult;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.diff.AbstractDiffCommand;
 import org.apache.maven.scm.command.diff.DiffScmResult;
@@ -31,6 +35,7 @@
 import org.apache.maven.scm.provider.git.command.GitCommand;
 import org.apache.maven.scm.provider.git.command.diff.GitDiffConsumer;
 import org.apache.maven.scm.provider.git.jgit.command.JGitUtils;
+import org.apache.maven.scm.provider.git.jgit.command.StreamConsumerOutputStream;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.lib.ObjectId;
@@ -46,6 +51,15 @@
  */
 public class JGitDiffCommand extends AbstractDiffCommand implements GitCommand {
 
+    private int maxPatchLength = -1;
+
+    @Override
+    public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters)
+            throws ScmException {
+        maxPatchLength = parameters.getInt(CommandParameter.MAX_PATCH_LENGTH, -1);
+        return super.executeCommand(repository, fileSet, parameters);
+    }
+
     @Override
     protected DiffScmResult executeDiffCommand(
             ScmProviderRepository repository, ScmFileSet fileSet, ScmVersion startRevision, ScmVersion endRevision)
@@ -54,9 +68,7 @@ protected DiffScmResult executeDiffCommand(
         Git git = null;
         try {
             git = JGitUtils.openRepo(fileSet.getBasedir());
-            DiffScmResult diff = callDiff(git, startRevision, endRevision);
-            git.getRepository().close();
-            return diff;
+            return callDiff(git, startRevision, endRevision, maxPatchLength);
         } catch (IOException | GitAPIException e) {
             throw new ScmException("JGit diff failure!", e);
         } finally {
@@ -66,6 +78,21 @@ protected DiffScmResult executeDiffCommand(
 
     public DiffScmResult callDiff(Git git, ScmVersion startRevision, ScmVersion endRevision)
             throws IOException, GitAPIException, ScmException {
+        return callDiff(git, startRevision, endRevision, -1);
+    }
+
+    /**
+     * Diffs the working tree and the index against the given revisions. The patch is streamed line by line into the
+     * {@link GitDiffConsumer} while JGit formats it, so it is never held in memory as a whole.
+     *
+     * @param git the repository to diff
+     * @param startRevision the old revision, may be {@code null}
+     * @param endRevision the new revision, may be {@code null}
+     * @param maxPatchLength the maximum number of characters of patch text to keep, {@code -1} for no limit
+     * @since 2.2.2
+     */
+    public DiffScmResult callDiff(Git git, ScmVersion startRevision, ScmVersion endRevision, int maxPatchLength)
+            throws IOException, GitAPIException, ScmException {
 
         AbstractTreeIterator oldTree = null;
         if (startRevision != null && !startRevision.getName().trim().isEmpty()) {
@@ -79,7 +106,8 @@ public DiffScmResult callDiff(Git git, ScmVersion startRevision, ScmVersion endR
             newTree = getTreeIterator(git.getRepository(), endRev);
         }
 
-        OutputStream out = new ByteArrayOutputStream();
+        GitDiffConsumer consumer = new GitDiffConsumer(null, maxPatchLength);
+        OutputStream out = new BufferedOutputStream(new StreamConsumerOutputStream(consumer, Charset.defaultCharset()));
 
         git.diff()
                 .setOutputStream(out)
@@ -94,15 +122,10 @@ public DiffScmResult callDiff(Git git, ScmVersion startRevision, ScmVersion endR
                 .setCached(true)
                 .call();
 
-        out.flush();
-
-        GitDiffConsumer consumer = new GitDiffConsumer(null);
-        String fullDiff = out.toString();
         out.close();
 
-        String[] lines = fullDiff.split("\n");
-        for (String aLine : lines) {
-            consumer.consumeLine(aLine);
+        if (consumer.isTruncated()) {
+            logger.warn("Diff exceeds " + maxPatchLength + " characters, the patch text has been truncated");
         }
 
         return new DiffScmResult(
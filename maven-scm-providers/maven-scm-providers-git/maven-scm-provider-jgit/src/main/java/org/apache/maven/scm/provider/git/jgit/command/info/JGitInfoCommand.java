@@ -20,8 +20,14 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.scm.CommandParameters;
@@ -37,13 +43,19 @@
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevSort;
 import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.TreeRevFilter;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
 import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
 import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
 import org.eclipse.jgit.treewalk.filter.TreeFilter;
 
 /**
@@ -67,10 +79,19 @@ protected ScmResult executeCommand(
                 RevCommit headCommit = git.getRepository().parseCommit(objectId);
                 infoItems.add(getInfoItem(headCommit, fileSet.getBasedir()));
             } else {
-                // iterate over all files
-                for (File file : JGitUtils.getWorkingCopyRelativePaths(
-                        git.getRepository().getWorkTree(), fileSet)) {
-                    infoItems.add(getInfoItem(git.getRepository(), objectId, file));
+                // resolve all files with a single history walk
+                List<File> files = JGitUtils.getWorkingCopyRelativePaths(git.getRepository().getWorkTree(), fileSet);
+                List<String> paths = new ArrayList<>(files.size());
+                for (File file : files) {
+                    paths.add(JGitUtils.toNormalizedFilePath(file));
+                }
+                Map<String, RevCommit> commits = getMostRecentCommitsForPaths(git.getRepository(), objectId, paths);
+                for (int i = 0; i < files.size(); i++) {
+                    RevCommit commit = commits.get(paths.get(i));
+                    if (commit == null) {
+                        throw new ScmException("Cannot find any commit for path " + paths.get(i));
+                    }
+                    infoItems.add(getInfoItem(commit, files.get(i)));
                 }
             }
             return new InfoScmResult(infoItems, new ScmResult("JGit.resolve(HEAD)", "", objectId.toString(), true));
@@ -81,11 +102,6 @@ protected ScmResult executeCommand(
         }
     }
 
-    protected InfoItem getInfoItem(Repository repository, ObjectId headObjectId, File file) throws IOException {
-        RevCommit commit = getMostRecentCommitForPath(repository, headObjectId, JGitUtils.toNormalizedFilePath(file));
-        return getInfoItem(commit, file);
-    }
-
     protected InfoItem getInfoItem(RevCommit fileCommit, File file) {
         InfoItem infoItem = new InfoItem();
         infoItem.setPath(file.getPath());
@@ -100,16 +116,206 @@ protected InfoItem getInfoItem(RevCommit fileCommit, File file) {
         return infoItem;
     }
 
-    private RevCommit getMostRecentCommitForPath(Repository repository, ObjectId headObjectId, String path)
+    /**
+     * Determines the most recent commit for each of the given paths with a single history walk.
+     * Each path is retired as soon as its most recent commit is found and the walk stops once all paths are resolved.
+     * The walk simplifies merges for all paths together, so a path for which a merge would be simplified differently
+     * on its own is resolved with a walk of its own.
+     *
+     * @param repository the repository to work on
+     * @param headObjectId the commit to start the walk from
+     * @param paths the repository relative paths (with forward slashes)
+     * @return the most recent commit per path, paths which have never been committed are missing
+     * @throws IOException
+     */
+    protected Map<String, RevCommit> getMostRecentCommitsForPaths(
+            Repository repository, ObjectId headObjectId, Collection<String> paths) throws IOException {
+        Map<String, RevCommit> latestCommits = new HashMap<>(paths.size() * 4 / 3 + 1);
+        Set<String> remaining = new HashSet<>(paths);
+        if (remaining.isEmpty()) {
+            return latestCommits;
+        }
+        Set<String> divergent = new HashSet<>();
+        try (RevWalk revWalk = new RevWalk(repository);
+                TreeWalk treeWalk = new TreeWalk(repository, revWalk.getObjectReader())) {
+            TreeFilter filter = AndTreeFilter.create(PathFilterGroup.createFromStrings(remaining), TreeFilter.ANY_DIFF);
+            revWalk.markStart(revWalk.parseCommit(headObjectId));
+            revWalk.sort(RevSort.COMMIT_TIME_DESC);
+            revWalk.setRevFilter(new MergeCheckingRevFilter(
+                    new TreeRevFilter(revWalk, filter),
+                    revWalk.getObjectReader(),
+                    filter,
+                    new HashSet<>(paths),
+                    remaining,
+                    divergent));
+            treeWalk.setRecursive(true);
+
+            TreeFilter remainingFilter = filter;
+            RevCommit commit;
+            while (!remaining.isEmpty() && (commit = revWalk.next()) != null) {
+                Set<String> changed = getChangedPaths(revWalk, treeWalk, remainingFilter, commit, remaining);
+                for (String path : changed) {
+                    latestCommits.put(path, commit);
+                }
+                if (!changed.isEmpty() || !divergent.isEmpty()) {
+                    remaining.removeAll(changed);
+                    remaining.removeAll(divergent);
+                    if (!remaining.isEmpty()) {
+                        remainingFilter = AndTreeFilter.create(
+                                PathFilterGroup.createFromStrings(remaining), TreeFilter.ANY_DIFF);
+                    }
+                }
+            }
+        }
+        for (String path : divergent) {
+            RevCommit commit = getMostRecentCommitForPath(repository, headObjectId, path);
+            if (commit != null) {
+                latestCommits.put(path, commit);
+            }
+        }
+        return latestCommits;
+    }
+
+    private static RevCommit getMostRecentCommitForPath(Repository repository, ObjectId headObjectId, String path)
             throws IOException {
-        RevCommit latestCommit = null;
         try (RevWalk revWalk = new RevWalk(repository)) {
-            RevCommit headCommit = revWalk.parseCommit(headObjectId);
-            revWalk.markStart(headCommit);
+            revWalk.markStart(revWalk.parseCommit(headObjectId));
             revWalk.sort(RevSort.COMMIT_TIME_DESC);
             revWalk.setTreeFilter(AndTreeFilter.create(PathFilter.create(path), TreeFilter.ANY_DIFF));
-            latestCommit = revWalk.next();
+            return revWalk.next();
+        }
+    }
+
+    /**
+     * Returns those of the requested paths which have been modified by the given commit compared to each of its
+     * (rewritten) parents, i.e. the paths for which the commit is not just a tree-same merge.
+     */
+    private static Set<String> getChangedPaths(
+            RevWalk revWalk, TreeWalk treeWalk, TreeFilter filter, RevCommit commit, Set<String> requested)
+            throws IOException {
+        if (commit.getParentCount() == 0) {
+            treeWalk.reset();
+            treeWalk.addTree(new EmptyTreeIterator());
+            treeWalk.addTree(commit.getTree());
+            return collectRequestedPaths(treeWalk, filter, requested);
+        }
+        Set<String> changed = null;
+        for (RevCommit parent : commit.getParents()) {
+            revWalk.parseHeaders(parent);
+            treeWalk.reset(parent.getTree(), commit.getTree());
+            Set<String> changedAgainstParent = collectRequestedPaths(treeWalk, filter, requested);
+            if (changed == null) {
+                changed = changedAgainstParent;
+            } else {
+                changed.retainAll(changedAgainstParent);
+            }
+            if (changed.isEmpty()) {
+                break;
+            }
+        }
+        return changed;
+    }
+
+    private static Set<String> collectRequestedPaths(TreeWalk treeWalk, TreeFilter filter, Set<String> requested)
+            throws IOException {
+        Set<String> result = new HashSet<>();
+        treeWalk.setFilter(filter);
+        while (treeWalk.next()) {
+            // the requested path is either the file itself or one of its parent directories
+            String path = treeWalk.getPathString();
+            while (true) {
+                if (requested.contains(path)) {
+                    result.add(path);
+                }
+                int slash = path.lastIndexOf('/');
+                if (slash < 0) {
+                    break;
+                }
+                path = path.substring(0, slash);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Simplifies the history for all requested paths together and records the remaining paths for which a merge is
+     * tree-same to a different parent than for all paths together: following only the parent chosen for all paths
+     * (or all parents) would not reveal the most recent commit of such a path.
+     */
+    private static class MergeCheckingRevFilter extends RevFilter {
+        private final RevFilter treeRevFilter;
+
+        private final TreeFilter filter;
+
+        private final Set<String> requested;
+
+        private final Set<String> remaining;
+
+        private final Set<String> divergent;
+
+        private final ObjectReader reader;
+
+        private final TreeWalk treeWalk;
+
+        MergeCheckingRevFilter(
+                RevFilter treeRevFilter,
+                ObjectReader reader,
+                TreeFilter filter,
+                Set<String> requested,
+                Set<String> remaining,
+                Set<String> divergent) {
+            this.treeRevFilter = treeRevFilter;
+            this.reader = reader;
+            this.filter = filter;
+            this.requested = requested;
+            this.remaining = remaining;
+            this.divergent = divergent;
+            this.treeWalk = new TreeWalk(reader);
+            treeWalk.setRecursive(true);
+        }
+
+        @Override
+        public boolean include(RevWalk walker, RevCommit commit) throws IOException {
+            if (commit.getParentCount() > 1 && !remaining.isEmpty()) {
+                checkMerge(walker, commit);
+            }
+            return treeRevFilter.include(walker, commit);
+        }
+
+        private void checkMerge(RevWalk walker, RevCommit merge) throws IOException {
+            // index of the first tree-same parent, like TreeRevFilter, -1 if there is none
+            int sameParent = -1;
+            Map<String, Integer> sameParentPerPath = new HashMap<>();
+            for (int i = 0; i < merge.getParentCount(); i++) {
+                RevCommit parent = merge.getParent(i);
+                walker.parseHeaders(parent);
+                treeWalk.reset(parent.getTree(), merge.getTree());
+                Set<String> changed = collectRequestedPaths(treeWalk, filter, requested);
+                for (String path : remaining) {
+                    if (!changed.contains(path)) {
+                        sameParentPerPath.putIfAbsent(path, i);
+                    }
+                }
+                if (changed.isEmpty()) {
+                    sameParent = i;
+                    break;
+                }
+            }
+            for (String path : remaining) {
+                if (sameParentPerPath.getOrDefault(path, -1) != sameParent) {
+                    divergent.add(path);
+                }
+            }
+        }
+
+        @Override
+        public RevFilter clone() {
+            return new MergeCheckingRevFilter(treeRevFilter.clone(), reader, filter, requested, remaining, divergent);
+        }
+
+        @Override
+        public boolean requiresCommitBody() {
+            return false;
         }
-        return latestCommit;
     }
 }
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Compares path limited walks using the index with walks using JGit's tree filter on generated histories.
+ */
+public class JGitChangedPathIndexTest {
+    private static final String[] PATHS = {"a/x", "a/y", "a/b/z", "a/b/w", "c/u", "c/v", "d"};
+
+    private static final List<List<String>> PATH_LIMITS = Arrays.asList(
+            Collections.singletonList("a"),
+            Collections.singletonList("a/b"),
+            Collections.singletonList("a/b/z"),
+            Arrays.asList("c", "d"),
+            Collections.singletonList("e"));
+
+    @TempDir
+    File tempDir;
+
+    private int time;
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(JGitChangedPathIndex.ENABLED_PROPERTY);
+    }
+
+    @Test
+    void testSameCommitsAsTreeFilter() throws Exception {
+        for (long seed = 0; seed < 20; seed++) {
+            try (Git git = Git.init().setDirectory(new File(tempDir, "repo" + seed)).call()) {
+                List<RevCommit> commits = generateHistory(git.getRepository(), new Random(seed));
+                RevCommit head = commits.get(commits.size() - 1);
+                RevCommit middle = commits.get(commits.size() / 2);
+
+                for (List<String> paths : PATH_LIMITS) {
+                    String message = "seed " + seed + ", paths " + paths;
+                    assertSameCommits(git.getRepository(), null, head.name(), -1, paths, message);
+                    assertSameCommits(git.getRepository(), null, head.name(), 3, paths, message + ", limit 3");
+                    assertSameCommits(
+                            git.getRepository(), middle.name(), head.name(), -1, paths, message + ", from middle");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLeastRecentlyUsedIndexIsEvicted() throws Exception {
+        try (Git git = Git.init().setDirectory(new File(tempDir, "first")).call()) {
+            JGitChangedPathIndex index = JGitChangedPathIndex.of(git.getRepository());
+            assertSame(index, JGitChangedPathIndex.of(git.getRepository()));
+
+            for (int i = 0; i < JGitChangedPathIndex.MAX_CACHED; i++) {
+                try (Git other = Git.init().setDirectory(new File(tempDir, "repo" + i)).call()) {
+                    JGitChangedPathIndex.of(other.getRepository());
+                }
+            }
+
+            assertNotSame(index, JGitChangedPathIndex.of(git.getRepository()));
+        }
+    }
+
+    private static void assertSameCommits(
+            Repository repo, String fromRev, String toRev, int maxLines, List<String> paths, String message)
+            throws Exception {
+        System.clearProperty(JGitChangedPathIndex.ENABLED_PROPERTY);
+        List<RevCommit> expected =
+                JGitUtils.getRevCommits(repo, null, fromRev, toRev, null, null, maxLines, paths, false);
+
+        System.setProperty(JGitChangedPathIndex.ENABLED_PROPERTY, "true");
+        List<RevCommit> actual =
+                JGitUtils.getRevCommits(repo, null, fromRev, toRev, null, null, maxLines, paths, false);
+
+        assertEquals(names(expected), names(actual), message);
+    }
+
+    /**
+     * Creates commits on several branches which add, change, delete and rename files in nested directories and
+     * merges them taking the tree of either side or the union of both.
+     *
+     * @return all commits, the last one reaches all others
+     */
+    private List<RevCommit> generateHistory(Repository repo, Random random) throws Exception {
+        List<RevCommit> commits = new ArrayList<>();
+        List<RevCommit> heads = new ArrayList<>();
+        List<Map<String, String>> trees = new ArrayList<>();
+
+        Map<String, String> initial = new TreeMap<>();
+        initial.put("a/x", "x");
+        initial.put("c/u", "u");
+        heads.add(commit(repo, initial));
+        trees.add(initial);
+        commits.add(heads.get(0));
+
+        for (int step = 0; step < 40; step++) {
+            int branch = random.nextInt(heads.size());
+            int action = random.nextInt(10);
+            if (action < 6) {
+                Map<String, String> tree = new TreeMap<>(trees.get(branch));
+                change(tree, random, step);
+                heads.set(branch, commit(repo, tree, heads.get(branch)));
+                trees.set(branch, tree);
+                commits.add(heads.get(branch));
+            } else if (action < 8 || heads.size() == 1) {
+                heads.add(heads.get(branch));
+                trees.add(trees.get(branch));
+            } else {
+                int other = (branch + 1 + random.nextInt(heads.size() - 1)) % heads.size();
+                Map<String, String> tree;
+                switch (random.nextInt(3)) {
+                    case 0:
+                        tree = trees.get(branch);
+                        break;
+                    case 1:
+                        tree = trees.get(other);
+                        break;
+                    default:
+                        tree = new TreeMap<>(trees.get(other));
+                        tree.putAll(trees.get(branch));
+                }
+                heads.set(branch, commit(repo, tree, heads.get(branch), heads.get(other)));
+                trees.set(branch, tree);
+                commits.add(heads.get(branch));
+                if (random.nextBoolean()) {
+                    heads.remove(other);
+                    trees.remove(other);
+                }
+            }
+        }
+
+        // merge everything, so that the last commit reaches all others
+        while (heads.size() > 1) {
+            Map<String, String> tree = new TreeMap<>(trees.remove(1));
+            tree.putAll(trees.get(0));
+            heads.set(0, commit(repo, tree, heads.get(0), heads.remove(1)));
+            trees.set(0, tree);
+            commits.add(heads.get(0));
+        }
+        return commits;
+    }
+
+    private static void change(Map<String, String> tree, Random random, int step) {
+        String path = PATHS[random.nextInt(PATHS.length)];
+        String content = tree.get(path);
+        if (content == null) {
+            tree.put(path, "added " + step);
+        } else if (tree.size() > 1 && random.nextInt(4) == 0) {
+            tree.remove(path);
+        } else if (random.nextInt(4) == 0) {
+            // rename
+            tree.remove(path);
+            tree.put(PATHS[random.nextInt(PATHS.length)], content);
+        } else {
+            tree.put(path, "changed " + step);
+        }
+    }
+
+    private RevCommit commit(Repository repo, Map<String, String> files, RevCommit... parents) throws Exception {
+        try (ObjectInserter inserter = repo.newObjectInserter()) {
+            DirCache index = DirCache.newInCore();
+            DirCacheBuilder builder = index.builder();
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                DirCacheEntry entry = new DirCacheEntry(file.getKey());
+                entry.setFileMode(FileMode.REGULAR_FILE);
+                entry.setObjectId(
+                        inserter.insert(Constants.OBJ_BLOB, file.getValue().getBytes(StandardCharsets.UTF_8)));
+                builder.add(entry);
+            }
+            builder.finish();
+
+            // distinct commit times, so that the walk order is well defined
+            PersonIdent ident = new PersonIdent("John Doe", "john@example.org", 1700000000000L + ++time * 1000L, 0);
+            CommitBuilder commit = new CommitBuilder();
+            commit.setTreeId(index.writeTree(inserter));
+            commit.setParentIds(parents);
+            commit.setAuthor(ident);
+            commit.setCommitter(ident);
+            commit.setMessage("commit " + time);
+            ObjectId id = inserter.insert(commit);
+            inserter.flush();
+            return repo.parseCommit(id);
+        }
+    }
+
+    private static List<String> names(List<RevCommit> commits) {
+        List<String> names = new ArrayList<>(commits.size());
+        for (RevCommit commit : commits) {
+            names.add(commit.name());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class JGitRepositoryPoolTest {
+    @TempDir
+    File workingDirectory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Git.init().setDirectory(workingDirectory).call().close();
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(JGitRepositoryPool.IDLE_TIMEOUT_PROPERTY);
+        JGitRepositoryPool.evictIdle();
+    }
+
+    @Test
+    void testDisabledByDefault() throws Exception {
+        Repository first = JGitRepositoryPool.acquire(builder());
+        Repository second = JGitRepositoryPool.acquire(builder());
+        try {
+            assertNotSame(first, second);
+        } finally {
+            JGitRepositoryPool.release(first);
+            JGitRepositoryPool.release(second);
+        }
+    }
+
+    @Test
+    void testReuse() throws Exception {
+        System.setProperty(JGitRepositoryPool.IDLE_TIMEOUT_PROPERTY, "60000");
+
+        Repository first = JGitRepositoryPool.acquire(builder());
+        Repository second = JGitRepositoryPool.acquire(builder());
+        JGitRepositoryPool.release(second);
+        JGitRepositoryPool.release(first);
+
+        // still pooled after all borrowers are gone
+        Repository third = JGitRepositoryPool.acquire(builder());
+        JGitRepositoryPool.release(third);
+
+        assertSame(first, second);
+        assertSame(first, third);
+    }
+
+    @Test
+    void testIdleEviction() throws Exception {
+        System.setProperty(JGitRepositoryPool.IDLE_TIMEOUT_PROPERTY, "50");
+
+        Repository first = JGitRepositoryPool.acquire(builder());
+        JGitRepositoryPool.release(first);
+
+        Repository next = first;
+        for (long end = System.currentTimeMillis() + 10000; next == first && System.currentTimeMillis() < end; ) {
+            Thread.sleep(100);
+            next = JGitRepositoryPool.acquire(builder());
+            JGitRepositoryPool.release(next);
+        }
+        assertNotSame(first, next);
+    }
+
+    @Test
+    void testBorrowedRepositoryIsNotEvicted() throws Exception {
+        System.setProperty(JGitRepositoryPool.IDLE_TIMEOUT_PROPERTY, "60000");
+
+        Repository first = JGitRepositoryPool.acquire(builder());
+        try {
+            JGitRepositoryPool.evictIdle();
+
+            Repository second = JGitRepositoryPool.acquire(builder());
+            JGitRepositoryPool.release(second);
+            assertSame(first, second);
+        } finally {
+            JGitRepositoryPool.release(first);
+        }
+    }
+
+    @Test
+    void testClose() throws Exception {
+        System.setProperty(JGitRepositoryPool.IDLE_TIMEOUT_PROPERTY, "60000");
+
+        Repository first = JGitRepositoryPool.acquire(builder());
+        JGitRepositoryPool.release(first);
+        JGitRepositoryPool.evictIdle();
+
+        Repository second = JGitRepositoryPool.acquire(builder());
+        JGitRepositoryPool.release(second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void testReplacedConfigIsNotReused() throws Exception {
+        System.setProperty(JGitRepositoryPool.IDLE_TIMEOUT_PROPERTY, "60000");
+
+        Repository first = JGitRepositoryPool.acquire(builder());
+        JGitRepositoryPool.release(first);
+
+        File config = new File(new File(workingDirectory, Constants.DOT_GIT), Constants.CONFIG);
+        File copy = new File(workingDirectory, "config.copy");
+        Files.write(copy.toPath(), "[core]\n\tbare = false\n".getBytes(StandardCharsets.UTF_8));
+        Files.move(copy.toPath(), config.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        Repository second = JGitRepositoryPool.acquire(builder());
+        JGitRepositoryPool.release(second);
+        assertNotSame(first, second);
+    }
+
+    private RepositoryBuilder builder() {
+        return new RepositoryBuilder().readEnvironment().findGitDir(workingDirectory).setMustExist(true);
+    }
+}
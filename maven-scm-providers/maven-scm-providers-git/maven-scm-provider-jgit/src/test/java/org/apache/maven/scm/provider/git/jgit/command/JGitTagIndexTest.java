@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JGitTagIndexTest {
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testGetTags() throws Exception {
+        try (Git git = Git.init().setDirectory(tempDir).call()) {
+            RevCommit first = git.commit().setMessage("first").call();
+            RevCommit second = git.commit().setMessage("second").call();
+            git.tag().setName("lightweight").setObjectId(first).setAnnotated(false).call();
+            git.tag().setName("annotated").setObjectId(first).setMessage("annotated").call();
+
+            JGitTagIndex index = JGitTagIndex.of(git.getRepository());
+
+            assertEquals(Arrays.asList("annotated", "lightweight"), sorted(index.getTags(first)));
+            assertTrue(index.getTags(second).isEmpty());
+        }
+    }
+
+    @Test
+    void testReuseAndInvalidation() throws Exception {
+        try (Git git = Git.init().setDirectory(tempDir).call()) {
+            RevCommit commit = git.commit().setMessage("first").call();
+            git.tag().setName("v1").setObjectId(commit).setAnnotated(false).call();
+
+            JGitTagIndex index = JGitTagIndex.of(git.getRepository());
+            assertSame(index, JGitTagIndex.of(git.getRepository()));
+
+            git.tag().setName("v2").setObjectId(commit).setAnnotated(false).call();
+            JGitTagIndex updated = JGitTagIndex.of(git.getRepository());
+            assertNotSame(index, updated);
+            assertEquals(Arrays.asList("v1", "v2"), sorted(updated.getTags(commit)));
+
+            git.tagDelete().setTags("v1").call();
+            assertEquals(Collections.singletonList("v2"), JGitTagIndex.of(git.getRepository()).getTags(commit));
+        }
+    }
+
+    @Test
+    void testLeastRecentlyUsedIndexIsEvicted() throws Exception {
+        try (Git git = Git.init().setDirectory(new File(tempDir, "first")).call()) {
+            git.commit().setMessage("first").call();
+            JGitTagIndex index = JGitTagIndex.of(git.getRepository());
+
+            for (int i = 0; i < JGitTagIndex.MAX_CACHED; i++) {
+                try (Git other = Git.init().setDirectory(new File(tempDir, "repo" + i)).call()) {
+                    JGitTagIndex.of(other.getRepository());
+                }
+            }
+
+            assertNotSame(index, JGitTagIndex.of(git.getRepository()));
+        }
+    }
+
+    private static List<String> sorted(List<String> tags) {
+        Collections.sort(tags);
+        return tags;
+    }
+}
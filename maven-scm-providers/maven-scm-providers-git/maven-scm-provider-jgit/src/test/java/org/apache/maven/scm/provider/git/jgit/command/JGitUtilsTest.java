@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.scm.ScmFileSet;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class JGitUtilsTest {
+    @TempDir
+    File workingDirectory;
+
+    private int time;
+
+    @Test
+    void testGetRepositoryRelativePaths() throws Exception {
+        try (Git git = Git.init().setDirectory(workingDirectory).call()) {
+            File module = new File(workingDirectory, "module");
+            module.mkdirs();
+
+            assertEquals(
+                    Collections.singletonList("module"),
+                    JGitUtils.getRepositoryRelativePaths(git.getRepository(), new ScmFileSet(module)));
+            assertEquals(
+                    Arrays.asList("module/a.txt", "module/dir/b.txt"),
+                    JGitUtils.getRepositoryRelativePaths(
+                            git.getRepository(),
+                            new ScmFileSet(module, Arrays.asList(new File("a.txt"), new File("dir/b.txt")))));
+            assertNull(JGitUtils.getRepositoryRelativePaths(git.getRepository(), new ScmFileSet(workingDirectory)));
+        }
+    }
+
+    @Test
+    void testGetRevCommitsWithPaths() throws Exception {
+        try (Git git = Git.init().setDirectory(workingDirectory).call()) {
+            write("module/a.txt", "a");
+            write("other.txt", "other");
+            RevCommit first = commit(git);
+            write("other.txt", "other2");
+            RevCommit second = commit(git);
+            write("module/a.txt", "a2");
+            RevCommit third = commit(git);
+            write("other.txt", "other3");
+            commit(git);
+
+            List<String> paths = Collections.singletonList("module");
+
+            List<RevCommit> rewritten =
+                    JGitUtils.getRevCommits(git.getRepository(), null, null, null, null, null, -1, paths, true);
+            assertEquals(Arrays.asList(third, first), rewritten);
+            assertEquals(first, rewritten.get(0).getParent(0));
+
+            List<RevCommit> real =
+                    JGitUtils.getRevCommits(git.getRepository(), null, null, null, null, null, -1, paths, false);
+            assertEquals(Arrays.asList(third, first), real);
+            assertEquals(second, real.get(0).getParent(0));
+
+            assertEquals(
+                    Collections.singletonList(third),
+                    JGitUtils.getRevCommits(git.getRepository(), null, null, null, null, null, 1, paths, false));
+        }
+    }
+
+    private void write(String path, String content) throws Exception {
+        File file = new File(workingDirectory, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private RevCommit commit(Git git) throws Exception {
+        // distinct commit times, so that the walk order is well defined
+        PersonIdent ident = new PersonIdent("John Doe", "john@example.org", 1700000000000L + ++time * 1000L, 0);
+        git.add().addFilepattern(".").call();
+        return git.commit().setMessage("commit " + time).setAuthor(ident).setCommitter(ident).call();
+    }
+}
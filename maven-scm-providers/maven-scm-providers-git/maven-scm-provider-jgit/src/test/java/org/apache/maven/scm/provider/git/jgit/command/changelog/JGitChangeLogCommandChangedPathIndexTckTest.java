@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command.changelog;
+
+import org.apache.maven.scm.provider.git.jgit.command.JGitChangedPathIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+/**
+ * Runs the changelog tests with the {@link JGitChangedPathIndex} enabled.
+ */
+public class JGitChangeLogCommandChangedPathIndexTckTest extends JGitChangeLogCommandTckTest {
+    @BeforeEach
+    void enableChangedPathIndex() {
+        System.setProperty(JGitChangedPathIndex.ENABLED_PROPERTY, "true");
+    }
+
+    @AfterEach
+    void disableChangedPathIndex() {
+        System.clearProperty(JGitChangedPathIndex.ENABLED_PROPERTY);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.git.jgit.command.info;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.scm.CommandParameters;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.command.info.InfoItem;
+import org.apache.maven.scm.command.info.InfoScmResult;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JGitInfoCommandTest {
+    @TempDir
+    File workingDirectory;
+
+    private int time;
+
+    @Test
+    void testInfoOfSeveralFiles() throws Exception {
+        try (Git git = Git.init().setDirectory(workingDirectory).call()) {
+            write("a.txt", "a");
+            write("dir/b.txt", "b");
+            write("c.txt", "c");
+            RevCommit first = commit(git, "add all");
+            write("a.txt", "a2");
+            RevCommit second = commit(git, "change a");
+            write("dir/b.txt", "b2");
+            RevCommit third = commit(git, "change b");
+            write("other.txt", "other");
+            commit(git, "add other");
+
+            ScmFileSet fileSet = new ScmFileSet(
+                    workingDirectory,
+                    Arrays.asList(new File("a.txt"), new File("dir/b.txt"), new File("c.txt"), new File("dir")));
+            InfoScmResult result =
+                    (InfoScmResult) new JGitInfoCommand().executeCommand(null, fileSet, new CommandParameters());
+
+            assertTrue(result.isSuccess());
+            List<InfoItem> items = result.getInfoItems();
+            assertEquals(4, items.size());
+            assertInfoItem(items.get(0), "a.txt", second);
+            assertInfoItem(items.get(1), "dir" + File.separator + "b.txt", third);
+            assertInfoItem(items.get(2), "c.txt", first);
+            assertInfoItem(items.get(3), "dir", third);
+        }
+    }
+
+    @Test
+    void testInfoAfterMergeDiscardingSideChange() throws Exception {
+        try (Git git = Git.init().setDirectory(workingDirectory).call()) {
+            write("a.txt", "a");
+            write("b.txt", "b");
+            RevCommit first = commit(git, "add a and b");
+            String master = git.getRepository().getBranch();
+            git.branchCreate().setName("side").call();
+            write("c.txt", "c");
+            RevCommit addC = commit(git, "add c");
+            git.checkout().setName("side").call();
+            write("a.txt", "a2");
+            write("b.txt", "b2");
+            RevCommit side = commit(git, "change a and b");
+            git.checkout().setName(master).call();
+            git.merge().include(side).setCommit(false).call();
+            // the merge keeps a as on the first parent and b as on the side branch
+            write("a.txt", "a");
+            commit(git, "merge side");
+
+            ScmFileSet fileSet = new ScmFileSet(
+                    workingDirectory, Arrays.asList(new File("a.txt"), new File("b.txt"), new File("c.txt")));
+            InfoScmResult result =
+                    (InfoScmResult) new JGitInfoCommand().executeCommand(null, fileSet, new CommandParameters());
+
+            assertTrue(result.isSuccess());
+            List<InfoItem> items = result.getInfoItems();
+            assertEquals(3, items.size());
+            assertInfoItem(items.get(0), "a.txt", first);
+            assertInfoItem(items.get(1), "b.txt", side);
+            assertInfoItem(items.get(2), "c.txt", addC);
+        }
+    }
+
+    private void write(String path, String content) throws Exception {
+        File file = new File(workingDirectory, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private RevCommit commit(Git git, String message) throws Exception {
+        // distinct commit times, so that the walk order is well defined
+        PersonIdent ident = new PersonIdent("John Doe", "john@example.org", 1700000000000L + ++time * 1000L, 0);
+        git.add().addFilepattern(".").call();
+        return git.commit().setMessage(message).setAuthor(ident).setCommitter(ident).call();
+    }
+
+    private static void assertInfoItem(InfoItem item, String path, RevCommit commit) {
+        assertEquals(path, item.getPath());
+        assertEquals(commit.name(), item.getRevision());
+        assertEquals("John Doe <john@example.org>", item.getLastChangedAuthor());
+    }
+}
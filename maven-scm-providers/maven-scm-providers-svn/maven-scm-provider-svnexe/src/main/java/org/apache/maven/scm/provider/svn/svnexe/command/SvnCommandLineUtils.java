@@ -18,11 +18,15 @@
  */
 package org.apache.maven.scm.provider.svn.svnexe.command;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
@@ -32,6 +36,7 @@
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 import org.codehaus.plexus.util.cli.StreamConsumer;
+import org.codehaus.plexus.util.cli.StreamPumper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -144,13 +149,117 @@ public static int execute(
         return exitCode;
     }
 
+    /**
+     * Executes the command and passes its standard output as a byte stream to the given consumer, e.g. for output
+     * which is parsed with an XML reader instead of line by line. If the consumer fails, the command is terminated;
+     * if it reported an error, the exit code is returned so that the error output can be shown. Like the other execute
+     * methods, the command is run again after an 'svn cleanup' if it failed because of locks in the working copy.
+     *
+     * @param cl the command line
+     * @param consumer the consumer of the standard output
+     * @param stderr the consumer of the error output
+     * @return the exit code of the command
+     * @throws CommandLineException if the command cannot be executed or its output cannot be read
+     * @since 2.2.2
+     */
+    public static int executeRaw(
+            Commandline cl, RawStreamConsumer consumer, CommandLineUtils.StringStreamConsumer stderr)
+            throws CommandLineException {
+        return executeRaw(cl, consumer, stderr, null);
+    }
+
+    /**
+     * Like {@link #executeRaw(Commandline, RawStreamConsumer, CommandLineUtils.StringStreamConsumer)}, but passes
+     * each started svn process to the given listener, e.g. to destroy it from another thread.
+     *
+     * @param cl the command line
+     * @param consumer the consumer of the standard output
+     * @param stderr the consumer of the error output
+     * @param started the listener for the started processes, or {@code null}
+     * @return the exit code of the command
+     * @throws CommandLineException if the command cannot be executed or its output cannot be read
+     * @since 2.2.2
+     */
+    public static int executeRaw(
+            Commandline cl,
+            RawStreamConsumer consumer,
+            CommandLineUtils.StringStreamConsumer stderr,
+            Consumer<Process> started)
+            throws CommandLineException {
+        // SCM-482: force English resource bundle
+        cl.addEnvironment("LC_MESSAGES", "en");
+
+        int exitCode = executeRawOnce(cl, consumer, stderr, started);
+
+        if (isCleanUpNeeded(exitCode, stderr)) {
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("Svn command failed due to some locks in working copy. We try to run a 'svn cleanup'.");
+            }
+
+            if (executeCleanUp(cl.getWorkingDirectory(), line -> {}, stderr) == 0) {
+                exitCode = executeRawOnce(cl, consumer, stderr, started);
+            }
+        }
+        return exitCode;
+    }
+
+    private static int executeRawOnce(
+            Commandline cl,
+            RawStreamConsumer consumer,
+            CommandLineUtils.StringStreamConsumer stderr,
+            Consumer<Process> started)
+            throws CommandLineException {
+        Process process = cl.execute();
+        if (started != null) {
+            started.accept(process);
+        }
+        try {
+            StreamPumper errorPumper = new StreamPumper(process.getErrorStream(), stderr);
+            errorPumper.start();
+            process.getOutputStream().close();
+            IOException failure = null;
+            try (InputStream in = new BufferedInputStream(process.getInputStream())) {
+                try {
+                    consumer.consume(new FilterInputStream(in) {
+                        @Override
+                        public void close() {
+                            // closed below, after the remaining output has been drained
+                        }
+                    });
+                } catch (IOException e) {
+                    failure = e;
+                }
+                if (failure != null) {
+                    // the rest of the output is of no use
+                    process.destroy();
+                } else {
+                    // drain what the consumer did not read, so that the command can terminate
+                    while (in.read() != -1) {
+                        // skip
+                    }
+                }
+            }
+            int exitCode = process.waitFor();
+            errorPumper.join();
+            // a command terminated above has a non-zero exit code, but then reports no error of its own
+            if (failure != null && (exitCode == 0 || StringUtils.isEmpty(stderr.getOutput()))) {
+                throw new CommandLineException("Error while reading the svn output.", failure);
+            }
+            return exitCode;
+        } catch (IOException e) {
+            throw new CommandLineException("Error while executing svn command.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CommandLineException("Interrupted while executing svn command.", e);
+        } finally {
+            process.destroy();
+        }
+    }
+
     private static int checkIfCleanUpIsNeeded(
             int exitCode, Commandline cl, StreamConsumer consumer, CommandLineUtils.StringStreamConsumer stderr)
             throws CommandLineException {
-        if (exitCode != 0
-                && stderr.getOutput() != null
-                && stderr.getOutput().indexOf("'svn cleanup'") > 0
-                && stderr.getOutput().indexOf("'svn help cleanup'") > 0) {
+        if (isCleanUpNeeded(exitCode, stderr)) {
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("Svn command failed due to some locks in working copy. We try to run a 'svn cleanup'.");
             }
@@ -162,6 +271,13 @@ private static int checkIfCleanUpIsNeeded(
         return exitCode;
     }
 
+    private static boolean isCleanUpNeeded(int exitCode, CommandLineUtils.StringStreamConsumer stderr) {
+        return exitCode != 0
+                && stderr.getOutput() != null
+                && stderr.getOutput().indexOf("'svn cleanup'") > 0
+                && stderr.getOutput().indexOf("'svn help cleanup'") > 0;
+    }
+
     public static int executeCleanUp(File workinDirectory, StreamConsumer stdout, StreamConsumer stderr)
             throws CommandLineException {
         Commandline cl = new Commandline();
@@ -232,4 +348,18 @@ public static String cryptPassword(Commandline cl) {
 
         return clString;
     }
+
+    /**
+     * Consumer of the raw standard output of an svn command.
+     *
+     * @since 2.2.2
+     */
+    @FunctionalInterface
+    public interface RawStreamConsumer {
+        /**
+         * @param in the standard output
+         * @throws IOException if reading or parsing fails
+         */
+        void consume(InputStream in) throws IOException;
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.svn.svnexe.command;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dispatches the elements of the {@code --xml} output of an svn command to handlers in a single streaming pass.
+ * Handlers are registered for element paths from the root, e.g. {@code status/target/entry}. Subtrees which contain
+ * no element with a handler are skipped without being looked at.
+ *
+ * @since 2.2.2
+ */
+public class SvnXmlDispatcher {
+    /**
+     * Called on the start tag of an element.
+     */
+    @FunctionalInterface
+    public interface StartHandler {
+        /**
+         * @param reader the reader, positioned on the start tag; only its attributes may be read
+         */
+        void start(XMLStreamReader reader);
+    }
+
+    /**
+     * Called with the text of an element which contains only text.
+     */
+    @FunctionalInterface
+    public interface TextHandler {
+        void text(String text);
+    }
+
+    private final Map<String, StartHandler> startHandlers = new HashMap<>();
+
+    private final Map<String, TextHandler> textHandlers = new HashMap<>();
+
+    private final Map<String, Runnable> endHandlers = new HashMap<>();
+
+    /**
+     * The paths of all elements with handlers and their ancestors.
+     */
+    private final Set<String> prefixes = new HashSet<>();
+
+    public SvnXmlDispatcher onStart(String path, StartHandler handler) {
+        startHandlers.put(path, handler);
+        addPrefixes(path);
+        return this;
+    }
+
+    public SvnXmlDispatcher onText(String path, TextHandler handler) {
+        textHandlers.put(path, handler);
+        addPrefixes(path);
+        return this;
+    }
+
+    public SvnXmlDispatcher onEnd(String path, Runnable handler) {
+        endHandlers.put(path, handler);
+        addPrefixes(path);
+        return this;
+    }
+
+    private void addPrefixes(String path) {
+        for (int i = path.indexOf('/'); i >= 0; i = path.indexOf('/', i + 1)) {
+            prefixes.add(path.substring(0, i));
+        }
+        prefixes.add(path);
+    }
+
+    /**
+     * Reads the whole output and calls the handlers in document order.
+     *
+     * @param in the output of the svn command
+     * @throws IOException if the output cannot be read or is not well-formed
+     */
+    public void dispatch(InputStream in) throws IOException {
+        try {
+            XMLStreamReader reader = SvnXmlUtils.createXMLStreamReader(in);
+            try {
+                dispatch(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not parse the svn output.", e);
+        }
+    }
+
+    private void dispatch(XMLStreamReader reader) throws XMLStreamException {
+        // the paths of the open elements, the innermost one at depth - 1
+        String[] paths = new String[16];
+        int depth = 0;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                String path = depth == 0 ? name : paths[depth - 1] + '/' + name;
+                if (!prefixes.contains(path)) {
+                    SvnXmlUtils.skipElement(reader);
+                    continue;
+                }
+
+                StartHandler startHandler = startHandlers.get(path);
+                if (startHandler != null) {
+                    startHandler.start(reader);
+                }
+
+                TextHandler textHandler = textHandlers.get(path);
+                if (textHandler != null) {
+                    // consumes the end tag as well
+                    textHandler.text(reader.getElementText());
+                    end(path);
+                    continue;
+                }
+
+                if (depth == paths.length) {
+                    String[] grown = new String[depth * 2];
+                    System.arraycopy(paths, 0, grown, 0, depth);
+                    paths = grown;
+                }
+                paths[depth++] = path;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                end(paths[--depth]);
+            }
+        }
+    }
+
+    private void end(String path) {
+        Runnable endHandler = endHandlers.get(path);
+        if (endHandler != null) {
+            endHandler.run();
+        }
+    }
+}
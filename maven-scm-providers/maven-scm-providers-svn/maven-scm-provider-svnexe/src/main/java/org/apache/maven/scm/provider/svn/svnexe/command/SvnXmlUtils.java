@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.svn.svnexe.command;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Helpers to read the {@code --xml} output of svn commands with a streaming XML reader.
+ *
+ * @since 2.2.2
+ */
+public final class SvnXmlUtils {
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+            .optionalStart()
+            .appendOffsetId()
+            .optionalEnd()
+            .parseDefaulting(ChronoField.OFFSET_SECONDS, 0)
+            .toFormatter(Locale.ROOT);
+
+    private SvnXmlUtils() {}
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return factory;
+    }
+
+    /**
+     * Creates a reader for the XML output of an svn command, which is always encoded in UTF-8.
+     *
+     * @param in the output
+     * @return the reader
+     * @throws XMLStreamException if the reader cannot be created
+     */
+    public static XMLStreamReader createXMLStreamReader(InputStream in) throws XMLStreamException {
+        return FACTORY.createXMLStreamReader(in, "UTF-8");
+    }
+
+    /**
+     * Skips the current element including all its children, leaving the reader on its end tag.
+     *
+     * @param reader the reader, positioned on a start tag
+     * @throws XMLStreamException if the XML is malformed
+     */
+    public static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Parses a timestamp as written by svn in its XML output, e.g. {@code 2002-08-24T16:01:00.123456Z}. The fraction
+     * is optional and truncated to milliseconds. A timestamp without a zone designator is taken as UTC.
+     *
+     * @param timestamp the timestamp
+     * @return the date
+     * @throws IllegalArgumentException if the timestamp is malformed
+     */
+    public static Date parseDate(String timestamp) {
+        try {
+            return Date.from(Instant.from(TIMESTAMP_FORMAT.parse(timestamp)));
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid timestamp: " + timestamp, e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.svn.svnexe.command.blame;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.command.blame.BlameLine;
+
+/**
+ * The result of blaming several files at once. If svn fails for some of the files, the result is not successful, but
+ * still has the lines of the other ones.
+ *
+ * @since 2.2.2
+ */
+public class SvnBatchBlameScmResult extends ScmResult {
+    private static final long serialVersionUID = 2916238167326425061L;
+
+    private final Map<String, List<BlameLine>> lines;
+
+    private final List<String> failedFilenames;
+
+    public SvnBatchBlameScmResult(String commandLine, Map<String, List<BlameLine>> lines) {
+        super(commandLine, null, null, true);
+
+        this.lines = lines;
+        this.failedFilenames = Collections.emptyList();
+    }
+
+    public SvnBatchBlameScmResult(String commandLine, String providerMessage, String commandOutput, boolean success) {
+        super(commandLine, providerMessage, commandOutput, success);
+
+        this.lines = Collections.emptyMap();
+        this.failedFilenames = Collections.emptyList();
+    }
+
+    /**
+     * Creates a failed result for the files svn could not blame.
+     *
+     * @param commandLine the command line
+     * @param providerMessage the message
+     * @param commandOutput the error output of svn
+     * @param lines the lines of the files which have been blamed
+     * @param failedFilenames the names of the files which have not been blamed
+     */
+    public SvnBatchBlameScmResult(
+            String commandLine,
+            String providerMessage,
+            String commandOutput,
+            Map<String, List<BlameLine>> lines,
+            List<String> failedFilenames) {
+        super(commandLine, providerMessage, commandOutput, false);
+
+        this.lines = lines;
+        this.failedFilenames = failedFilenames;
+    }
+
+    /**
+     * @return the lines of each blamed file, by its name as given
+     */
+    public Map<String, List<BlameLine>> getLines() {
+        return lines;
+    }
+
+    /**
+     * @return the names of the files which have not been blamed, e.g. as they do not exist
+     */
+    public List<String> getFailedFilenames() {
+        return failedFilenames;
+    }
+}
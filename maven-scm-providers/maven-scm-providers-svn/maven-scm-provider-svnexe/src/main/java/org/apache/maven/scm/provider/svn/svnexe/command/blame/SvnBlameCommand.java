@@ -19,10 +19,16 @@
 package org.apache.maven.scm.provider.svn.svnexe.command.blame;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.command.blame.AbstractBlameCommand;
+import org.apache.maven.scm.command.blame.BlameLine;
 import org.apache.maven.scm.command.blame.BlameScmResult;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
@@ -52,7 +58,7 @@ public BlameScmResult executeBlameCommand(ScmProviderRepository repo, ScmFileSet
             throws ScmException {
         Commandline cl = createCommandLine((SvnScmProviderRepository) repo, workingDirectory.getBasedir(), filename);
 
-        SvnBlameConsumer consumer = new SvnBlameConsumer();
+        SvnXmlBlameConsumer consumer = new SvnXmlBlameConsumer();
 
         CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
 
@@ -67,7 +73,7 @@ public BlameScmResult executeBlameCommand(ScmProviderRepository repo, ScmFileSet
         int exitCode;
 
         try {
-            exitCode = SvnCommandLineUtils.execute(cl, consumer, stderr);
+            exitCode = executeXml(cl, consumer::consume, stderr);
         } catch (CommandLineException ex) {
             throw new ScmException("Error while executing command.", ex);
         }
@@ -76,7 +82,87 @@ public BlameScmResult executeBlameCommand(ScmProviderRepository repo, ScmFileSet
             return new BlameScmResult(cl.toString(), "The svn command failed.", stderr.getOutput(), false);
         }
 
-        return new BlameScmResult(cl.toString(), consumer.getLines());
+        List<BlameLine> lines = consumer.getLines(filename);
+        if (lines == null) {
+            // the single target, should svn have rewritten its path
+            lines = consumer.getLines().isEmpty()
+                    ? new ArrayList<>()
+                    : consumer.getLines().values().iterator().next();
+        }
+        return new BlameScmResult(cl.toString(), lines);
+    }
+
+    /**
+     * Blames several files with a single svn process, instead of one process per file.
+     *
+     * @param repo the repository
+     * @param workingDirectory the file set, whose base directory the file names are relative to
+     * @param filenames the names of the files to blame
+     * @return the result, with the lines of each file by its name as given; if svn failed for some files, with the
+     *         lines of the other ones
+     * @throws ScmException if svn cannot be executed
+     * @since 2.2.2
+     */
+    public SvnBatchBlameScmResult executeBatchBlameCommand(
+            ScmProviderRepository repo, ScmFileSet workingDirectory, List<String> filenames) throws ScmException {
+        Commandline cl = createCommandLine((SvnScmProviderRepository) repo, workingDirectory.getBasedir(), filenames);
+
+        SvnXmlBlameConsumer consumer = new SvnXmlBlameConsumer();
+
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Executing: " + SvnCommandLineUtils.cryptPassword(cl));
+
+            if (Os.isFamily(Os.FAMILY_WINDOWS)) {
+                logger.info("Working directory: " + cl.getWorkingDirectory().getAbsolutePath());
+            }
+        }
+
+        int exitCode;
+
+        try {
+            exitCode = executeXml(cl, consumer::consume, stderr);
+        } catch (CommandLineException ex) {
+            throw new ScmException("Error while executing command.", ex);
+        }
+
+        Map<String, List<BlameLine>> lines = new LinkedHashMap<>();
+        List<String> failedFilenames = new ArrayList<>();
+        List<List<BlameLine>> targets = new ArrayList<>(consumer.getLines().values());
+        for (int i = 0; i < filenames.size(); i++) {
+            String filename = filenames.get(i);
+            List<BlameLine> fileLines = consumer.getLines(filename);
+            if (fileLines == null && exitCode == 0 && targets.size() == filenames.size()) {
+                // svn has blamed all targets in the given order, but printed this path differently
+                fileLines = targets.get(i);
+            }
+            if (fileLines != null) {
+                lines.put(filename, fileLines);
+            } else if (exitCode == 0) {
+                // e.g. a binary file, which svn skips with a warning
+                lines.put(filename, new ArrayList<>());
+            } else {
+                failedFilenames.add(filename);
+            }
+        }
+
+        if (exitCode != 0) {
+            return new SvnBatchBlameScmResult(
+                    cl.toString(), "The svn command failed.", stderr.getOutput(), lines, failedFilenames);
+        }
+        return new SvnBatchBlameScmResult(cl.toString(), lines);
+    }
+
+    /**
+     * Runs an svn command with XML output, which tests replace to stub svn.
+     */
+    int executeXml(
+            Commandline cl,
+            SvnCommandLineUtils.RawStreamConsumer consumer,
+            CommandLineUtils.StringStreamConsumer stderr)
+            throws CommandLineException {
+        return SvnCommandLineUtils.executeRaw(cl, consumer, stderr);
     }
 
     public Commandline createCommandLine(SvnScmProviderRepository repository, File workingDirectory, String filename) {
@@ -86,4 +172,24 @@ public Commandline createCommandLine(SvnScmProviderRepository repository, File w
         cl.createArg().setValue(filename);
         return cl;
     }
+
+    /**
+     * @since 2.2.2
+     */
+    public Commandline createCommandLine(
+            SvnScmProviderRepository repository, File workingDirectory, List<String> filenames) throws ScmException {
+        Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine(workingDirectory, repository, interactive);
+        cl.createArg().setValue("blame");
+        cl.createArg().setValue("--xml");
+        List<File> files = new ArrayList<>(filenames.size());
+        for (String filename : filenames) {
+            files.add(new File(filename));
+        }
+        try {
+            SvnCommandLineUtils.addTarget(cl, files);
+        } catch (IOException e) {
+            throw new ScmException("Can't create the targets file", e);
+        }
+        return cl;
+    }
 }
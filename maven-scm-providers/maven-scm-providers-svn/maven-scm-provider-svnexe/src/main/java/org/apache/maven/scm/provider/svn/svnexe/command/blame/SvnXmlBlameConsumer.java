@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.svn.svnexe.command.blame;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.scm.command.blame.BlameLine;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnXmlUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses the output of {@code svn blame --xml} for any number of targets with a streaming XML reader. As with
+ * {@link SvnBlameConsumer}, lines which have not been committed yet are skipped. Authors and revisions are shared
+ * between the lines of all targets, as a file usually has far fewer distinct ones than lines.
+ * <p>
+ * A target is only recorded once its element is complete, so the targets read before svn failed can still be used.
+ * Their paths are looked up in the canonical form svn prints them in, see {@link #canonicalize(String)}.
+ *
+ * @since 2.2.2
+ */
+public class SvnXmlBlameConsumer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SvnXmlBlameConsumer.class);
+
+    private final Map<String, List<BlameLine>> lines = new LinkedHashMap<>();
+
+    private final Map<String, String> strings = new HashMap<>();
+
+    /**
+     * @param in the output of the svn command
+     * @throws IOException if the output cannot be read or is not well-formed
+     */
+    public void consume(InputStream in) throws IOException {
+        try {
+            XMLStreamReader reader = SvnXmlUtils.createXMLStreamReader(in);
+            try {
+                String path = null;
+                List<BlameLine> current = null;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.END_ELEMENT && "target".equals(reader.getLocalName())) {
+                        lines.put(canonicalize(path), current);
+                        current = null;
+                    }
+                    if (event != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    String name = reader.getLocalName();
+                    if ("target".equals(name)) {
+                        path = reader.getAttributeValue(null, "path");
+                        current = new ArrayList<>();
+                    } else if ("entry".equals(name) && current != null) {
+                        BlameLine line = readEntry(reader);
+                        if (line != null) {
+                            current.add(line);
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not parse the svn blame output.", e);
+        }
+    }
+
+    /**
+     * @return the line of a blamed entry, or {@code null} if it has not been committed yet
+     */
+    private BlameLine readEntry(XMLStreamReader reader) throws XMLStreamException {
+        String revision = null;
+        String author = null;
+        Date date = null;
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if (depth == 1 && "commit".equals(name)) {
+                    revision = share(reader.getAttributeValue(null, "revision"));
+                    depth++;
+                } else if (depth == 2 && "author".equals(name)) {
+                    author = share(reader.getElementText());
+                } else if (depth == 2 && "date".equals(name)) {
+                    date = parseDate(reader.getElementText());
+                } else {
+                    // e.g. the merged commit of svn blame -g
+                    SvnXmlUtils.skipElement(reader);
+                }
+            }
+        }
+        return revision != null ? new BlameLine(date, revision, author) : null;
+    }
+
+    private static Date parseDate(String date) {
+        try {
+            return SvnXmlUtils.parseDate(date);
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("skip invalid date " + date, e);
+            return null;
+        }
+    }
+
+    private String share(String value) {
+        if (value == null) {
+            return null;
+        }
+        String shared = strings.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
+
+    /**
+     * Canonicalizes a local path like svn does before printing it: with forward slashes, and without empty or
+     * {@code .} segments and trailing slashes.
+     *
+     * @param path a path
+     * @return the canonical path
+     */
+    static String canonicalize(String path) {
+        if (path == null) {
+            return null;
+        }
+        String[] segments = path.replace('\\', '/').split("/");
+        StringBuilder canonical = new StringBuilder(path.length());
+        if (path.startsWith("/") || path.startsWith("\\")) {
+            canonical.append('/');
+        }
+        int start = canonical.length();
+        for (String segment : segments) {
+            if (segment.isEmpty() || ".".equals(segment)) {
+                continue;
+            }
+            if (canonical.length() > start) {
+                canonical.append('/');
+            }
+            canonical.append(segment);
+        }
+        return canonical.toString();
+    }
+
+    /**
+     * @return the lines of all blamed targets, by their canonical path
+     */
+    public Map<String, List<BlameLine>> getLines() {
+        return lines;
+    }
+
+    /**
+     * @param target the path of a target as given on the command line
+     * @return its lines, or {@code null} if it has not been blamed
+     */
+    public List<BlameLine> getLines(String target) {
+        return lines.get(canonicalize(target));
+    }
+}
@@ -0,0 +1,463 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.svn.svnexe.command.changelog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
+import org.apache.maven.scm.provider.svn.SvnChangeSet;
+
+/**
+ * On-disk cache of the log of a repository path, relying on svn revisions being immutable. The log is stored in
+ * segment files, each covering a contiguous revision range and named after it, e.g. {@code 1-4711.seg}. Segments are
+ * written once to a temporary file and then moved into place, so concurrent builds never read partial segments. Once
+ * there are more than {@value #MAX_SEGMENTS} segments they are merged into one.
+ * <p>
+ * The segments of a path are located in the directory {@code <uuid>/<hash>} below the cache directory, where
+ * {@code uuid} is the repository UUID and {@code hash} the SHA-1 of the path below the repository root.
+ *
+ * @since 2.2.2
+ */
+public class SvnChangeLogCache {
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private static final int MAGIC = 0x4d534353;
+
+    private static final int VERSION = 1;
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    /**
+     * The file actions which can be stored, indexed by their position.
+     */
+    private static final ScmFileStatus[] ACTIONS = {
+        ScmFileStatus.UNKNOWN,
+        ScmFileStatus.ADDED,
+        ScmFileStatus.COPIED,
+        ScmFileStatus.DELETED,
+        ScmFileStatus.MODIFIED,
+        ScmFileStatus.UPDATED
+    };
+
+    private final File directory;
+
+    /**
+     * The segment files by their first revision.
+     */
+    private final TreeMap<Long, File> segments = new TreeMap<>();
+
+    private long highWaterMark;
+
+    /**
+     * @param cacheDirectory the root directory of the cache
+     * @param uuid the UUID of the repository
+     * @param path the path of the logged URL below the repository root
+     */
+    public SvnChangeLogCache(File cacheDirectory, String uuid, String path) {
+        this.directory = new File(new File(cacheDirectory, uuid), sha1(path));
+        scan();
+    }
+
+    /**
+     * Finds the segments which cover the revisions from 1 on without gaps.
+     */
+    private void scan() {
+        segments.clear();
+        highWaterMark = 0;
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        Map<Long, Long> ends = new HashMap<>();
+        Map<Long, File> candidates = new HashMap<>();
+        for (File file : files) {
+            String name = file.getName();
+            int dash = name.indexOf('-');
+            if (dash < 0) {
+                continue;
+            }
+            try {
+                long from = Long.parseLong(name.substring(0, dash));
+                long to = Long.parseLong(name.substring(dash + 1, name.length() - SEGMENT_SUFFIX.length()));
+                Long end = ends.get(from);
+                // of segments starting at the same revision, e.g. left over from a merge, the longest one wins
+                if (to >= from && (end == null || end < to)) {
+                    ends.put(from, to);
+                    candidates.put(from, file);
+                }
+            } catch (NumberFormatException e) {
+                // not a segment
+            }
+        }
+
+        for (long from = 1; ends.containsKey(from); from = highWaterMark + 1) {
+            segments.put(from, candidates.get(from));
+            highWaterMark = ends.get(from);
+        }
+    }
+
+    /**
+     * @return the last revision covered by the cache, or {@code 0} if it is empty
+     */
+    public long getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Reads all cached log entries.
+     *
+     * @return the entries in ascending revision order
+     * @throws IOException if a segment cannot be read
+     */
+    public List<ChangeSet> read() throws IOException {
+        List<ChangeSet> changeSets = new ArrayList<>();
+        read(1, highWaterMark, false, 0, changeSets::add);
+        return changeSets;
+    }
+
+    /**
+     * Passes the cached log entries of a revision range to the consumer, reading one entry at a time instead of
+     * loading all of them. In descending order the positions of the entries of a segment are determined first, as the
+     * segments are written in ascending order.
+     *
+     * @param low the first revision of the range
+     * @param high the last revision of the range
+     * @param descending whether to pass the entries in descending revision order
+     * @param limit the maximum number of entries to pass, or {@code 0} for all
+     * @param consumer the consumer of the entries
+     * @return the number of entries passed to the consumer
+     * @throws IOException if a segment cannot be read
+     */
+    public int read(long low, long high, boolean descending, int limit, ChangeSetConsumer consumer)
+            throws IOException {
+        List<Map.Entry<Long, File>> ranges = new ArrayList<>(segments.entrySet());
+        if (descending) {
+            Collections.reverse(ranges);
+        }
+        int max = limit > 0 ? limit : Integer.MAX_VALUE;
+        int count = 0;
+        for (Map.Entry<Long, File> range : ranges) {
+            Long next = segments.higherKey(range.getKey());
+            long last = next != null ? next - 1 : highWaterMark;
+            if (count < max && range.getKey() <= high && last >= low) {
+                count += descending
+                        ? readSegmentDescending(range.getValue(), low, high, max - count, consumer)
+                        : readSegment(range.getValue(), low, high, max - count, consumer);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds the log entries of the revisions following the high water mark up to the given revision.
+     *
+     * @param changeSets all entries of the revisions following the high water mark up to the given revision, in any
+     *                   order
+     * @param revision the last revision which has been fetched
+     * @throws IOException if the segment cannot be written
+     */
+    public void append(List<ChangeSet> changeSets, long revision) throws IOException {
+        if (revision <= highWaterMark) {
+            return;
+        }
+        List<ChangeSet> sorted = new ArrayList<>(changeSets);
+        sorted.sort((a, b) -> Long.compare(getRevision(a), getRevision(b)));
+
+        Files.createDirectories(directory.toPath());
+        if (segments.size() >= MAX_SEGMENTS) {
+            List<File> merged = new ArrayList<>(segments.values());
+            writeSegment(1, revision, merged, sorted);
+            for (File segment : merged) {
+                Files.deleteIfExists(segment.toPath());
+            }
+        } else {
+            writeSegment(highWaterMark + 1, revision, Collections.emptyList(), sorted);
+        }
+        scan();
+    }
+
+    /**
+     * Writes a segment consisting of the entries of the given segments, copied one at a time, followed by the given
+     * entries.
+     */
+    private void writeSegment(long from, long to, List<File> sources, List<ChangeSet> changeSets) throws IOException {
+        Path target = new File(directory, from + "-" + to + SEGMENT_SUFFIX).toPath();
+        Path temp = Files.createTempFile(directory.toPath(), "segment", ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(temp);
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+                int count = changeSets.size();
+                for (File source : sources) {
+                    try (DataInputStream in = openSegment(source)) {
+                        count += in.readInt();
+                    }
+                }
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(count);
+                for (File source : sources) {
+                    try (DataInputStream in = openSegment(source)) {
+                        for (int i = in.readInt(); i > 0; i--) {
+                            writeChangeSet(out, readChangeSet(in));
+                        }
+                    }
+                }
+                for (ChangeSet changeSet : changeSets) {
+                    writeChangeSet(out, changeSet);
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeChangeSet(DataOutputStream out, ChangeSet changeSet) throws IOException {
+        out.writeLong(getRevision(changeSet));
+        out.writeLong(changeSet.getDate() != null ? changeSet.getDate().getTime() : NO_DATE);
+        writeString(out, changeSet.getAuthor());
+        writeString(out, changeSet.getComment());
+        List<ChangeFile> files = changeSet.getFiles();
+        out.writeInt(files.size());
+        for (ChangeFile file : files) {
+            int action = 0;
+            for (int i = 0; i < ACTIONS.length; i++) {
+                if (ACTIONS[i] == file.getAction()) {
+                    action = i;
+                }
+            }
+            out.writeByte(action);
+            writeString(out, file.getName());
+            writeString(out, file.getOriginalName());
+            writeString(out, file.getOriginalRevision());
+        }
+    }
+
+    /**
+     * Opens a segment, leaving the stream on the number of entries.
+     */
+    private static DataInputStream openSegment(File segment) throws IOException {
+        return openSegment(segment, new BufferedInputStream(Files.newInputStream(segment.toPath())));
+    }
+
+    private static DataInputStream openSegment(File segment, InputStream is) throws IOException {
+        DataInputStream in = new DataInputStream(is);
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported format of " + segment);
+            }
+            return in;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private static int readSegment(File segment, long low, long high, int limit, ChangeSetConsumer consumer)
+            throws IOException {
+        int passed = 0;
+        try (DataInputStream in = openSegment(segment)) {
+            for (int i = in.readInt(); i > 0 && passed < limit; i--) {
+                ChangeSet changeSet = readChangeSet(in);
+                long revision = getRevision(changeSet);
+                if (revision > high) {
+                    break;
+                }
+                if (revision >= low) {
+                    consumer.consume(changeSet);
+                    passed++;
+                }
+            }
+        }
+        return passed;
+    }
+
+    private static int readSegmentDescending(
+            File segment, long low, long high, int limit, ChangeSetConsumer consumer) throws IOException {
+        // the start and the end offset of each entry of the range
+        long[] offsets = new long[64];
+        int entries = 0;
+        CountingInputStream counter =
+                new CountingInputStream(new BufferedInputStream(Files.newInputStream(segment.toPath())));
+        try (DataInputStream in = openSegment(segment, counter)) {
+            for (int i = in.readInt(); i > 0; i--) {
+                long start = counter.count;
+                long revision = getRevision(readChangeSet(in));
+                if (revision > high) {
+                    break;
+                }
+                if (revision >= low) {
+                    if (entries * 2 == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                    }
+                    offsets[entries * 2] = start;
+                    offsets[entries * 2 + 1] = counter.count;
+                    entries++;
+                }
+            }
+        }
+
+        int passed = 0;
+        try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.READ)) {
+            for (int i = entries - 1; i >= 0 && passed < limit; i--) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) (offsets[i * 2 + 1] - offsets[i * 2]));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, offsets[i * 2] + buffer.position()) < 0) {
+                        throw new EOFException("Truncated segment " + segment);
+                    }
+                }
+                consumer.consume(readChangeSet(new DataInputStream(new ByteArrayInputStream(buffer.array()))));
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    private static ChangeSet readChangeSet(DataInputStream in) throws IOException {
+        SvnChangeSet changeSet = new SvnChangeSet();
+        String revision = Long.toString(in.readLong());
+        changeSet.setRevision(revision);
+        long date = in.readLong();
+        changeSet.setDate(date != NO_DATE ? new Date(date) : null);
+        changeSet.setAuthor(readString(in));
+        changeSet.setComment(readString(in));
+        int fileCount = in.readInt();
+        List<ChangeFile> files = new ArrayList<>(fileCount);
+        for (int j = 0; j < fileCount; j++) {
+            int action = in.readUnsignedByte();
+            ChangeFile file = new ChangeFile(readString(in), revision);
+            file.setAction(action < ACTIONS.length ? ACTIONS[action] : ScmFileStatus.UNKNOWN);
+            file.setOriginalName(readString(in));
+            file.setOriginalRevision(readString(in));
+            files.add(file);
+        }
+        changeSet.setFiles(files);
+        return changeSet;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static long getRevision(ChangeSet changeSet) {
+        return Long.parseLong(changeSet.getRevision());
+    }
+
+    private static String sha1(String path) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(path.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Counts the bytes read, to locate the entries of a segment.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
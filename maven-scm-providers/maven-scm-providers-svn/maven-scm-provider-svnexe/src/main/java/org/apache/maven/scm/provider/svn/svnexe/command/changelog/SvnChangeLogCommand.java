@@ -18,40 +18,98 @@
  */
 package org.apache.maven.scm.provider.svn.svnexe.command.changelog;
 
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.CommandParameter;
 import org.apache.maven.scm.CommandParameters;
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmException;
 import org.apache.maven.scm.ScmFileSet;
 import org.apache.maven.scm.ScmResult;
+import org.apache.maven.scm.ScmRevision;
 import org.apache.maven.scm.ScmTag;
 import org.apache.maven.scm.ScmVersion;
 import org.apache.maven.scm.command.changelog.AbstractChangeLogCommand;
 import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
 import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
 import org.apache.maven.scm.command.changelog.ChangeLogSet;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
 import org.apache.maven.scm.provider.ScmProviderRepository;
 import org.apache.maven.scm.provider.svn.SvnTagBranchUtils;
 import org.apache.maven.scm.provider.svn.command.SvnCommand;
 import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
 import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnXmlUtils;
 import org.codehaus.plexus.util.Os;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.Commandline;
 
 /**
+ * If the system property {@value #CACHE_PROPERTY} is set, the log is kept in a {@link SvnChangeLogCache}, either in
+ * the given directory or, for the value {@code true}, in the {@code .svn} directory of the working copy. Only the
+ * revisions committed since the last call are then fetched from the server, requests with a revision range or without
+ * any range are served from the cache. Requests by date or for a branch always query the server, as svn resolves
+ * dates to revisions of the whole repository.
+ * <p>
+ * If the system property {@value #PARALLELISM_PROPERTY} is greater than {@code 1}, large revision ranges (including
+ * the whole history) are split into shards, which are fetched by concurrent svn processes and merged in revision
+ * order.
+ *
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
  * @author Olivier Lamy
  */
 public class SvnChangeLogCommand extends AbstractChangeLogCommand implements SvnCommand {
+    /**
+     * The system property to enable the changelog cache, either a directory or {@code true}.
+     *
+     * @since 2.2.2
+     */
+    public static final String CACHE_PROPERTY = "maven.scm.svn.changelog.cache";
+
+    /**
+     * The system property to configure the number of svn processes a large revision range is fetched with.
+     *
+     * @since 2.2.2
+     */
+    public static final String PARALLELISM_PROPERTY = "maven.scm.svn.changelog.parallelism";
+
+    private static final String CACHE_DIRECTORY_NAME = "maven-scm-changelog";
+
+    /**
+     * The minimum number of revisions of a shard, smaller ranges are not worth another connection.
+     */
+    private static final long MIN_SHARD_SIZE = 1000;
+
+    /**
+     * Several shards per thread even out shards with fewer entries, and with a limit the later shards may not even be
+     * started.
+     */
+    private static final int SHARDS_PER_THREAD = 4;
+
     private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss Z";
     private final boolean interactive;
 
@@ -62,6 +120,8 @@ public SvnChangeLogCommand(boolean interactive) {
     @Override
     public ScmResult executeCommand(ScmProviderRepository repository, ScmFileSet fileSet, CommandParameters parameters)
             throws ScmException {
+        setChangeSetConsumer(parameters.getChangeSetConsumer(CommandParameter.CHANGE_SET_CONSUMER));
+
         return executeChangeLogCommand(
                 repository,
                 fileSet,
@@ -134,6 +194,27 @@ private ChangeLogScmResult executeChangeLogCommand(
             ScmVersion endVersion,
             Integer limit)
             throws ScmException {
+        File cacheDirectory = getCacheDirectory(fileSet.getBasedir());
+        int parallelism = Integer.getInteger(PARALLELISM_PROPERTY, 1);
+        if ((cacheDirectory != null || parallelism > 1)
+                && isRevisionRange(branch, startDate, startVersion, endVersion)) {
+            ChangeLogScmResult result = executeRevisionRangeChangeLogCommand(
+                    (SvnScmProviderRepository) repo,
+                    fileSet.getBasedir(),
+                    cacheDirectory,
+                    parallelism,
+                    startDate,
+                    endDate,
+                    startVersion,
+                    endVersion,
+                    limit);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        // a custom date pattern can only be applied to the human readable output
+        boolean xml = datePattern == null;
         Commandline cl = createCommandLine(
                 (SvnScmProviderRepository) repo,
                 fileSet.getBasedir(),
@@ -142,9 +223,11 @@ private ChangeLogScmResult executeChangeLogCommand(
                 endDate,
                 startVersion,
                 endVersion,
-                limit);
+                limit,
+                xml);
 
         SvnChangeLogConsumer consumer = new SvnChangeLogConsumer(datePattern);
+        consumer.setChangeSetConsumer(getChangeSetConsumer());
 
         CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
 
@@ -159,7 +242,11 @@ private ChangeLogScmResult executeChangeLogCommand(
         int exitCode;
 
         try {
-            exitCode = SvnCommandLineUtils.execute(cl, consumer, stderr);
+            if (xml) {
+                exitCode = executeXml(cl, consumer::consumeXml, stderr, null);
+            } else {
+                exitCode = SvnCommandLineUtils.execute(cl, consumer, stderr);
+            }
         } catch (CommandLineException ex) {
             throw new ScmException("Error while executing svn command.", ex);
         }
@@ -174,6 +261,376 @@ private ChangeLogScmResult executeChangeLogCommand(
         return new ChangeLogScmResult(cl.toString(), changeLogSet);
     }
 
+    /**
+     * Serves a request for a revision range, or for the whole history, from the cache after adding the revisions
+     * committed since it has last been updated, or else by running svn log on a pool of threads.
+     *
+     * @return the result, or {@code null} if the request must be passed to svn as is
+     */
+    private ChangeLogScmResult executeRevisionRangeChangeLogCommand(
+            SvnScmProviderRepository repository,
+            File workingDirectory,
+            File cacheDirectory,
+            int parallelism,
+            Date startDate,
+            Date endDate,
+            ScmVersion startVersion,
+            ScmVersion endVersion,
+            Integer limit)
+            throws ScmException {
+        RepositoryInfo info = getRepositoryInfo(repository, workingDirectory);
+        if (info == null) {
+            return null;
+        }
+
+        // the requested range, which svn fails for revisions beyond HEAD
+        long from = info.revision;
+        long to = 1;
+        if (startVersion != null) {
+            from = Long.parseLong(startVersion.getName());
+            to = endVersion == null || "HEAD".equals(endVersion.getName())
+                    ? info.revision
+                    : Long.parseLong(endVersion.getName());
+            if (from > info.revision || to > info.revision) {
+                return null;
+            }
+        }
+        int max = limit != null && limit > 0 ? limit : 0;
+
+        // the entries are passed on one at a time, they are only collected if there is no change set consumer
+        List<ChangeSet> selected = new ArrayList<>();
+        ChangeSetConsumer consumer = getChangeSetConsumer() != null ? getChangeSetConsumer() : selected::add;
+        String commandLine;
+        if (cacheDirectory != null && info.url.startsWith(info.root)) {
+            SvnChangeLogCache cache =
+                    new SvnChangeLogCache(cacheDirectory, info.uuid, info.url.substring(info.root.length()));
+
+            commandLine = info.commandLine;
+            long highWaterMark = cache.getHighWaterMark();
+            List<ChangeSet> fetched = Collections.emptyList();
+            if (highWaterMark < info.revision) {
+                fetched = new ArrayList<>();
+                ChangeLogScmResult failure = fetch(
+                        repository, workingDirectory, highWaterMark + 1, info.revision, 0, parallelism, fetched::add);
+                if (failure != null) {
+                    return failure;
+                }
+                commandLine = createCommandLine(repository, workingDirectory, highWaterMark + 1, info.revision, 0)
+                        .toString();
+
+                try {
+                    cache.append(fetched, info.revision);
+                } catch (IOException e) {
+                    logger.warn("Could not update the changelog cache: " + e.getMessage());
+                }
+            }
+
+            // the fetched entries which could not be added to the cache follow the cached ones
+            long cached = cache.getHighWaterMark();
+            List<ChangeSet> uncached = new ArrayList<>();
+            for (ChangeSet changeSet : fetched) {
+                long revision = SvnChangeLogCache.getRevision(changeSet);
+                if (revision > cached && revision >= Math.min(from, to) && revision <= Math.max(from, to)) {
+                    uncached.add(changeSet);
+                }
+            }
+            boolean descending = from > to;
+            int count = 0;
+            try {
+                if (descending) {
+                    Collections.reverse(uncached);
+                    count += consume(uncached, max, consumer);
+                }
+                if (max == 0 || count < max) {
+                    count += cache.read(
+                            Math.min(from, to),
+                            Math.min(Math.max(from, to), cached),
+                            descending,
+                            max == 0 ? 0 : max - count,
+                            consumer);
+                }
+                if (!descending && (max == 0 || count < max)) {
+                    consume(uncached, max == 0 ? 0 : max - count, consumer);
+                }
+            } catch (IOException e) {
+                if (count > 0) {
+                    throw new ScmException("Could not read the changelog cache.", e);
+                }
+                logger.warn("Could not read the changelog cache, querying the server instead: " + e.getMessage());
+                return null;
+            }
+        } else if (parallelism > 1) {
+            ChangeLogScmResult failure = fetch(repository, workingDirectory, from, to, max, parallelism, consumer);
+            if (failure != null) {
+                return failure;
+            }
+            commandLine = createCommandLine(repository, workingDirectory, from, to, max).toString();
+        } else {
+            return null;
+        }
+
+        ChangeLogSet changeLogSet = new ChangeLogSet(selected, startDate, endDate);
+        changeLogSet.setStartVersion(startVersion);
+        changeLogSet.setEndVersion(endVersion);
+
+        return new ChangeLogScmResult(commandLine, changeLogSet);
+    }
+
+    /**
+     * Passes at most {@code limit} (or for {@code 0} all) of the given entries to the consumer.
+     *
+     * @return the number of entries passed
+     */
+    private static int consume(List<ChangeSet> changeSets, int limit, ChangeSetConsumer consumer) {
+        int count = limit > 0 ? Math.min(limit, changeSets.size()) : changeSets.size();
+        for (int i = 0; i < count; i++) {
+            consumer.consume(changeSets.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * Runs svn log for the revision range {@code from:to}. Large ranges are split into shards, which are run in
+     * parallel on at most the given number of threads. As svn fails for shards before the path existed, the range is
+     * then first clamped to the lifetime of the path. Once the preceding shards have yielded the limit, or if one of
+     * them fails, the remaining ones are stopped.
+     *
+     * @param limit the maximum number of entries, or {@code 0} for all
+     * @param consumer receives the entries in the order of the range, those of a shard once the preceding shards have
+     *                 been passed on
+     * @return the result of the failed svn command, or {@code null} on success
+     */
+    private ChangeLogScmResult fetch(
+            SvnScmProviderRepository repository,
+            File workingDirectory,
+            long from,
+            long to,
+            int limit,
+            int parallelism,
+            ChangeSetConsumer consumer)
+            throws ScmException {
+        if (getShards(from, to, parallelism).size() > 1) {
+            List<ChangeSet> first = new ArrayList<>(1);
+            ChangeLogScmResult failure =
+                    fetchShard(repository, workingDirectory, 1, Math.max(from, to), 1, null, null, first::add);
+            if (failure != null) {
+                return failure;
+            }
+            if (first.isEmpty()) {
+                return null;
+            }
+            long firstRevision = SvnChangeLogCache.getRevision(first.get(0));
+            if (from <= to) {
+                from = Math.max(from, firstRevision);
+            } else {
+                to = Math.max(to, firstRevision);
+            }
+        }
+
+        List<long[]> bounds = getShards(from, to, parallelism);
+        if (bounds.size() <= 1) {
+            return fetchShard(repository, workingDirectory, from, to, limit, null, null, consumer);
+        }
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<Process> processes = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, bounds.size()));
+        try {
+            List<Future<ChangeLogScmResult>> futures = new ArrayList<>(bounds.size());
+            List<List<ChangeSet>> shards = new ArrayList<>(bounds.size());
+            for (long[] shardBounds : bounds) {
+                List<ChangeSet> shard = new ArrayList<>();
+                shards.add(shard);
+                futures.add(executor.submit(() -> fetchShard(
+                        repository,
+                        workingDirectory,
+                        shardBounds[0],
+                        shardBounds[1],
+                        limit,
+                        cancelled,
+                        processes::add,
+                        shard::add)));
+            }
+
+            int count = 0;
+            for (int i = 0; i < futures.size() && (limit == 0 || count < limit); i++) {
+                ChangeLogScmResult failure = futures.get(i).get();
+                if (failure != null) {
+                    return failure;
+                }
+                // the entries of the shard are no longer kept once passed on
+                count += consume(shards.set(i, null), limit == 0 ? 0 : limit - count, consumer);
+            }
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ScmException) {
+                throw (ScmException) e.getCause();
+            }
+            throw new ScmException("Error while executing svn command.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScmException("Interrupted while executing svn command.", e);
+        } finally {
+            // shards which have not started yet stop at once, the svn processes of the running ones are terminated
+            cancelled.set(true);
+            executor.shutdownNow();
+            synchronized (processes) {
+                for (Process process : processes) {
+                    process.destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits the revision range {@code from:to} into shards of at least {@value #MIN_SHARD_SIZE} revisions, several
+     * per thread.
+     *
+     * @return the first and the last revision of each shard, in the order of the range
+     */
+    static List<long[]> getShards(long from, long to, int parallelism) {
+        long size = Math.abs(to - from) + 1;
+        int shardCount = parallelism <= 1
+                ? 1
+                : (int) Math.max(1, Math.min((long) parallelism * SHARDS_PER_THREAD, size / MIN_SHARD_SIZE));
+        long step = (size + shardCount - 1) / shardCount;
+        int direction = from <= to ? 1 : -1;
+
+        List<long[]> shards = new ArrayList<>(shardCount);
+        for (long start = from; direction * (to - start) >= 0; start += direction * step) {
+            long end = direction > 0 ? Math.min(to, start + step - 1) : Math.max(to, start - step + 1);
+            shards.add(new long[] {start, end});
+        }
+        return shards;
+    }
+
+    private ChangeLogScmResult fetchShard(
+            SvnScmProviderRepository repository,
+            File workingDirectory,
+            long from,
+            long to,
+            int limit,
+            AtomicBoolean cancelled,
+            Consumer<Process> started,
+            ChangeSetConsumer changeSetConsumer)
+            throws ScmException {
+        Commandline cl = createCommandLine(repository, workingDirectory, from, to, limit);
+        SvnChangeLogConsumer consumer = new SvnChangeLogConsumer(null);
+        consumer.setChangeSetConsumer(changeSetConsumer);
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Executing: " + SvnCommandLineUtils.cryptPassword(cl));
+        }
+
+        int exitCode;
+        try {
+            exitCode = executeXml(
+                    cl,
+                    in -> consumer.consumeXml(cancelled != null ? new CancellableInputStream(in, cancelled) : in),
+                    stderr,
+                    started);
+        } catch (CommandLineException ex) {
+            throw new ScmException("Error while executing svn command.", ex);
+        }
+        if (exitCode != 0) {
+            return new ChangeLogScmResult(cl.toString(), "The svn command failed.", stderr.getOutput(), false);
+        }
+        return null;
+    }
+
+    /**
+     * @param limit the maximum number of entries, or {@code 0} for all
+     */
+    Commandline createCommandLine(
+            SvnScmProviderRepository repository, File workingDirectory, long from, long to, int limit) {
+        return createCommandLine(
+                repository,
+                workingDirectory,
+                null,
+                null,
+                null,
+                new ScmRevision(Long.toString(from)),
+                new ScmRevision(Long.toString(to)),
+                limit > 0 ? limit : null,
+                true);
+    }
+
+    /**
+     * Reads the UUID, the root and the HEAD revision of the repository with {@code svn info --xml}.
+     *
+     * @return the information, or {@code null} if svn failed
+     */
+    private RepositoryInfo getRepositoryInfo(SvnScmProviderRepository repository, File workingDirectory)
+            throws ScmException {
+        Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine(workingDirectory, repository, interactive);
+        cl.createArg().setValue("info");
+        cl.createArg().setValue("--xml");
+        cl.createArg().setValue(repository.getUrl() + "@");
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Executing: " + SvnCommandLineUtils.cryptPassword(cl));
+        }
+
+        RepositoryInfo info = new RepositoryInfo(cl.toString());
+        CommandLineUtils.StringStreamConsumer stderr = new CommandLineUtils.StringStreamConsumer();
+        int exitCode;
+        try {
+            exitCode = executeXml(cl, info::consume, stderr, null);
+        } catch (CommandLineException ex) {
+            throw new ScmException("Error while executing svn command.", ex);
+        }
+        if (exitCode != 0 || info.uuid == null || info.root == null || info.url == null) {
+            return null;
+        }
+        return info;
+    }
+
+    /**
+     * Runs an svn command with XML output, which tests replace to stub svn.
+     */
+    int executeXml(
+            Commandline cl,
+            SvnCommandLineUtils.RawStreamConsumer consumer,
+            CommandLineUtils.StringStreamConsumer stderr,
+            Consumer<Process> started)
+            throws CommandLineException {
+        return SvnCommandLineUtils.executeRaw(cl, consumer, stderr, started);
+    }
+
+    private static boolean isRevisionRange(
+            ScmBranch branch, Date startDate, ScmVersion startVersion, ScmVersion endVersion) {
+        if ((branch != null && StringUtils.isNotEmpty(branch.getName())) || startDate != null) {
+            return false;
+        }
+        if (startVersion == null) {
+            // the end version is ignored without a start version, except for BASE
+            return endVersion == null || !"BASE".equals(endVersion.getName());
+        }
+        return StringUtils.isNumeric(startVersion.getName())
+                && (endVersion == null
+                        || "HEAD".equals(endVersion.getName())
+                        || StringUtils.isNumeric(endVersion.getName()));
+    }
+
+    private static File getCacheDirectory(File basedir) {
+        String value = System.getProperty(CACHE_PROPERTY);
+        if (StringUtils.isEmpty(value) || "false".equals(value)) {
+            return null;
+        }
+        if (!"true".equals(value)) {
+            return new File(value);
+        }
+        // the administrative directory of the working copy root, or of each directory before svn 1.7
+        for (File dir = basedir.getAbsoluteFile(); dir != null; dir = dir.getParentFile()) {
+            File adminDirectory = new File(dir, ".svn");
+            if (adminDirectory.isDirectory()) {
+                return new File(adminDirectory, CACHE_DIRECTORY_NAME);
+            }
+        }
+        return null;
+    }
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
@@ -199,6 +656,25 @@ public Commandline createCommandLine(
             ScmVersion startVersion,
             ScmVersion endVersion,
             Integer limit) {
+        return createCommandLine(
+                repository, workingDirectory, branch, startDate, endDate, startVersion, endVersion, limit, false);
+    }
+
+    /**
+     * @param xml {@code true} for the output expected by {@link SvnChangeLogConsumer#consumeXml}, otherwise the
+     *            human readable output is requested
+     * @since 2.2.2
+     */
+    public Commandline createCommandLine(
+            SvnScmProviderRepository repository,
+            File workingDirectory,
+            ScmBranch branch,
+            Date startDate,
+            Date endDate,
+            ScmVersion startVersion,
+            ScmVersion endVersion,
+            Integer limit,
+            boolean xml) {
         SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
 
         dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
@@ -209,6 +685,10 @@ public Commandline createCommandLine(
 
         cl.createArg().setValue("-v");
 
+        if (xml) {
+            cl.createArg().setValue("--xml");
+        }
+
         // TODO: May want to add some kind of support for --stop-on-copy and --limit NUM
 
         if (limit != null && limit > 0) {
@@ -260,4 +740,80 @@ public Commandline createCommandLine(
 
         return cl;
     }
+
+    /**
+     * The output of {@code svn info --xml} for the repository URL.
+     */
+    private static final class RepositoryInfo {
+        private final String commandLine;
+
+        private String uuid;
+
+        private String root;
+
+        private String url;
+
+        private long revision;
+
+        private RepositoryInfo(String commandLine) {
+            this.commandLine = commandLine;
+        }
+
+        private void consume(InputStream in) throws IOException {
+            try {
+                XMLStreamReader reader = SvnXmlUtils.createXMLStreamReader(in);
+                try {
+                    while (reader.hasNext()) {
+                        if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                            continue;
+                        }
+                        String name = reader.getLocalName();
+                        if ("entry".equals(name)) {
+                            revision = Long.parseLong(reader.getAttributeValue(null, "revision"));
+                        } else if ("url".equals(name)) {
+                            url = reader.getElementText();
+                        } else if ("root".equals(name)) {
+                            root = reader.getElementText();
+                        } else if ("uuid".equals(name)) {
+                            uuid = reader.getElementText();
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            } catch (XMLStreamException | NumberFormatException e) {
+                throw new IOException("Could not parse the svn info output.", e);
+            }
+        }
+    }
+
+    /**
+     * Fails reading once the shard is no longer needed.
+     */
+    private static final class CancellableInputStream extends FilterInputStream {
+        private final AtomicBoolean cancelled;
+
+        private CancellableInputStream(InputStream in, AtomicBoolean cancelled) {
+            super(in);
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkCancelled();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkCancelled();
+            return super.read(b, off, len);
+        }
+
+        private void checkCancelled() throws InterruptedIOException {
+            if (cancelled.get()) {
+                throw new InterruptedIOException("Cancelled");
+            }
+        }
+    }
 }
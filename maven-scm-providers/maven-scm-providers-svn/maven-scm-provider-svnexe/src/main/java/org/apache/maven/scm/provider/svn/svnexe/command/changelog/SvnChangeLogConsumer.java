@@ -18,6 +18,12 @@
  */
 package org.apache.maven.scm.provider.svn.svnexe.command.changelog;
 
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -27,18 +33,15 @@
 import org.apache.maven.scm.ChangeFile;
 import org.apache.maven.scm.ChangeSet;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.command.changelog.ChangeSetConsumer;
 import org.apache.maven.scm.provider.svn.SvnChangeSet;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnXmlUtils;
 import org.apache.maven.scm.util.AbstractConsumer;
 
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
  */
 public class SvnChangeLogConsumer extends AbstractConsumer {
-    /**
-     * Date formatter for svn timestamp (after a little massaging)
-     */
-    private static final String SVN_TIMESTAMP_PATTERN = "yyyy-MM-dd HH:mm:ss zzzzzzzzz";
-
     /**
      * State machine constant: expecting header.
      */
@@ -123,6 +126,11 @@ public class SvnChangeLogConsumer extends AbstractConsumer {
 
     private final String userDateFormat;
 
+    /**
+     * Receives the parsed entries instead of {@link #entries}, if set.
+     */
+    private ChangeSetConsumer changeSetConsumer;
+
     /**
      * Default constructor.
      */
@@ -130,6 +138,16 @@ public SvnChangeLogConsumer(String userDateFormat) {
         this.userDateFormat = userDateFormat;
     }
 
+    /**
+     * Passes each parsed entry to the given consumer, instead of collecting it in {@link #getModifications()}.
+     *
+     * @param changeSetConsumer the consumer, or {@code null} to collect the entries
+     * @since 2.2.2
+     */
+    public void setChangeSetConsumer(ChangeSetConsumer changeSetConsumer) {
+        this.changeSetConsumer = changeSetConsumer;
+    }
+
     public List<ChangeSet> getModifications() {
         return entries;
     }
@@ -160,6 +178,87 @@ public void consumeLine(String line) {
         }
     }
 
+    /**
+     * Parses the output of {@code svn log --xml -v} with a streaming XML reader, passing each log entry on as soon as
+     * it has been read. Unlike the human readable output, log messages cannot be mistaken for entry separators.
+     *
+     * @param in the output of the svn command
+     * @throws IOException if the output cannot be read or is not well-formed
+     * @since 2.2.2
+     */
+    public void consumeXml(InputStream in) throws IOException {
+        try {
+            XMLStreamReader reader = SvnXmlUtils.createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && "logentry".equals(reader.getLocalName())) {
+                        addChangeSet(readLogEntry(reader));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not parse the svn log output.", e);
+        }
+    }
+
+    private SvnChangeSet readLogEntry(XMLStreamReader reader) throws XMLStreamException {
+        SvnChangeSet changeSet = new SvnChangeSet();
+        String revision = reader.getAttributeValue(null, "revision");
+        if (revision == null) {
+            throw new IllegalOutputException("Missing revision at " + reader.getLocation());
+        }
+        changeSet.setRevision(revision);
+        // as in the human readable output
+        changeSet.setAuthor("(no author)");
+        changeSet.setComment("");
+
+        int event;
+        while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            String name = reader.getLocalName();
+            if ("author".equals(name)) {
+                changeSet.setAuthor(reader.getElementText());
+            } else if ("date".equals(name)) {
+                String date = reader.getElementText();
+                try {
+                    changeSet.setDate(SvnXmlUtils.parseDate(date));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalOutputException(date);
+                }
+            } else if ("msg".equals(name)) {
+                // the human readable output ends each line of the message with a line feed
+                changeSet.setComment(reader.getElementText() + '\n');
+            } else if ("paths".equals(name)) {
+                readPaths(reader, changeSet);
+            } else {
+                // e.g. nested merged revisions of svn log -g
+                SvnXmlUtils.skipElement(reader);
+            }
+        }
+        return changeSet;
+    }
+
+    private void readPaths(XMLStreamReader reader, ChangeSet changeSet) throws XMLStreamException {
+        int event;
+        while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            if ("path".equals(reader.getLocalName())) {
+                String action = reader.getAttributeValue(null, "action");
+                String originalName = reader.getAttributeValue(null, "copyfrom-path");
+                String originalRev = reader.getAttributeValue(null, "copyfrom-rev");
+                addFile(changeSet, action, reader.getElementText(), originalName, originalRev);
+            } else {
+                SvnXmlUtils.skipElement(reader);
+            }
+        }
+    }
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
@@ -236,28 +335,7 @@ private void processGetFile(String line) {
                     originalRev = matcher2.group(2);
                 }
             }
-            final String actionStr = matcher.group(1);
-            final ScmFileStatus action;
-            if ("A".equals(actionStr)) {
-                // TODO: this may even change to MOVED if we later explore whole changeset and find matching DELETED
-                action = originalRev == null ? ScmFileStatus.ADDED : ScmFileStatus.COPIED;
-            } else if ("D".equals(actionStr)) {
-                action = ScmFileStatus.DELETED;
-            } else if ("M".equals(actionStr)) {
-                action = ScmFileStatus.MODIFIED;
-            } else if ("R".equals(actionStr)) {
-                action = ScmFileStatus.UPDATED; // == REPLACED in svn terms
-            } else {
-                action = ScmFileStatus.UNKNOWN;
-            }
-            if (logger.isDebugEnabled()) {
-                logger.debug(actionStr + " : " + name);
-            }
-            final ChangeFile changeFile = new ChangeFile(name, currentRevision);
-            changeFile.setAction(action);
-            changeFile.setOriginalName(originalName);
-            changeFile.setOriginalRevision(originalRev);
-            currentChange.addFile(changeFile);
+            addFile(currentChange, matcher.group(1), name, originalName, originalRev);
 
             status = GET_FILE;
         } else if (line.equals(FILE_END_TOKEN)) {
@@ -269,6 +347,31 @@ private void processGetFile(String line) {
         }
     }
 
+    private void addFile(
+            ChangeSet changeSet, String actionStr, String name, String originalName, String originalRev) {
+        final ScmFileStatus action;
+        if ("A".equals(actionStr)) {
+            // TODO: this may even change to MOVED if we later explore whole changeset and find matching DELETED
+            action = originalRev == null ? ScmFileStatus.ADDED : ScmFileStatus.COPIED;
+        } else if ("D".equals(actionStr)) {
+            action = ScmFileStatus.DELETED;
+        } else if ("M".equals(actionStr)) {
+            action = ScmFileStatus.MODIFIED;
+        } else if ("R".equals(actionStr)) {
+            action = ScmFileStatus.UPDATED; // == REPLACED in svn terms
+        } else {
+            action = ScmFileStatus.UNKNOWN;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(actionStr + " : " + name);
+        }
+        final ChangeFile changeFile = new ChangeFile(name, changeSet.getRevision());
+        changeFile.setAction(action);
+        changeFile.setOriginalName(originalName);
+        changeFile.setOriginalRevision(originalRev);
+        changeSet.addFile(changeFile);
+    }
+
     /**
      * Process the current input line in the GET_COMMENT state.  This
      * state gathers all of the comments that are part of a log entry.
@@ -279,7 +382,7 @@ private void processGetComment(String line) {
         if (line.equals(COMMENT_END_TOKEN)) {
             currentChange.setComment(currentComment.toString());
 
-            entries.add(currentChange);
+            addChangeSet(currentChange);
 
             status = GET_HEADER;
         } else {
@@ -287,6 +390,14 @@ private void processGetComment(String line) {
         }
     }
 
+    private void addChangeSet(ChangeSet changeSet) {
+        if (changeSetConsumer != null) {
+            changeSetConsumer.consume(changeSet);
+        } else {
+            entries.add(changeSet);
+        }
+    }
+
     /**
      * Converts the date time stamp from the svn output into a date
      * object.
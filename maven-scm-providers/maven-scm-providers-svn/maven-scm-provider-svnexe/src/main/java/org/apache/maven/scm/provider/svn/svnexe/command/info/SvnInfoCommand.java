@@ -61,7 +61,7 @@ public InfoScmResult executeInfoCommand(
             boolean recursive,
             String revision)
             throws ScmException {
-        Commandline cl = createCommandLine(repository, fileSet, recursive, revision);
+        Commandline cl = createCommandLine(repository, fileSet, recursive, revision, true);
 
         SvnInfoConsumer consumer = new SvnInfoConsumer();
 
@@ -78,7 +78,7 @@ public InfoScmResult executeInfoCommand(
         int exitCode;
 
         try {
-            exitCode = SvnCommandLineUtils.execute(cl, consumer, stderr);
+            exitCode = SvnCommandLineUtils.executeRaw(cl, consumer::consumeXml, stderr);
         } catch (CommandLineException ex) {
             throw new ScmException("Error while executing command.", ex);
         }
@@ -93,10 +93,23 @@ public InfoScmResult executeInfoCommand(
     // set scope to protected to allow test to call it directly
     protected Commandline createCommandLine(
             SvnScmProviderRepository repository, ScmFileSet fileSet, boolean recursive, String revision) {
+        return createCommandLine(repository, fileSet, recursive, revision, false);
+    }
+
+    protected Commandline createCommandLine(
+            SvnScmProviderRepository repository,
+            ScmFileSet fileSet,
+            boolean recursive,
+            String revision,
+            boolean xml) {
         Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine(fileSet.getBasedir(), repository, interactive);
 
         cl.createArg().setValue("info");
 
+        if (xml) {
+            cl.createArg().setValue("--xml");
+        }
+
         if (recursive) {
             cl.createArg().setValue("--recursive");
         }
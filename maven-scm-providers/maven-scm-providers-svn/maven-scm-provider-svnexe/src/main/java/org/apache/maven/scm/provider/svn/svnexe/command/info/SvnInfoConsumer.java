@@ -18,12 +18,15 @@
  */
 package org.apache.maven.scm.provider.svn.svnexe.command.info;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.maven.scm.command.info.InfoItem;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnXmlDispatcher;
 import org.apache.maven.scm.util.AbstractConsumer;
 
 /**
@@ -70,6 +73,40 @@ public void consumeLine(String s) {
         }
     }
 
+    /**
+     * Reads the output of {@code svn info --xml}. The values are the same as the ones of the plain output, except for
+     * the last changed date, which is given in ISO 8601 format.
+     *
+     * @param in the output of the svn command
+     * @throws IOException if the output cannot be read or is not well-formed
+     * @since 2.2.2
+     */
+    public void consumeXml(InputStream in) throws IOException {
+        new SvnXmlDispatcher()
+                .onStart("info/entry", reader -> {
+                    currentItem = new InfoItem();
+                    currentItem.setPath(reader.getAttributeValue(null, "path"));
+                    currentItem.setRevision(reader.getAttributeValue(null, "revision"));
+                    String kind = reader.getAttributeValue(null, "kind");
+                    // as in the plain output
+                    currentItem.setNodeKind("dir".equals(kind) ? "directory" : kind);
+                })
+                .onText("info/entry/url", text -> currentItem.setURL(text))
+                .onText("info/entry/repository/root", text -> currentItem.setRepositoryRoot(text))
+                .onText("info/entry/repository/uuid", text -> currentItem.setRepositoryUUID(text))
+                .onText("info/entry/wc-info/schedule", text -> currentItem.setSchedule(text))
+                .onStart(
+                        "info/entry/commit",
+                        reader -> currentItem.setLastChangedRevision(reader.getAttributeValue(null, "revision")))
+                .onText("info/entry/commit/author", text -> currentItem.setLastChangedAuthor(text))
+                .onText("info/entry/commit/date", text -> {
+                    currentItem.setLastChangedDateTime(DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(text));
+                    currentItem.setLastChangedDate(text);
+                })
+                .onEnd("info/entry", () -> infoItems.add(currentItem))
+                .dispatch(in);
+    }
+
     private static String getValue(String s) {
         int idx = s.indexOf(": ");
 
@@ -56,7 +56,7 @@ public SvnListCommand(boolean interactive) {
     protected ListScmResult executeListCommand(
             ScmProviderRepository repository, ScmFileSet fileSet, boolean recursive, ScmVersion version)
             throws ScmException {
-        Commandline cl = createCommandLine((SvnScmProviderRepository) repository, fileSet, recursive, version);
+        Commandline cl = createCommandLine((SvnScmProviderRepository) repository, fileSet, recursive, version, true);
 
         SvnListConsumer consumer = new SvnListConsumer();
 
@@ -73,7 +73,7 @@ protected ListScmResult executeListCommand(
         int exitCode;
 
         try {
-            exitCode = SvnCommandLineUtils.execute(cl, consumer, stderr);
+            exitCode = SvnCommandLineUtils.executeRaw(cl, consumer::consumeXml, stderr);
         } catch (CommandLineException ex) {
             throw new ScmException("Error while executing command.", ex);
         }
@@ -87,10 +87,23 @@ protected ListScmResult executeListCommand(
 
     Commandline createCommandLine(
             SvnScmProviderRepository repository, ScmFileSet fileSet, boolean recursive, ScmVersion version) {
+        return createCommandLine(repository, fileSet, recursive, version, false);
+    }
+
+    Commandline createCommandLine(
+            SvnScmProviderRepository repository,
+            ScmFileSet fileSet,
+            boolean recursive,
+            ScmVersion version,
+            boolean xml) {
         Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine(TMP_DIR, repository, interactive);
 
         cl.createArg().setValue("list");
 
+        if (xml) {
+            cl.createArg().setValue("--xml");
+        }
+
         if (recursive) {
             cl.createArg().setValue("--recursive");
         }
@@ -18,11 +18,14 @@
  */
 package org.apache.maven.scm.provider.svn.svnexe.command.list;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnXmlDispatcher;
 import org.apache.maven.scm.util.AbstractConsumer;
 
 /**
@@ -31,6 +34,8 @@
 public class SvnListConsumer extends AbstractConsumer {
     private final List<ScmFile> files = new ArrayList<>();
 
+    private boolean directory;
+
     // ----------------------------------------------------------------------
     // StreamConsumer Implementation
     // ----------------------------------------------------------------------
@@ -42,6 +47,20 @@ public void consumeLine(String line) {
         files.add(new ScmFile(line, ScmFileStatus.CHECKED_IN));
     }
 
+    /**
+     * Reads the output of {@code svn list --xml}. As in the plain output, the names of directories end with a slash.
+     *
+     * @param in the output of the svn command
+     * @throws IOException if the output cannot be read or is not well-formed
+     * @since 2.2.2
+     */
+    public void consumeXml(InputStream in) throws IOException {
+        new SvnXmlDispatcher()
+                .onStart("lists/list/entry", reader -> directory = "dir".equals(reader.getAttributeValue(null, "kind")))
+                .onText("lists/list/entry/name", name -> consumeLine(directory ? name + "/" : name))
+                .dispatch(in);
+    }
+
     public List<ScmFile> getFiles() {
         return files;
     }
@@ -46,7 +46,7 @@ public SvnStatusCommand(boolean interactive) {
      * {@inheritDoc}
      */
     protected StatusScmResult executeStatusCommand(ScmProviderRepository repo, ScmFileSet fileSet) throws ScmException {
-        Commandline cl = createCommandLine((SvnScmProviderRepository) repo, fileSet);
+        Commandline cl = createCommandLine((SvnScmProviderRepository) repo, fileSet, true);
 
         SvnStatusConsumer consumer = new SvnStatusConsumer(fileSet.getBasedir());
 
@@ -63,7 +63,7 @@ protected StatusScmResult executeStatusCommand(ScmProviderRepository repo, ScmFi
         int exitCode;
 
         try {
-            exitCode = SvnCommandLineUtils.execute(cl, consumer, stderr);
+            exitCode = SvnCommandLineUtils.executeRaw(cl, consumer::consumeXml, stderr);
         } catch (CommandLineException ex) {
             throw new ScmException("Error while executing command.", ex);
         }
@@ -80,10 +80,25 @@ protected StatusScmResult executeStatusCommand(ScmProviderRepository repo, ScmFi
     // ----------------------------------------------------------------------
 
     public Commandline createCommandLine(SvnScmProviderRepository repository, ScmFileSet fileSet) {
+        return createCommandLine(repository, fileSet, false);
+    }
+
+    /**
+     * @param repository the repository
+     * @param fileSet the working copy
+     * @param xml whether the status is to be written as XML
+     * @return the command line
+     * @since 2.2.2
+     */
+    public Commandline createCommandLine(SvnScmProviderRepository repository, ScmFileSet fileSet, boolean xml) {
         Commandline cl = SvnCommandLineUtils.getBaseSvnCommandLine(fileSet.getBasedir(), repository, interactive);
 
         cl.createArg().setValue("status");
 
+        if (xml) {
+            cl.createArg().setValue("--xml");
+        }
+
         return cl;
     }
 }
@@ -19,11 +19,14 @@
 package org.apache.maven.scm.provider.svn.svnexe.command.status;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.maven.scm.ScmFile;
 import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnXmlDispatcher;
 import org.apache.maven.scm.util.AbstractConsumer;
 
 /**
@@ -34,6 +37,10 @@ public class SvnStatusConsumer extends AbstractConsumer {
 
     private final List<ScmFile> changedFiles = new ArrayList<>();
 
+    private String entryPath;
+
+    private String entryItem;
+
     // ----------------------------------------------------------------------
     //
     // ----------------------------------------------------------------------
@@ -140,6 +147,67 @@ public void consumeLine(String line) {
             return;
         }
 
+        addFile(file, status);
+    }
+
+    /**
+     * Reads the output of {@code svn status --xml}, which is mapped like the first column of the plain output.
+     *
+     * @param in the output of the svn command
+     * @throws IOException if the output cannot be read or is not well-formed
+     * @since 2.2.2
+     */
+    public void consumeXml(InputStream in) throws IOException {
+        SvnXmlDispatcher dispatcher = new SvnXmlDispatcher();
+        // the entries of changelists are listed separately from the ones of their target
+        for (String entry : new String[] {"status/target/entry", "status/changelist/entry"}) {
+            dispatcher
+                    .onStart(entry, reader -> {
+                        entryPath = reader.getAttributeValue(null, "path");
+                        entryItem = null;
+                    })
+                    .onStart(entry + "/wc-status", reader -> entryItem = reader.getAttributeValue(null, "item"))
+                    .onEnd(entry, () -> {
+                        ScmFileStatus status = getStatus(entryItem);
+                        if (status != null) {
+                            addFile(entryPath, status);
+                        }
+                    });
+        }
+        dispatcher.dispatch(in);
+    }
+
+    /**
+     * @param item the item attribute of the wc-status element
+     * @return the status, or {@code null} if the entry is to be skipped
+     */
+    private static ScmFileStatus getStatus(String item) {
+        if (item == null) {
+            return null;
+        }
+        switch (item) {
+            case "added":
+                return ScmFileStatus.ADDED;
+            case "modified":
+            case "replaced":
+            case "obstructed":
+                return ScmFileStatus.MODIFIED;
+            case "deleted":
+                return ScmFileStatus.DELETED;
+            case "unversioned":
+                return ScmFileStatus.UNKNOWN;
+            case "missing":
+            case "incomplete":
+                return ScmFileStatus.MISSING;
+            case "conflicted":
+                return ScmFileStatus.CONFLICT;
+            default:
+                // e.g. normal entries with modified properties only, externals and ignored entries
+                return null;
+        }
+    }
+
+    private void addFile(String file, ScmFileStatus status) {
         // If the file isn't a file; don't add it.
         if (!status.equals(ScmFileStatus.DELETED) && !new File(workingDirectory, file).isFile()) {
             return;
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.svn.svnexe.command;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SvnXmlUtilsTest {
+    @Test
+    void testParseDate() {
+        assertEquals(
+                Instant.parse("2002-08-24T16:01:00.123Z"),
+                SvnXmlUtils.parseDate("2002-08-24T16:01:00.123456Z").toInstant());
+        assertEquals(
+                Instant.parse("2002-08-24T16:01:00Z"),
+                SvnXmlUtils.parseDate("2002-08-24T16:01:00").toInstant());
+        assertEquals(
+                Instant.parse("2002-08-24T14:01:00.500Z"),
+                SvnXmlUtils.parseDate("2002-08-24T16:01:00.5+02:00").toInstant());
+    }
+
+    @Test
+    void testParseInvalidDate() {
+        assertThrows(IllegalArgumentException.class, () -> SvnXmlUtils.parseDate("2002-08-24 16:01:00"));
+        assertThrows(IllegalArgumentException.class, () -> SvnXmlUtils.parseDate("2002-13-24T16:01:00Z"));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.svn.svnexe.command.blame;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmTestCase;
+import org.apache.maven.scm.command.blame.BlameLine;
+import org.apache.maven.scm.provider.svn.repository.SvnScmProviderRepository;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SvnBlameCommandTest extends ScmTestCase {
+    @Test
+    void testBatchCommandLine() throws Exception {
+        File workingDirectory = getTestFile("target/svn-blame-command-test");
+
+        Commandline cl = new SvnBlameCommand(false)
+                .createCommandLine(getSvnRepository(), workingDirectory, Arrays.asList("a.txt", "dir\\b.txt"));
+
+        List<String> arguments = Arrays.asList(cl.getArguments());
+        assertEquals(Arrays.asList("--non-interactive", "blame", "--xml", "--targets"), arguments.subList(0, 4));
+        assertEquals(5, arguments.size());
+        assertEquals(
+                Arrays.asList("a.txt", "dir/b.txt"),
+                Files.readAllLines(new File(arguments.get(4)).toPath(), StandardCharsets.UTF_8));
+        assertEquals(workingDirectory.getAbsoluteFile(), cl.getWorkingDirectory());
+    }
+
+    @Test
+    void testBatchCanonicalPaths() throws Exception {
+        // svn skips binary files with a warning
+        StubSvnBlameCommand command = new StubSvnBlameCommand(blame("a.txt", "dir\\b.txt", "c.txt"), 0, "");
+
+        SvnBatchBlameScmResult result = blame(command, "./a.txt", "dir//b.txt", "image.png", "c.txt/");
+
+        assertTrue(result.isSuccess());
+        assertEquals(
+                Arrays.asList("./a.txt", "dir//b.txt", "image.png", "c.txt/"),
+                new ArrayList<>(result.getLines().keySet()));
+        assertRevision("1", result.getLines().get("./a.txt"));
+        assertRevision("2", result.getLines().get("dir//b.txt"));
+        assertTrue(result.getLines().get("image.png").isEmpty());
+        assertRevision("3", result.getLines().get("c.txt/"));
+        assertTrue(result.getFailedFilenames().isEmpty());
+    }
+
+    @Test
+    void testBatchMappedByPosition() throws Exception {
+        StubSvnBlameCommand command = new StubSvnBlameCommand(blame("/work/a.txt", "/work/b.txt"), 0, "");
+
+        SvnBatchBlameScmResult result = blame(command, "a.txt", "b.txt");
+
+        assertTrue(result.isSuccess());
+        assertRevision("1", result.getLines().get("a.txt"));
+        assertRevision("2", result.getLines().get("b.txt"));
+    }
+
+    @Test
+    void testBatchWithMissingTarget() throws Exception {
+        String stderr = "svn: warning: W155010: The node 'missing.txt' was not found.\n"
+                + "svn: E200009: Could not perform blame on all targets because some targets don't exist\n";
+        StubSvnBlameCommand command = new StubSvnBlameCommand(blame("a.txt", "b.txt"), 1, stderr);
+
+        SvnBatchBlameScmResult result = blame(command, "a.txt", "missing.txt", "b.txt");
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getCommandOutput().contains("W155010"), result.getCommandOutput());
+        assertEquals(Arrays.asList("a.txt", "b.txt"), new ArrayList<>(result.getLines().keySet()));
+        assertRevision("1", result.getLines().get("a.txt"));
+        assertRevision("2", result.getLines().get("b.txt"));
+        assertEquals(Collections.singletonList("missing.txt"), result.getFailedFilenames());
+    }
+
+    @Test
+    void testBatchWithIncompleteOutput() throws Exception {
+        String xml = blame("a.txt", "b.txt");
+        xml = xml.substring(0, xml.indexOf("</target>", xml.indexOf("b.txt")));
+        StubSvnBlameCommand command = new StubSvnBlameCommand(xml, 1, "svn: E175002: Connection reset by peer\n");
+
+        SvnBatchBlameScmResult result = blame(command, "a.txt", "b.txt");
+
+        // the lines read before svn failed are incomplete
+        assertFalse(result.isSuccess());
+        assertEquals(Collections.singletonList("a.txt"), new ArrayList<>(result.getLines().keySet()));
+        assertEquals(Collections.singletonList("b.txt"), result.getFailedFilenames());
+    }
+
+    private SvnBatchBlameScmResult blame(SvnBlameCommand command, String... filenames) throws Exception {
+        return command.executeBatchBlameCommand(
+                getSvnRepository(),
+                new ScmFileSet(getTestFile("target/svn-blame-command-test")),
+                Arrays.asList(filenames));
+    }
+
+    private SvnScmProviderRepository getSvnRepository() throws Exception {
+        return (SvnScmProviderRepository)
+                getScmManager().makeScmRepository("scm:svn:http://foo.com/svn/trunk").getProviderRepository();
+    }
+
+    private static void assertRevision(String revision, List<BlameLine> lines) {
+        assertEquals(1, lines.size());
+        assertEquals(revision, lines.get(0).getRevision());
+    }
+
+    /**
+     * @return the output of svn blame for targets with a single line each, committed in the revision of the position
+     *         of the target
+     */
+    private static String blame(String... paths) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<blame>\n");
+        for (int i = 0; i < paths.length; i++) {
+            xml.append("<target\n   path=\"")
+                    .append(paths[i])
+                    .append("\">\n<entry\n   line-number=\"1\">\n<commit\n   revision=\"")
+                    .append(i + 1)
+                    .append("\">\n<author>olamy</author>\n<date>2004-06-01T10:00:00.000000Z</date>\n</commit>\n")
+                    .append("</entry>\n</target>\n");
+        }
+        return xml.append("</blame>\n").toString();
+    }
+
+    /**
+     * Answers svn blame with the given output.
+     */
+    private static class StubSvnBlameCommand extends SvnBlameCommand {
+        private final String output;
+
+        private final int exitCode;
+
+        private final String stderr;
+
+        StubSvnBlameCommand(String output, int exitCode, String stderr) {
+            super(false);
+            this.output = output;
+            this.exitCode = exitCode;
+            this.stderr = stderr;
+        }
+
+        @Override
+        int executeXml(
+                Commandline cl,
+                SvnCommandLineUtils.RawStreamConsumer consumer,
+                CommandLineUtils.StringStreamConsumer stderr)
+                throws CommandLineException {
+            for (String line : this.stderr.split("\n")) {
+                stderr.consumeLine(line);
+            }
+            try {
+                consumer.consume(new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                // like SvnCommandLineUtils, which only fails if svn has not reported an error itself
+                if (exitCode == 0) {
+                    throw new CommandLineException(e.getMessage(), e);
+                }
+            }
+            return exitCode;
+        }
+    }
+}
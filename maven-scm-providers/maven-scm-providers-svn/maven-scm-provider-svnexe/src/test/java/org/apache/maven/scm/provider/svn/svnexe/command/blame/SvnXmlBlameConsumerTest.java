@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.svn.svnexe.command.blame;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.maven.scm.command.blame.BlameLine;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SvnXmlBlameConsumerTest {
+    @Test
+    void testConsumeSeveralTargets() throws Exception {
+        SvnXmlBlameConsumer consumer = new SvnXmlBlameConsumer();
+        try (InputStream in = Files.newInputStream(Paths.get("src/test/resources/svn/blame/svnBlameXml.xml"))) {
+            consumer.consume(in);
+        }
+
+        assertEquals(
+                Arrays.asList("src/main/java/Application.java", "readme.txt"),
+                new ArrayList<>(consumer.getLines().keySet()));
+
+        // the uncommitted third line is skipped
+        List<BlameLine> lines = consumer.getLines("src\\main\\java\\Application.java");
+        assertEquals(3, lines.size());
+        assertEquals("7", lines.get(0).getRevision());
+        assertEquals("trygvis", lines.get(0).getAuthor());
+        assertEquals(new Date(1088968005253L), lines.get(0).getDate());
+        assertEquals("9", lines.get(1).getRevision());
+        assertEquals("evenisse", lines.get(1).getAuthor());
+        assertSame(lines.get(0).getAuthor(), lines.get(2).getAuthor());
+        assertSame(lines.get(0).getRevision(), lines.get(2).getRevision());
+
+        lines = consumer.getLines("readme.txt");
+        assertEquals(1, lines.size());
+        assertEquals("olamy", lines.get(0).getAuthor());
+    }
+}
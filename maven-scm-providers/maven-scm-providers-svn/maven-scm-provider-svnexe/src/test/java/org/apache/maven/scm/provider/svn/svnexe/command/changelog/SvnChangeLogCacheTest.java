@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.svn.svnexe.command.changelog;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.maven.scm.ChangeFile;
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmFileStatus;
+import org.apache.maven.scm.provider.svn.SvnChangeSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SvnChangeLogCacheTest {
+    private static final String UUID = "0b7d8f2c-1111-2222-3333-444455556666";
+
+    @TempDir
+    private File cacheDirectory;
+
+    @Test
+    void testAppendAndRead() throws Exception {
+        SvnChangeLogCache cache = new SvnChangeLogCache(cacheDirectory, UUID, "/trunk");
+        assertEquals(0, cache.getHighWaterMark());
+        assertTrue(cache.read().isEmpty());
+
+        cache.append(Arrays.asList(changeSet(3), changeSet(2)), 5);
+        cache.append(Collections.emptyList(), 7);
+        cache.append(Collections.singletonList(changeSet(9)), 9);
+
+        cache = new SvnChangeLogCache(cacheDirectory, UUID, "/trunk");
+        assertEquals(9, cache.getHighWaterMark());
+        List<ChangeSet> changeSets = cache.read();
+        assertEquals(3, changeSets.size());
+        assertEquals("2", changeSets.get(0).getRevision());
+        assertEquals("3", changeSets.get(1).getRevision());
+        assertEquals("9", changeSets.get(2).getRevision());
+
+        ChangeSet changeSet = changeSets.get(1);
+        assertEquals("author3", changeSet.getAuthor());
+        assertEquals(new Date(3000L), changeSet.getDate());
+        assertEquals("comment 3\n", changeSet.getComment());
+        ChangeFile file = changeSet.getFiles().get(0);
+        assertEquals("/trunk/file3.txt", file.getName());
+        assertEquals("3", file.getRevision());
+        assertEquals(ScmFileStatus.COPIED, file.getAction());
+        assertEquals("/trunk/original.txt", file.getOriginalName());
+        assertEquals("2", file.getOriginalRevision());
+        assertNull(changeSets.get(0).getFiles().get(0).getOriginalName());
+
+        assertEquals(0, new SvnChangeLogCache(cacheDirectory, UUID, "/branches/b").getHighWaterMark());
+    }
+
+    @Test
+    void testMergeSegments() throws Exception {
+        SvnChangeLogCache cache = new SvnChangeLogCache(cacheDirectory, UUID, "/trunk");
+        for (int revision = 1; revision <= 40; revision++) {
+            cache.append(Collections.singletonList(changeSet(revision)), revision);
+        }
+
+        File[] segments = cacheDirectory.listFiles()[0].listFiles()[0].listFiles();
+        assertTrue(segments.length <= 17, "Unexpected number of segments: " + segments.length);
+
+        List<String> revisions = new ArrayList<>();
+        for (ChangeSet changeSet : new SvnChangeLogCache(cacheDirectory, UUID, "/trunk").read()) {
+            revisions.add(changeSet.getRevision());
+        }
+        assertEquals(40, revisions.size());
+        assertEquals("1", revisions.get(0));
+        assertEquals("40", revisions.get(39));
+    }
+
+    @Test
+    void testReadRange() throws Exception {
+        SvnChangeLogCache cache = new SvnChangeLogCache(cacheDirectory, UUID, "/trunk");
+        cache.append(Arrays.asList(changeSet(1), changeSet(2), changeSet(4)), 4);
+        cache.append(Arrays.asList(changeSet(5), changeSet(7)), 8);
+
+        assertEquals(Arrays.asList("2", "4", "5", "7"), read(cache, 2, 8, false, 0));
+        assertEquals(Arrays.asList("7", "5", "4", "2"), read(cache, 2, 8, true, 0));
+        assertEquals(Arrays.asList("7", "5", "4"), read(cache, 1, 7, true, 3));
+        assertEquals(Arrays.asList("1", "2"), read(cache, 1, 7, false, 2));
+        assertEquals(Collections.singletonList("5"), read(cache, 5, 6, true, 0));
+        assertTrue(read(cache, 9, 12, false, 0).isEmpty());
+    }
+
+    private static List<String> read(SvnChangeLogCache cache, long low, long high, boolean descending, int limit)
+            throws Exception {
+        List<String> revisions = new ArrayList<>();
+        int count = cache.read(low, high, descending, limit, changeSet -> {
+            assertEquals("author" + changeSet.getRevision(), changeSet.getAuthor());
+            assertEquals("/trunk/file" + changeSet.getRevision() + ".txt", changeSet.getFiles().get(0).getName());
+            revisions.add(changeSet.getRevision());
+        });
+        assertEquals(revisions.size(), count);
+        return revisions;
+    }
+
+    private static ChangeSet changeSet(int revision) {
+        SvnChangeSet changeSet = new SvnChangeSet();
+        changeSet.setRevision(Integer.toString(revision));
+        changeSet.setAuthor("author" + revision);
+        changeSet.setDate(new Date(revision * 1000L));
+        changeSet.setComment("comment " + revision + "\n");
+        ChangeFile file = new ChangeFile("/trunk/file" + revision + ".txt", Integer.toString(revision));
+        if (revision % 2 == 1) {
+            file.setAction(ScmFileStatus.COPIED);
+            file.setOriginalName("/trunk/original.txt");
+            file.setOriginalRevision(Integer.toString(revision - 1));
+        } else {
+            file.setAction(ScmFileStatus.MODIFIED);
+        }
+        changeSet.addFile(file);
+        return changeSet;
+    }
+}
@@ -21,6 +21,7 @@
 import java.io.File;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 
 import org.apache.maven.scm.ScmBranch;
 import org.apache.maven.scm.ScmRevision;
@@ -31,6 +32,10 @@
 import org.codehaus.plexus.util.cli.Commandline;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 /**
  * @author <a href="mailto:evenisse@apache.org">Emmanuel Venisse</a>
  *
@@ -57,6 +62,21 @@ void testCommandLineNoDatesLimitedCount() throws Exception {
                 "svn --non-interactive log -v --limit 40 http://foo.com/svn/trunk@");
     }
 
+    @Test
+    void testCommandLineXml() throws Exception {
+        File workingDirectory = getTestFile("target/svn-update-command-test");
+
+        ScmRepository repository = getScmManager().makeScmRepository("scm:svn:http://foo.com/svn/trunk");
+
+        SvnScmProviderRepository svnRepository = (SvnScmProviderRepository) repository.getProviderRepository();
+
+        Commandline cl = new SvnChangeLogCommand(false)
+                .createCommandLine(svnRepository, workingDirectory, null, null, null, null, null, 40, true);
+
+        assertCommandLine(
+                "svn --non-interactive log -v --xml --limit 40 http://foo.com/svn/trunk@", workingDirectory, cl);
+    }
+
     @Test
     void testCommandLineWithDates() throws Exception {
         Date startDate = getDate(2003, Calendar.SEPTEMBER, 10, GMT_TIME_ZONE);
@@ -196,6 +216,60 @@ void testCommandLineWithBaseVersion() throws Exception {
     //
     // ----------------------------------------------------------------------
 
+    @Test
+    void testCommandLineRevisionRange() throws Exception {
+        File workingDirectory = getTestFile("target/svn-update-command-test");
+
+        ScmRepository repository = getScmManager().makeScmRepository("scm:svn:http://foo.com/svn/trunk");
+
+        SvnScmProviderRepository svnRepository = (SvnScmProviderRepository) repository.getProviderRepository();
+
+        SvnChangeLogCommand command = new SvnChangeLogCommand(false);
+        assertCommandLine(
+                "svn --non-interactive log -v --xml --limit 40 -r 5000:1 http://foo.com/svn/trunk@",
+                workingDirectory,
+                command.createCommandLine(svnRepository, workingDirectory, 5000, 1, 40));
+        assertCommandLine(
+                "svn --non-interactive log -v --xml -r 1:5000 http://foo.com/svn/trunk@",
+                workingDirectory,
+                command.createCommandLine(svnRepository, workingDirectory, 1, 5000, 0));
+        assertCommandLine(
+                "svn --non-interactive log -v --xml -r 7 http://foo.com/svn/trunk@",
+                workingDirectory,
+                command.createCommandLine(svnRepository, workingDirectory, 7, 7, 0));
+    }
+
+    @Test
+    void testShards() {
+        assertShards(SvnChangeLogCommand.getShards(1, 100000, 1), new long[] {1, 100000});
+        assertShards(SvnChangeLogCommand.getShards(1, 1999, 4), new long[] {1, 1999});
+        assertShards(
+                SvnChangeLogCommand.getShards(1, 2500, 4), new long[] {1, 1250}, new long[] {1251, 2500});
+        assertShards(
+                SvnChangeLogCommand.getShards(3500, 1, 2),
+                new long[] {3500, 2334},
+                new long[] {2333, 1167},
+                new long[] {1166, 1});
+
+        // at most four shards per thread
+        List<long[]> shards = SvnChangeLogCommand.getShards(100000, 1, 2);
+        assertEquals(8, shards.size());
+        long next = 100000;
+        for (long[] shard : shards) {
+            assertEquals(next, shard[0]);
+            assertTrue(shard[0] - shard[1] + 1 >= 1000);
+            next = shard[1] - 1;
+        }
+        assertEquals(0, next);
+    }
+
+    private static void assertShards(List<long[]> actual, long[]... expected) {
+        assertEquals(expected.length, actual.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], actual.get(i));
+        }
+    }
+
     private void testCommandLine(String scmUrl, ScmBranch branch, Date startDate, Date endDate, String commandLine)
             throws Exception {
         testCommandLine(scmUrl, branch, startDate, endDate, null, commandLine);
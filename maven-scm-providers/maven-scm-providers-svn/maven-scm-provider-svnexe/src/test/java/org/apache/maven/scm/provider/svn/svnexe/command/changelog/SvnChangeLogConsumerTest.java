@@ -19,7 +19,9 @@
 package org.apache.maven.scm.provider.svn.svnexe.command.changelog;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -89,6 +91,50 @@ void testConsumeLineValidOutput() throws Exception {
         assertEquals("Minor formatting changes.\n", entry.getComment(), "Valid comment expected");
     }
 
+    /**
+     * The xml output should be parsed, even with a log message containing the separator of the human readable output.
+     *
+     * @throws Exception if any problem occurs.
+     */
+    @Test
+    void testConsumeXml() throws Exception {
+        try (InputStream in = new FileInputStream(getTestFile("/src/test/resources/svn/changelog/svnLogXml.xml"))) {
+            consumer.consumeXml(in);
+        }
+
+        final List<ChangeSet> entries = consumer.getModifications();
+        assertEquals(2, entries.size());
+
+        ChangeSet entry = entries.get(0);
+        assertEquals("16", entry.getRevision());
+        assertEquals("dion", entry.getAuthor());
+        assertEquals(new Date(1030386806421L), entry.getDate());
+        assertEquals(
+                "Copied the properties.\n"
+                        + "------------------------------------------------------------------------\n"
+                        + "r15 | not a header | 2002-08-26 14:33:26 -0400 (Mon, 26 Aug 2002) | 1 line\n",
+                entry.getComment());
+
+        final List<ChangeFile> changedFiles = entry.getFiles();
+        assertEquals(3, changedFiles.size());
+        assertEquals("/poolserver/trunk/build.xml", changedFiles.get(0).getName());
+        assertEquals(ScmFileStatus.MODIFIED, changedFiles.get(0).getAction());
+        assertEquals("16", changedFiles.get(0).getRevision());
+        assertEquals("/poolserver/trunk/project-copy.properties", changedFiles.get(1).getName());
+        assertEquals(ScmFileStatus.COPIED, changedFiles.get(1).getAction());
+        assertEquals("/poolserver/trunk/project.properties", changedFiles.get(1).getOriginalName());
+        assertEquals("15", changedFiles.get(1).getOriginalRevision());
+        assertEquals("/poolserver/trunk/old & unused.txt", changedFiles.get(2).getName());
+        assertEquals(ScmFileStatus.DELETED, changedFiles.get(2).getAction());
+
+        entry = entries.get(1);
+        assertEquals("15", entry.getRevision());
+        assertEquals("(no author)", entry.getAuthor());
+        assertEquals(new Date(1030386600000L), entry.getDate());
+        assertEquals("\n", entry.getComment());
+        assertEquals(ScmFileStatus.UPDATED, entry.getFiles().get(0).getAction());
+    }
+
     private static String getLocalizedDate(String date, TimeZone timeZone) throws Exception {
         DateFormat fmt = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         fmt.setTimeZone(timeZone);
@@ -0,0 +1,361 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.svn.svnexe.command.changelog;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.apache.maven.scm.ChangeSet;
+import org.apache.maven.scm.ScmBranch;
+import org.apache.maven.scm.ScmFileSet;
+import org.apache.maven.scm.ScmRevision;
+import org.apache.maven.scm.ScmTestCase;
+import org.apache.maven.scm.command.changelog.ChangeLogScmRequest;
+import org.apache.maven.scm.command.changelog.ChangeLogScmResult;
+import org.apache.maven.scm.provider.svn.svnexe.command.SvnCommandLineUtils;
+import org.apache.maven.scm.repository.ScmRepository;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the changelog of revision ranges served from the cache, against a stubbed svn.
+ */
+public class SvnRevisionRangeChangeLogTest extends ScmTestCase {
+    private static final String ROOT = "http://foo.com/svn";
+
+    private static final String URL = ROOT + "/trunk";
+
+    @TempDir
+    File tempDir;
+
+    @AfterEach
+    void clearProperties() {
+        System.clearProperty(SvnChangeLogCommand.CACHE_PROPERTY);
+        System.clearProperty(SvnChangeLogCommand.PARALLELISM_PROPERTY);
+    }
+
+    @Test
+    void testCachedRanges() throws Exception {
+        System.setProperty(SvnChangeLogCommand.CACHE_PROPERTY, new File(tempDir, "cache").getPath());
+        StubSvnChangeLogCommand command = new StubSvnChangeLogCommand(10);
+
+        assertRevisions(command, null, null, null, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1);
+        assertEquals(Arrays.asList("info", "log 1:10"), command.commands);
+
+        // only the new revisions are fetched
+        command.head = 13;
+        assertRevisions(command, "2", "5", null, 2, 3, 4, 5);
+        assertEquals(Arrays.asList("info", "log 11:13"), command.commands);
+
+        assertRevisions(command, "7", "3", null, 7, 6, 5, 4, 3);
+        assertEquals(Collections.singletonList("info"), command.commands);
+
+        assertRevisions(command, "12", null, null, 12, 13);
+        assertRevisions(command, "3", "HEAD", 2, 3, 4);
+        assertRevisions(command, "13", "11", 2, 13, 12);
+        assertRevisions(command, null, null, 3, 13, 12, 11);
+        assertRevisions(command, "6", "6", null, 6);
+        assertEquals(Collections.singletonList("info"), command.commands);
+
+        // a cache of a new command, as for the next build
+        command = new StubSvnChangeLogCommand(13);
+        assertRevisions(command, "1", "3", null, 1, 2, 3);
+        assertEquals(Collections.singletonList("info"), command.commands);
+    }
+
+    @Test
+    void testRangeBeyondHead() throws Exception {
+        System.setProperty(SvnChangeLogCommand.CACHE_PROPERTY, new File(tempDir, "cache").getPath());
+        StubSvnChangeLogCommand command = new StubSvnChangeLogCommand(10);
+
+        // passed to svn as is, which reports the error
+        ChangeLogScmResult result = changeLog(command, "20", null, null);
+        assertFalse(result.isSuccess());
+        assertEquals(Arrays.asList("info", "log 20:HEAD"), command.commands);
+    }
+
+    @Test
+    void testNotRevisionRange() throws Exception {
+        System.setProperty(SvnChangeLogCommand.CACHE_PROPERTY, new File(tempDir, "cache").getPath());
+        StubSvnChangeLogCommand command = new StubSvnChangeLogCommand(10);
+
+        ChangeLogScmRequest request = createRequest();
+        request.setStartDate(new Date(0));
+        assertTrue(execute(command, request).isSuccess());
+        assertEquals(1, command.commands.size());
+        assertTrue(command.commands.get(0).startsWith("log {"), command.commands.get(0));
+
+        request = createRequest();
+        request.setScmBranch(new ScmBranch("b"));
+        command.commands.clear();
+        assertTrue(execute(command, request).isSuccess());
+        assertEquals(Collections.singletonList("log"), command.commands);
+
+        // the working copy revision
+        command.commands.clear();
+        assertRevisions(command, "BASE", null, null);
+        assertEquals(Collections.singletonList("log BASE:HEAD"), command.commands);
+
+        request = createRequest();
+        request.setEndRevision(new ScmRevision("BASE"));
+        command.commands.clear();
+        assertTrue(execute(command, request).isSuccess());
+        assertEquals(Collections.singletonList("log"), command.commands);
+    }
+
+    @Test
+    void testWithoutCache() throws Exception {
+        StubSvnChangeLogCommand command = new StubSvnChangeLogCommand(10);
+
+        assertRevisions(command, "3", "5", null, 3, 4, 5);
+        assertEquals(Collections.singletonList("log 3:5"), command.commands);
+    }
+
+    @Test
+    void testShardedRanges() throws Exception {
+        System.setProperty(SvnChangeLogCommand.PARALLELISM_PROPERTY, "2");
+        StubSvnChangeLogCommand command = new StubSvnChangeLogCommand(5000);
+        command.first = 2500;
+
+        assertRevisions(command, null, null, 5, 5000, 4999, 4998, 4997, 4996);
+        assertEquals("log 1:5000 --limit 1", command.commands.get(1));
+
+        // the shards before the first revision of the path are skipped, the later ones may be stopped
+        command = new StubSvnChangeLogCommand(5000);
+        command.first = 2500;
+        assertRevisions(command, "1", "HEAD", 3, 2500, 2501, 2502);
+        assertEquals(Arrays.asList("info", "log 1:5000 --limit 1"), command.commands.subList(0, 2));
+        assertTrue(command.commands.contains("log 2500:3750 --limit 3"), command.commands.toString());
+
+        command = new StubSvnChangeLogCommand(10000);
+        command.first = 2500;
+        ChangeLogScmResult result = changeLog(command, "9000", "1", null);
+        assertTrue(result.isSuccess(), result.getCommandOutput());
+        List<ChangeSet> changeSets = result.getChangeLog().getChangeSets();
+        assertEquals(6501, changeSets.size());
+        for (int i = 0; i < changeSets.size(); i++) {
+            assertEquals(Integer.toString(9000 - i), changeSets.get(i).getRevision());
+        }
+        assertEquals(Arrays.asList("info", "log 1:9000 --limit 1"), command.commands.subList(0, 2));
+        assertEquals(8, command.commands.size());
+        assertTrue(command.commands.contains("log 3580:2500"), command.commands.toString());
+    }
+
+    @Test
+    void testShardedCache() throws Exception {
+        System.setProperty(SvnChangeLogCommand.CACHE_PROPERTY, new File(tempDir, "cache").getPath());
+        System.setProperty(SvnChangeLogCommand.PARALLELISM_PROPERTY, "2");
+        StubSvnChangeLogCommand command = new StubSvnChangeLogCommand(5000);
+        command.first = 2500;
+
+        assertRevisions(command, "3000", "2998", null, 3000, 2999, 2998);
+        assertEquals(Arrays.asList("info", "log 1:5000 --limit 1"), command.commands.subList(0, 2));
+        assertEquals(
+                Arrays.asList("log 2500:3750", "log 3751:5000"),
+                command.commands.subList(2, 4).stream().sorted().collect(Collectors.toList()));
+
+        command.head = 5002;
+        assertRevisions(command, null, null, 4, 5002, 5001, 5000, 4999);
+        assertEquals(Arrays.asList("info", "log 5001:5002"), command.commands);
+    }
+
+    @Test
+    void testShardFailure() throws Exception {
+        System.setProperty(SvnChangeLogCommand.PARALLELISM_PROPERTY, "2");
+        StubSvnChangeLogCommand command = new StubSvnChangeLogCommand(5000);
+        command.first = 2500;
+        command.broken = 3751;
+
+        ChangeLogScmResult result = changeLog(command, "1", null, null);
+        assertFalse(result.isSuccess());
+        assertTrue(result.getCommandOutput().contains("Unable to find repository location"), result.getCommandOutput());
+        assertTrue(result.getCommandLine().contains("3751:5000"), result.getCommandLine());
+    }
+
+    private void assertRevisions(
+            StubSvnChangeLogCommand command, String startRevision, String endRevision, Integer limit, long... expected)
+            throws Exception {
+        command.commands.clear();
+        ChangeLogScmResult result = changeLog(command, startRevision, endRevision, limit);
+        assertTrue(result.isSuccess(), result.getCommandOutput());
+
+        List<Long> revisions = new ArrayList<>();
+        for (ChangeSet changeSet : result.getChangeLog().getChangeSets()) {
+            revisions.add(Long.parseLong(changeSet.getRevision()));
+        }
+        List<Long> expectedRevisions = new ArrayList<>();
+        for (long revision : expected) {
+            expectedRevisions.add(revision);
+        }
+        assertEquals(expectedRevisions, revisions);
+    }
+
+    private ChangeLogScmResult changeLog(
+            StubSvnChangeLogCommand command, String startRevision, String endRevision, Integer limit)
+            throws Exception {
+        ChangeLogScmRequest request = createRequest();
+        if (startRevision != null) {
+            request.setStartRevision(new ScmRevision(startRevision));
+        }
+        if (endRevision != null) {
+            request.setEndRevision(new ScmRevision(endRevision));
+        }
+        request.setLimit(limit);
+        return execute(command, request);
+    }
+
+    private static ChangeLogScmResult execute(SvnChangeLogCommand command, ChangeLogScmRequest request)
+            throws Exception {
+        return (ChangeLogScmResult) command.execute(
+                request.getScmRepository().getProviderRepository(),
+                request.getScmFileSet(),
+                request.getCommandParameters());
+    }
+
+    private ChangeLogScmRequest createRequest() throws Exception {
+        ScmRepository repository = getScmManager().makeScmRepository("scm:svn:" + URL);
+        return new ChangeLogScmRequest(repository, new ScmFileSet(tempDir));
+    }
+
+    /**
+     * Answers {@code svn info} and {@code svn log} for a path with one commit per revision since its first revision,
+     * and records the commands it has been run with.
+     */
+    static class StubSvnChangeLogCommand extends SvnChangeLogCommand {
+        final List<String> commands = Collections.synchronizedList(new ArrayList<>());
+
+        volatile long head;
+
+        volatile long first = 1;
+
+        /**
+         * The first revision of a range svn log fails for, if any.
+         */
+        volatile long broken;
+
+        StubSvnChangeLogCommand(long head) {
+            super(false);
+            this.head = head;
+        }
+
+        @Override
+        int executeXml(
+                Commandline cl,
+                SvnCommandLineUtils.RawStreamConsumer consumer,
+                CommandLineUtils.StringStreamConsumer stderr,
+                Consumer<Process> started)
+                throws CommandLineException {
+            List<String> args = Arrays.asList(cl.getArguments());
+            StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            if (args.contains("info")) {
+                commands.add("info");
+                xml.append("<info>\n<entry kind=\"dir\" path=\"trunk\" revision=\"")
+                        .append(head)
+                        .append("\">\n<url>")
+                        .append(URL)
+                        .append("</url>\n<repository>\n<root>")
+                        .append(ROOT)
+                        .append("</root>\n<uuid>0b7d8f2c-1111-2222-3333-444455556666</uuid>\n</repository>\n")
+                        .append("</entry>\n</info>\n");
+            } else {
+                int index = args.indexOf("-r");
+                String range = index < 0 ? null : args.get(index + 1);
+                index = args.indexOf("--limit");
+                int limit = index < 0 ? Integer.MAX_VALUE : Integer.parseInt(args.get(index + 1));
+                commands.add(range == null ? "log" : "log " + range + (index < 0 ? "" : " --limit " + limit));
+
+                long from = head;
+                long to = 1;
+                if (range != null) {
+                    String[] bounds = range.split(":");
+                    from = revision(bounds[0]);
+                    to = bounds.length > 1 ? revision(bounds[1]) : from;
+                }
+                if (from > head || to > head) {
+                    stderr.consumeLine("svn: E160006: No such revision " + Math.max(from, to));
+                    return 1;
+                }
+                if ((from > 0 && Math.max(from, to) < first) || (broken > 0 && from == broken)) {
+                    stderr.consumeLine("svn: E195012: Unable to find repository location for '" + URL
+                            + "' in revision " + Math.max(from, to));
+                    return 1;
+                }
+
+                xml.append("<log>\n");
+                int direction = from <= to ? 1 : -1;
+                int count = 0;
+                for (long revision = from;
+                        from > 0 && count < limit && direction * (to - revision) >= 0;
+                        revision += direction) {
+                    if (revision >= first) {
+                        appendLogEntry(xml, revision);
+                        count++;
+                    }
+                }
+                xml.append("</log>\n");
+            }
+            try {
+                consumer.consume(new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new CommandLineException(e.getMessage(), e);
+            }
+            return 0;
+        }
+
+        /**
+         * @return the revision, or {@code 0} for revisions which are not numbers, e.g. dates
+         */
+        private long revision(String revision) {
+            if ("HEAD".equals(revision)) {
+                return head;
+            }
+            return revision.matches("\\d+") ? Long.parseLong(revision) : 0;
+        }
+
+        private static void appendLogEntry(StringBuilder xml, long revision) {
+            xml.append("<logentry revision=\"")
+                    .append(revision)
+                    .append("\">\n<author>author")
+                    .append(revision)
+                    .append("</author>\n<date>2024-01-01T00:00:00.000000Z</date>\n<paths>\n")
+                    .append("<path action=\"M\" kind=\"file\">/trunk/file")
+                    .append(revision)
+                    .append(".txt</path>\n</paths>\n<msg>commit ")
+                    .append(revision)
+                    .append("</msg>\n</logentry>\n");
+        }
+    }
+}
@@ -18,9 +18,12 @@
  */
 package org.apache.maven.scm.provider.svn.svnexe.command.info;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
 
+import org.apache.maven.scm.command.info.InfoItem;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -32,4 +35,45 @@ void testParseDate() {
         TemporalAccessor date = SvnInfoConsumer.parseDate("2024-01-19 16:33:05 +0100 (Fr, 19 Jan 2024");
         assertEquals(2024, date.get(ChronoField.YEAR));
     }
+
+    @Test
+    void testConsumeXml() throws Exception {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<info>\n"
+                + "<entry kind=\"dir\" path=\"trunk\" revision=\"42\">\n"
+                + "<url>https://svn.example.org/repos/project/trunk</url>\n"
+                + "<relative-url>^/trunk</relative-url>\n"
+                + "<repository>\n"
+                + "<root>https://svn.example.org/repos/project</root>\n"
+                + "<uuid>13f79535-47bb-0310-9956-ffa450edef68</uuid>\n"
+                + "</repository>\n"
+                + "<wc-info>\n"
+                + "<wcroot-abspath>/work/trunk</wcroot-abspath>\n"
+                + "<schedule>normal</schedule>\n"
+                + "<depth>infinity</depth>\n"
+                + "</wc-info>\n"
+                + "<commit revision=\"40\">\n"
+                + "<author>jdoe</author>\n"
+                + "<date>2024-01-19T15:33:05.123456Z</date>\n"
+                + "</commit>\n"
+                + "</entry>\n"
+                + "</info>\n";
+
+        SvnInfoConsumer consumer = new SvnInfoConsumer();
+        consumer.consumeXml(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, consumer.getInfoItems().size());
+        InfoItem item = consumer.getInfoItems().get(0);
+        assertEquals("trunk", item.getPath());
+        assertEquals("https://svn.example.org/repos/project/trunk", item.getURL());
+        assertEquals("https://svn.example.org/repos/project", item.getRepositoryRoot());
+        assertEquals("13f79535-47bb-0310-9956-ffa450edef68", item.getRepositoryUUID());
+        assertEquals("42", item.getRevision());
+        assertEquals("directory", item.getNodeKind());
+        assertEquals("normal", item.getSchedule());
+        assertEquals("jdoe", item.getLastChangedAuthor());
+        assertEquals("40", item.getLastChangedRevision());
+        assertEquals(2024, item.getLastChangedDateTime().getYear());
+        assertEquals(15, item.getLastChangedDateTime().getHour());
+    }
 }
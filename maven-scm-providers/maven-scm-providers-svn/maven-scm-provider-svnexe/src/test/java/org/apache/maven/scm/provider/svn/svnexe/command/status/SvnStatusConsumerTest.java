@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.scm.provider.svn.svnexe.command.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.apache.maven.scm.ScmFile;
+import org.apache.maven.scm.ScmFileStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SvnStatusConsumerTest {
+    @TempDir
+    File workingDirectory;
+
+    @Test
+    void testConsumeXml() throws Exception {
+        for (String name : new String[] {"added.txt", "modified.txt", "unversioned.txt", "props.txt", "listed.txt"}) {
+            Files.write(new File(workingDirectory, name).toPath(), new byte[0]);
+        }
+        new File(workingDirectory, "dir").mkdir();
+
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<status>\n"
+                + "<target path=\".\">\n"
+                + "<entry path=\"added.txt\"><wc-status item=\"added\" props=\"none\" revision=\"-1\"/></entry>\n"
+                + "<entry path=\"deleted.txt\"><wc-status item=\"deleted\" props=\"none\" revision=\"3\">"
+                + "<commit revision=\"2\"><author>jdoe</author><date>2024-01-19T15:33:05.123456Z</date></commit>"
+                + "</wc-status></entry>\n"
+                + "<entry path=\"dir\"><wc-status item=\"added\" props=\"none\" revision=\"-1\"/></entry>\n"
+                + "<entry path=\"modified.txt\"><wc-status item=\"modified\" props=\"none\" revision=\"3\"/></entry>\n"
+                + "<entry path=\"props.txt\"><wc-status item=\"normal\" props=\"modified\" revision=\"3\"/></entry>\n"
+                + "<entry path=\"unversioned.txt\"><wc-status item=\"unversioned\" props=\"none\"/></entry>\n"
+                + "<entry path=\"external\"><wc-status item=\"external\" props=\"none\"/></entry>\n"
+                + "</target>\n"
+                + "<changelist name=\"work\">\n"
+                + "<entry path=\"listed.txt\"><wc-status item=\"conflicted\" props=\"none\" revision=\"3\"/></entry>\n"
+                + "</changelist>\n"
+                + "</status>\n";
+
+        SvnStatusConsumer consumer = new SvnStatusConsumer(workingDirectory);
+        consumer.consumeXml(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+
+        List<ScmFile> files = consumer.getChangedFiles();
+        assertEquals(5, files.size());
+        assertFile(files.get(0), "added.txt", ScmFileStatus.ADDED);
+        assertFile(files.get(1), "deleted.txt", ScmFileStatus.DELETED);
+        assertFile(files.get(2), "modified.txt", ScmFileStatus.MODIFIED);
+        assertFile(files.get(3), "unversioned.txt", ScmFileStatus.UNKNOWN);
+        assertFile(files.get(4), "listed.txt", ScmFileStatus.CONFLICT);
+    }
+
+    private static void assertFile(ScmFile file, String path, ScmFileStatus status) {
+        assertEquals(path, file.getPath());
+        assertEquals(status, file.getStatus());
+    }
+}